@@ -0,0 +1,71 @@
+package dev.endoy.helpers.benchmarks;
+
+import dev.endoy.helpers.common.EndoyApplication;
+import dev.endoy.helpers.common.injector.*;
+import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.transform.ValueTransformer;
+import dev.endoy.helpers.common.utils.ClassScanResult;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookups done during {@link Injector#inject()} when every lookup scans the package again
+ * (O(annotations x classes)) against a single {@link ClassScanResult} that is shared by all lookups (O(classes)).
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ClassScanBenchmark
+{
+
+    private static final Class<?> STARTER_CLASS = EndoyApplication.class;
+    private static final List<Class<? extends Annotation>> ANNOTATIONS = List.of(
+        Configuration.class, Beans.class, Command.class, Listeners.class, Component.class, Manager.class, Service.class, Task.class
+    );
+    private static final List<Class<?>> SUPER_TYPES = List.of(
+        TaskManager.class, ValueTransformer.class, RuntimeException.class, Annotation.class
+    );
+
+    @Benchmark
+    public void scanPerLookup( Blackhole blackhole )
+    {
+        // validateInjectableConstructors and initializeInjectablesOfType both look up every annotation
+        for ( int i = 0; i < 2; i++ )
+        {
+            for ( Class<? extends Annotation> annotation : ANNOTATIONS )
+            {
+                blackhole.consume( ReflectionUtils.getClassesInPackageAnnotatedWith( STARTER_CLASS, annotation ) );
+            }
+        }
+        for ( Class<?> superType : SUPER_TYPES )
+        {
+            blackhole.consume( ReflectionUtils.getClassesInPackageImplementing( STARTER_CLASS, superType ) );
+        }
+    }
+
+    @Benchmark
+    public void sharedScanResult( Blackhole blackhole )
+    {
+        ClassScanResult scanResult = ClassScanResult.scan( STARTER_CLASS );
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            for ( Class<? extends Annotation> annotation : ANNOTATIONS )
+            {
+                blackhole.consume( scanResult.getClassesAnnotatedWith( annotation ) );
+            }
+        }
+        for ( Class<?> superType : SUPER_TYPES )
+        {
+            blackhole.consume( scanResult.getClassesImplementing( superType ) );
+        }
+    }
+}
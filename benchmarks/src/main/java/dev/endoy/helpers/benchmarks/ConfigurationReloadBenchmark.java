@@ -0,0 +1,244 @@
+package dev.endoy.helpers.benchmarks;
+
+import dev.endoy.configuration.api.FileStorageType;
+import dev.endoy.configuration.api.IConfiguration;
+import dev.endoy.helpers.common.EndoyApplication;
+import dev.endoy.helpers.common.command.CommandManager;
+import dev.endoy.helpers.common.command.SimpleCommand;
+import dev.endoy.helpers.common.command.SimpleTabComplete;
+import dev.endoy.helpers.common.injector.ConfigurationInjector;
+import dev.endoy.helpers.common.injector.ConfigurationSection;
+import dev.endoy.helpers.common.injector.Injector;
+import dev.endoy.helpers.common.injector.Value;
+import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import dev.endoy.helpers.common.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a configuration of 500 keys (5 x 10 sections of 10 values) the way every reload used to do it, walking the
+ * declared fields and converting their names on every bind, against the cached binding plan of the
+ * {@link ConfigurationInjector}. The configuration is kept in memory, so the file IO of a reload is not measured.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ConfigurationReloadBenchmark
+{
+
+    private final BenchmarkConfiguration instance = new BenchmarkConfiguration();
+    private ConfigurationInjector configurationInjector;
+    private IConfiguration configuration;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        BenchmarkApplication application = new BenchmarkApplication( Files.createTempDirectory( "endoy-helpers-benchmark" ).toFile() );
+
+        this.configurationInjector = application.getInjector().getConfigurationInjector();
+        this.configuration = application.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "config.yml" );
+        this.fillConfiguration( BenchmarkConfiguration.class, "" );
+    }
+
+    @Benchmark
+    public BenchmarkConfiguration reflectionPerReload() throws ReflectiveOperationException
+    {
+        this.bindReflectively( BenchmarkConfiguration.class, this.instance, "" );
+        return this.instance;
+    }
+
+    @Benchmark
+    public BenchmarkConfiguration bindingPlan()
+    {
+        this.configurationInjector.bind( this.instance, this.configuration );
+        return this.instance;
+    }
+
+    private void fillConfiguration( Class<?> clazz, String prefix )
+    {
+        for ( Field field : clazz.getDeclaredFields() )
+        {
+            String path = prefix + Utils.convertCamelCaseToDashNotation( field.getName() );
+
+            if ( field.getType().isAnnotationPresent( ConfigurationSection.class ) )
+            {
+                this.fillConfiguration( field.getType(), path + "." );
+            }
+            else if ( field.getType().isEnum() )
+            {
+                this.configuration.set( path, TimeUnit.SECONDS.name() );
+            }
+            else if ( field.getType().equals( String.class ) )
+            {
+                this.configuration.set( path, path );
+            }
+            else if ( field.getType().equals( boolean.class ) )
+            {
+                this.configuration.set( path, true );
+            }
+            else
+            {
+                this.configuration.set( path, path.length() );
+            }
+        }
+    }
+
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private void bindReflectively( Class<?> clazz, Object instance, String prefix ) throws ReflectiveOperationException
+    {
+        for ( Field field : clazz.getDeclaredFields() )
+        {
+            if ( !field.isAnnotationPresent( Value.class ) )
+            {
+                continue;
+            }
+
+            Value value = field.getAnnotation( Value.class );
+            String path = prefix + ( value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( field.getName() ) : value.path() );
+
+            if ( field.getType().isAnnotationPresent( ConfigurationSection.class ) )
+            {
+                Object sectionInstance = field.getType().getDeclaredConstructors()[0].newInstance();
+
+                this.bindReflectively( field.getType(), sectionInstance, path + "." );
+                ReflectionUtils.setFieldValue( field, instance, sectionInstance );
+            }
+            else
+            {
+                Object configValue = this.configuration.get( path );
+
+                if ( configValue == null )
+                {
+                    continue;
+                }
+                if ( field.getType().isEnum() )
+                {
+                    configValue = Enum.valueOf( (Class<Enum>) field.getType(), String.valueOf( configValue ) );
+                }
+
+                ReflectionUtils.setFieldValue( field, instance, configValue );
+            }
+        }
+    }
+
+    public static class BenchmarkConfiguration
+    {
+
+        @Value
+        private OuterSection first;
+        @Value
+        private OuterSection second;
+        @Value
+        private OuterSection third;
+        @Value
+        private OuterSection fourth;
+        @Value
+        private OuterSection fifth;
+
+    }
+
+    @ConfigurationSection
+    public static class OuterSection
+    {
+
+        @Value
+        private InnerSection sectionOne;
+        @Value
+        private InnerSection sectionTwo;
+        @Value
+        private InnerSection sectionThree;
+        @Value
+        private InnerSection sectionFour;
+        @Value
+        private InnerSection sectionFive;
+        @Value
+        private InnerSection sectionSix;
+        @Value
+        private InnerSection sectionSeven;
+        @Value
+        private InnerSection sectionEight;
+        @Value
+        private InnerSection sectionNine;
+        @Value
+        private InnerSection sectionTen;
+
+    }
+
+    @ConfigurationSection
+    public static class InnerSection
+    {
+
+        @Value
+        private int maxPlayers;
+        @Value
+        private int spawnRadius;
+        @Value
+        private long cooldownMillis;
+        @Value
+        private String serverName;
+        @Value
+        private String joinMessage;
+        @Value
+        private String quitMessage;
+        @Value
+        private boolean enabled;
+        @Value
+        private boolean debugMode;
+        @Value
+        private TimeUnit timeUnit;
+        @Value
+        private int retryCount;
+
+    }
+
+    private static class BenchmarkApplication extends EndoyApplication
+    {
+
+        private final File dataFolder;
+        private final Injector injector;
+
+        private BenchmarkApplication( File dataFolder )
+        {
+            this.dataFolder = dataFolder;
+            this.injector = Injector.forProject( ConfigurationReloadBenchmark.class, this );
+        }
+
+        @Override
+        public TaskManager getTaskManager()
+        {
+            return null;
+        }
+
+        @Override
+        public CommandManager<? extends SimpleCommand<?>, ? extends SimpleTabComplete<?>> getCommandManager()
+        {
+            return null;
+        }
+
+        @Override
+        public File getDataFolder()
+        {
+            return this.dataFolder;
+        }
+
+        @Override
+        public Injector getInjector()
+        {
+            return this.injector;
+        }
+
+        @Override
+        public void registerListeners( Object listenersInstance )
+        {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.endoy.helpers.benchmarks;
+
+import dev.endoy.helpers.common.injector.Task;
+import dev.endoy.helpers.common.utils.MemberAccessors;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares running a {@link Task} method through {@link Method#invoke(Object, Object...)} against the runnable created by
+ * {@link MemberAccessors#createRunnable(Method, Object)} and a direct call. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class TaskInvocationBenchmark
+{
+
+    private final TickingTask tickingTask = new TickingTask();
+    private Method method;
+    private Runnable runnable;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException
+    {
+        this.method = TickingTask.class.getDeclaredMethod( "tick" );
+        this.method.setAccessible( true );
+        this.runnable = MemberAccessors.createRunnable( this.method, this.tickingTask );
+    }
+
+    @Benchmark
+    public long directCall()
+    {
+        this.tickingTask.tick();
+        return this.tickingTask.ticks;
+    }
+
+    @Benchmark
+    public long reflectiveCall() throws ReflectiveOperationException
+    {
+        this.method.invoke( this.tickingTask );
+        return this.tickingTask.ticks;
+    }
+
+    @Benchmark
+    public long generatedRunnable()
+    {
+        this.runnable.run();
+        return this.tickingTask.ticks;
+    }
+
+    public static class TickingTask
+    {
+
+        private long ticks;
+
+        @Task( fixedDelay = 50 )
+        public void tick()
+        {
+            this.ticks++;
+        }
+    }
+}
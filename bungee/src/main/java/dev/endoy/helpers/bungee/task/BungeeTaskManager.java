@@ -1,6 +1,7 @@
 package dev.endoy.helpers.bungee.task;
 
 import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.task.TaskMetrics;
 import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -16,18 +17,18 @@ public class BungeeTaskManager implements TaskManager
     @Override
     public BungeeScheduledTask runTask( Runnable runnable, boolean async )
     {
-        return new BungeeScheduledTask( ProxyServer.getInstance().getScheduler().runAsync( this.plugin, runnable ).getId() );
+        return new BungeeScheduledTask( ProxyServer.getInstance().getScheduler().runAsync( this.plugin, TaskMetrics.instrument( runnable, true, 0, TimeUnit.MILLISECONDS ) ).getId() );
     }
 
     @Override
     public BungeeScheduledTask runTaskLater( Runnable runnable, boolean async, long delay, TimeUnit timeUnit )
     {
-        return new BungeeScheduledTask( ProxyServer.getInstance().getScheduler().schedule( this.plugin, runnable, delay, timeUnit ).getId() );
+        return new BungeeScheduledTask( ProxyServer.getInstance().getScheduler().schedule( this.plugin, TaskMetrics.instrument( runnable, true, 0, timeUnit ), delay, timeUnit ).getId() );
     }
 
     @Override
     public BungeeScheduledTask runTaskTimer( Runnable runnable, boolean async, long delay, long period, TimeUnit timeUnit )
     {
-        return new BungeeScheduledTask( ProxyServer.getInstance().getScheduler().schedule( this.plugin, runnable, delay, period, timeUnit ).getId() );
+        return new BungeeScheduledTask( ProxyServer.getInstance().getScheduler().schedule( this.plugin, TaskMetrics.instrument( runnable, true, period, timeUnit ), delay, period, timeUnit ).getId() );
     }
 }
@@ -4,17 +4,21 @@ import dev.endoy.helpers.common.command.CommandManager;
 import dev.endoy.helpers.common.command.SimpleCommand;
 import dev.endoy.helpers.common.command.SimpleTabComplete;
 import dev.endoy.helpers.common.configuration.ConfigurationManager;
+import dev.endoy.helpers.common.configuration.ConfigurationWatcher;
 import dev.endoy.helpers.common.injector.Injector;
+import dev.endoy.helpers.common.logger.AsyncLogAppender;
 import dev.endoy.helpers.common.task.TaskManager;
 import lombok.Getter;
 
 import java.io.File;
+import java.time.Duration;
 
 public abstract class EndoyApplication
 {
 
     @Getter
     private final ConfigurationManager configurationManager;
+    private AsyncLogAppender asyncLogAppender;
 
     public EndoyApplication()
     {
@@ -47,4 +51,55 @@ public abstract class EndoyApplication
     {
         this.getInjector().getConfigurationInjector().reloadConfigurations();
     }
+
+    /**
+     * Starts reloading {@link dev.endoy.helpers.common.injector.Configuration} classes as soon as their file changes in the data folder.
+     * Only the changed file is reloaded, on a separate thread, and only for configurations with
+     * {@link dev.endoy.helpers.common.injector.Configuration#snapshot() snapshot} enabled.
+     *
+     * @return the watcher, which should be closed when the application is disabled
+     */
+    public ConfigurationWatcher watchConfigurations()
+    {
+        return this.watchConfigurations( ConfigurationWatcher.DEFAULT_DEBOUNCE );
+    }
+
+    public ConfigurationWatcher watchConfigurations( Duration debounce )
+    {
+        return ConfigurationWatcher.start( this, debounce );
+    }
+
+    /**
+     * Moves the logging of all loggers to a background thread, see {@link AsyncLogAppender}. The appender is closed by
+     * {@link #disable()}, which logs the events that are still waiting.
+     *
+     * @param capacity       the number of events that can wait to be logged
+     * @param overflowPolicy what to do with events that are logged while the buffer is full
+     * @return the enabled appender
+     */
+    public AsyncLogAppender enableAsyncLogging( int capacity, AsyncLogAppender.OverflowPolicy overflowPolicy )
+    {
+        this.asyncLogAppender = AsyncLogAppender.enable( capacity, overflowPolicy );
+        return this.asyncLogAppender;
+    }
+
+    /**
+     * This should be called when the plugin is disabled. It waits for the configurations that are still being saved
+     * and closes the {@link #enableAsyncLogging(int, AsyncLogAppender.OverflowPolicy) async log appender}.
+     */
+    public void disable()
+    {
+        try
+        {
+            this.configurationManager.flush();
+        }
+        finally
+        {
+            if ( this.asyncLogAppender != null )
+            {
+                this.asyncLogAppender.close();
+                this.asyncLogAppender = null;
+            }
+        }
+    }
 }
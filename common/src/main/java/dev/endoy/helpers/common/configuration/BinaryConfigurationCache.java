@@ -0,0 +1,309 @@
+package dev.endoy.helpers.common.configuration;
+
+import dev.endoy.configuration.api.ISection;
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Stores the parsed tree of a configuration file in a compact binary file next to it (<code>&lt;file&gt;.cache</code>),
+ * so it does not have to be parsed again as long as the file does not change. A cache is valid if it was written for
+ * the same layout of configuration class and the file still has the same content hash. Hashing the file is much
+ * cheaper than parsing it, and unlike its modification time, it also catches edits that keep the same size and time.
+ */
+class BinaryConfigurationCache
+{
+
+    private static final Logger LOGGER = Logger.forClass( BinaryConfigurationCache.class );
+    private static final int MAGIC = 0x454E4443;
+    private static final byte VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte LIST = 7;
+    private static final byte SECTION = 8;
+
+    static Path getCacheFile( Path file )
+    {
+        return file.resolveSibling( file.getFileName() + ".cache" );
+    }
+
+    /**
+     * Reads the cached values of the given file.
+     *
+     * @param file   the configuration file
+     * @param schema the hash of the layout of the configuration class the cache must have been written for
+     * @return the cached values, or null if there is no valid cache for the file
+     */
+    ConfigurationValues read( Path file, byte[] schema )
+    {
+        Path cacheFile = getCacheFile( file );
+
+        if ( !Files.exists( cacheFile ) || !Files.exists( file ) )
+        {
+            return null;
+        }
+
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes( cacheFile ) );
+
+            if ( buffer.getInt() != MAGIC || buffer.get() != VERSION )
+            {
+                return null;
+            }
+
+            long size = buffer.getLong();
+            byte[] hash = readHash( buffer );
+
+            // the size is only checked to skip hashing files that obviously changed
+            if ( !Arrays.equals( readHash( buffer ), schema ) || size != Files.size( file )
+                || !MessageDigest.isEqual( hash, ConfigurationManager.hash( file ) ) )
+            {
+                return null;
+            }
+
+            return new CachedValues( readSection( buffer ) );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            LOGGER.warn( "Ignoring unreadable configuration cache " + cacheFile, e );
+            return null;
+        }
+    }
+
+    /**
+     * Writes the values of the given configuration into the cache of the given file. Failures are logged, as the file
+     * can still be parsed without its cache.
+     *
+     * @param file          the configuration file
+     * @param schema        the hash of the layout of the configuration class
+     * @param configuration the values of the file
+     */
+    void write( Path file, byte[] schema, ISection configuration )
+    {
+        Path cacheFile = getCacheFile( file );
+        Path temporaryFile = cacheFile.resolveSibling( cacheFile.getFileName() + ".tmp" );
+
+        try
+        {
+            try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temporaryFile ) ) ) )
+            {
+                output.writeInt( MAGIC );
+                output.writeByte( VERSION );
+                output.writeLong( Files.size( file ) );
+                output.write( ConfigurationManager.hash( file ) );
+                output.write( schema );
+                writeSection( output, configuration );
+            }
+
+            try
+            {
+                Files.move( temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING );
+            }
+        }
+        catch ( IOException | UnsupportedOperationException e )
+        {
+            LOGGER.warn( "Failed to write configuration cache " + cacheFile, e );
+
+            try
+            {
+                Files.deleteIfExists( temporaryFile );
+            }
+            catch ( IOException ignored )
+            {
+                // nothing left to clean up
+            }
+        }
+    }
+
+    private static void writeSection( DataOutputStream output, ISection section ) throws IOException
+    {
+        Set<String> keys = section.getKeys();
+
+        output.writeInt( keys.size() );
+        for ( String key : keys )
+        {
+            writeString( output, key );
+            writeValue( output, section.get( key ) );
+        }
+    }
+
+    private static void writeMap( DataOutputStream output, Map<?, ?> map ) throws IOException
+    {
+        output.writeInt( map.size() );
+        for ( Map.Entry<?, ?> entry : map.entrySet() )
+        {
+            writeString( output, String.valueOf( entry.getKey() ) );
+            writeValue( output, entry.getValue() );
+        }
+    }
+
+    private static void writeValue( DataOutputStream output, Object value ) throws IOException
+    {
+        if ( value == null )
+        {
+            output.writeByte( NULL );
+        }
+        else if ( value instanceof String string )
+        {
+            output.writeByte( STRING );
+            writeString( output, string );
+        }
+        else if ( value instanceof Integer integer )
+        {
+            output.writeByte( INT );
+            output.writeInt( integer );
+        }
+        else if ( value instanceof Long longValue )
+        {
+            output.writeByte( LONG );
+            output.writeLong( longValue );
+        }
+        else if ( value instanceof Double doubleValue )
+        {
+            output.writeByte( DOUBLE );
+            output.writeDouble( doubleValue );
+        }
+        else if ( value instanceof Float floatValue )
+        {
+            output.writeByte( FLOAT );
+            output.writeFloat( floatValue );
+        }
+        else if ( value instanceof Boolean booleanValue )
+        {
+            output.writeByte( BOOLEAN );
+            output.writeBoolean( booleanValue );
+        }
+        else if ( value instanceof List<?> list )
+        {
+            output.writeByte( LIST );
+            output.writeInt( list.size() );
+            for ( Object element : list )
+            {
+                writeValue( output, element );
+            }
+        }
+        else if ( value instanceof ISection section )
+        {
+            output.writeByte( SECTION );
+            writeSection( output, section );
+        }
+        else if ( value instanceof Map<?, ?> map )
+        {
+            output.writeByte( SECTION );
+            writeMap( output, map );
+        }
+        else
+        {
+            // values of other types (e.g. dates) would not be read back as the same type, so these files are not cached
+            throw new UnsupportedOperationException( "Cannot cache configuration value of type " + value.getClass().getName() );
+        }
+    }
+
+    private static void writeString( DataOutputStream output, String string ) throws IOException
+    {
+        byte[] bytes = string.getBytes( StandardCharsets.UTF_8 );
+
+        output.writeInt( bytes.length );
+        output.write( bytes );
+    }
+
+    private static byte[] readHash( ByteBuffer buffer )
+    {
+        byte[] hash = new byte[HASH_LENGTH];
+        buffer.get( hash );
+        return hash;
+    }
+
+    private static Map<String, Object> readSection( ByteBuffer buffer )
+    {
+        int size = buffer.getInt();
+        Map<String, Object> section = new LinkedHashMap<>( Math.max( 16, size * 4 / 3 + 1 ) );
+
+        for ( int i = 0; i < size; i++ )
+        {
+            section.put( readString( buffer ), readValue( buffer ) );
+        }
+        return section;
+    }
+
+    private static Object readValue( ByteBuffer buffer )
+    {
+        byte type = buffer.get();
+
+        return switch ( type )
+        {
+            case NULL -> null;
+            case STRING -> readString( buffer );
+            case INT -> buffer.getInt();
+            case LONG -> buffer.getLong();
+            case DOUBLE -> buffer.getDouble();
+            case FLOAT -> buffer.getFloat();
+            case BOOLEAN -> buffer.get() != 0;
+            case LIST ->
+            {
+                int size = buffer.getInt();
+                List<Object> list = new ArrayList<>( size );
+
+                for ( int i = 0; i < size; i++ )
+                {
+                    list.add( readValue( buffer ) );
+                }
+                yield list;
+            }
+            case SECTION -> readSection( buffer );
+            default -> throw new IllegalStateException( "Unknown value type " + type );
+        };
+    }
+
+    private static String readString( ByteBuffer buffer )
+    {
+        int length = buffer.getInt();
+        String string = new String( buffer.array(), buffer.position(), length, StandardCharsets.UTF_8 );
+
+        buffer.position( buffer.position() + length );
+        return string;
+    }
+
+    private record CachedValues(Map<String, Object> root) implements ConfigurationValues
+    {
+
+        @Override
+        public Object get( String path )
+        {
+            Map<?, ?> section = this.root;
+            int start = 0;
+            int end;
+
+            while ( ( end = path.indexOf( '.', start ) ) != -1 )
+            {
+                if ( !( section.get( path.substring( start, end ) ) instanceof Map<?, ?> child ) )
+                {
+                    return null;
+                }
+                section = child;
+                start = end + 1;
+            }
+            return section.get( start == 0 ? path : path.substring( start ) );
+        }
+    }
+}
@@ -8,10 +8,10 @@ import dev.endoy.configuration.yaml.YamlConfiguration;
 import dev.endoy.configuration.yaml.YamlConfigurationOptions;
 import dev.endoy.configuration.yaml.comments.CommentType;
 import dev.endoy.helpers.common.EndoyApplication;
-import dev.endoy.helpers.common.injector.Comment;
-import dev.endoy.helpers.common.injector.Configuration;
-import dev.endoy.helpers.common.injector.ConfigurationSection;
-import dev.endoy.helpers.common.injector.Value;
+import dev.endoy.helpers.common.injector.*;
+import dev.endoy.helpers.common.logger.Logger;
+import dev.endoy.helpers.common.startup.StartupProfiler;
+import dev.endoy.helpers.common.startup.StartupReport;
 import dev.endoy.helpers.common.transform.TransformValue;
 import dev.endoy.helpers.common.transform.ValueTransformer;
 import dev.endoy.helpers.common.utils.ReflectionUtils;
@@ -20,16 +20,44 @@ import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
 
 @RequiredArgsConstructor
 public class ConfigurationManager
 {
 
+    private static final Logger LOGGER = Logger.forClass( ConfigurationManager.class );
+    private static final int MAX_LOADER_THREADS = Math.max( 2, Math.min( 8, Runtime.getRuntime().availableProcessors() ) );
+
+    private static final ClassValue<List<WritableField>> WRITABLE_FIELDS = new ClassValue<>()
+    {
+        @Override
+        protected List<WritableField> computeValue( Class<?> type )
+        {
+            return WritableField.of( type );
+        }
+    };
+
     private final EndoyApplication endoyApplication;
     private final Map<String, IConfiguration> configurations = new ConcurrentHashMap<>();
+    private final ConfigurationWriter configurationWriter = new ConfigurationWriter();
+    private final BinaryConfigurationCache binaryCache = new BinaryConfigurationCache();
+    private final Map<String, ConfigurationValues> cachedValues = new ConcurrentHashMap<>();
+    // the hash of each file as it was last loaded or written, so the changes made by the application itself can be told apart
+    private final Map<String, byte[]> fileHashes = new ConcurrentHashMap<>();
 
     public void createDefault( Class<?> configClass )
     {
@@ -37,6 +65,7 @@ public class ConfigurationManager
 
         Configuration configuration = configClass.getAnnotation( Configuration.class );
         File file = new File( endoyApplication.getDataFolder(), configuration.filePath() );
+        StartupProfiler startupProfiler = this.getStartupProfiler();
 
         if ( !file.exists() )
         {
@@ -48,36 +77,427 @@ public class ConfigurationManager
                 }
 
                 file.createNewFile();
-                this.save( endoyApplication.getInjector().getInjectableInstance( configClass ) );
             }
             catch ( IOException e )
             {
                 throw new ConfigurationException( "Failed to create default configuration file", e );
             }
         }
-        else
+
+        try ( StartupProfiler.Measurement ignored = startupProfiler.measure( StartupReport.Category.CONFIGURATION_LOAD, configuration.filePath() ) )
+        {
+            // a valid cache was written after the defaults were added to the unchanged file, so there is nothing to add
+            if ( configuration.binaryCache() && this.readCachedValues( configClass ) != null )
+            {
+                return;
+            }
+
+            this.getOrLoadConfig( configuration.fileType(), configuration.filePath() );
+        }
+        try ( StartupProfiler.Measurement ignored = startupProfiler.measure( StartupReport.Category.CONFIGURATION_SAVE, configuration.filePath() ) )
+        {
+            Object config = endoyApplication.getInjector().getInjectableInstance( configClass );
+            IConfiguration loadedConfiguration = this.getOrLoadConfig( configuration.fileType(), configuration.filePath() );
+
+            // the file is only written if defaults were added, which usually is not the case after the first boot
+            if ( this.writeFieldsToConfiguration( loadedConfiguration, configClass, config, "" ) )
+            {
+                this.writeFile( configuration.fileType(), configuration.filePath(), loadedConfiguration );
+            }
+        }
+
+        if ( configuration.binaryCache() )
+        {
+            this.binaryCache.write(
+                file.toPath(),
+                this.getSchemaHash( configClass ),
+                this.getOrLoadConfig( configuration.fileType(), configuration.filePath() )
+            );
+        }
+    }
+
+    /**
+     * Loads the files of the given configuration classes and the given other files in parallel on a bounded pool, so
+     * they do not have to be parsed one after another when they are first used. Configurations with a valid
+     * {@link Configuration#binaryCache() binary cache} read their cache instead. The loaded configurations are added
+     * on the calling thread, in the given order. Files that do not exist yet or fail to load are skipped, they are
+     * created or fail as usual once they are used.
+     *
+     * @param configClasses the {@link Configuration} classes
+     * @param otherFiles    other files to load, by their path relative to the data folder
+     */
+    public void preload( List<Class<?>> configClasses, Map<String, FileStorageType> otherFiles )
+    {
+        Map<String, Callable<Runnable>> loaders = new LinkedHashMap<>();
+
+        for ( Class<?> configClass : configClasses )
+        {
+            Configuration configuration = configClass.getAnnotation( Configuration.class );
+
+            loaders.putIfAbsent( configuration.filePath(), () -> this.preload( configClass, configuration ) );
+        }
+        otherFiles.forEach( ( filePath, fileType ) -> loaders.putIfAbsent( filePath, () -> this.preload( fileType, filePath ) ) );
+        loaders.keySet().removeIf( filePath -> this.configurations.containsKey( filePath )
+            || !new File( endoyApplication.getDataFolder(), filePath ).exists() );
+
+        if ( loaders.isEmpty() )
+        {
+            return;
+        }
+
+        ClassLoader classLoader = endoyApplication.getClass().getClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min( loaders.size(), MAX_LOADER_THREADS ),
+            runnable ->
+            {
+                Thread thread = new Thread( runnable, "endoy-helpers-configuration-loader" );
+                thread.setContextClassLoader( classLoader );
+                thread.setDaemon( true );
+                return thread;
+            }
+        );
+
+        try
+        {
+            Iterator<String> filePaths = loaders.keySet().iterator();
+
+            StartupProfiler startupProfiler = this.getStartupProfiler();
+            List<Callable<Runnable>> tasks = loaders.values().stream().map( startupProfiler::measureWorker ).toList();
+
+            for ( Future<Runnable> future : executor.invokeAll( tasks ) )
+            {
+                String filePath = filePaths.next();
+
+                try
+                {
+                    future.get().run();
+                }
+                catch ( ExecutionException e )
+                {
+                    LOGGER.debug( "Failed to preload configuration file " + filePath + ", it is loaded again once it is used", e.getCause() );
+                }
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private Runnable preload( Class<?> configClass, Configuration configuration )
+    {
+        if ( configuration.binaryCache() )
+        {
+            ConfigurationValues values = this.binaryCache.read(
+                new File( endoyApplication.getDataFolder(), configuration.filePath() ).toPath(),
+                this.getSchemaHash( configClass )
+            );
+
+            if ( values != null )
+            {
+                return () -> this.cachedValues.putIfAbsent( configuration.filePath(), values );
+            }
+        }
+        return this.preload( configuration.fileType(), configuration.filePath() );
+    }
+
+    private Runnable preload( FileStorageType fileStorageType, String filePath )
+    {
+        File file = new File( endoyApplication.getDataFolder(), filePath );
+
+        this.rememberHash( filePath, file );
+        IConfiguration configuration = this.loadConfig( fileStorageType, file );
+
+        return () ->
+        {
+            if ( this.configurations.putIfAbsent( filePath, configuration ) == null )
+            {
+                this.cachedValues.remove( filePath );
+            }
+        };
+    }
+
+    /**
+     * Returns the values to bind to an instance of the given configuration class. If the configuration has a
+     * {@link Configuration#binaryCache() binary cache} that is still valid and the file has not been parsed yet, the
+     * values are read from the cache without parsing the file.
+     *
+     * @param configClass the {@link Configuration} class
+     * @return the values of the configuration file
+     */
+    public ConfigurationValues getValues( Class<?> configClass )
+    {
+        this.validateConfig( configClass );
+
+        Configuration configuration = configClass.getAnnotation( Configuration.class );
+        IConfiguration loadedConfiguration = this.configurations.get( configuration.filePath() );
+
+        if ( loadedConfiguration == null && configuration.binaryCache() )
+        {
+            ConfigurationValues values = this.readCachedValues( configClass );
+
+            if ( values != null )
+            {
+                return values;
+            }
+        }
+        if ( loadedConfiguration == null )
         {
-            this.save( endoyApplication.getInjector().getInjectableInstance( configClass ) );
+            loadedConfiguration = this.getOrLoadConfig( configuration.fileType(), configuration.filePath() );
         }
+        return loadedConfiguration::get;
+    }
+
+    private ConfigurationValues readCachedValues( Class<?> configClass )
+    {
+        String filePath = configClass.getAnnotation( Configuration.class ).filePath();
+
+        return this.cachedValues.computeIfAbsent( filePath, key -> this.binaryCache.read(
+            new File( endoyApplication.getDataFolder(), filePath ).toPath(),
+            this.getSchemaHash( configClass )
+        ) );
     }
 
+    /**
+     * Adds the missing values of the given configuration to the loaded configuration and writes the loaded
+     * configuration, including any other changes made to it, to its file.
+     *
+     * @param config the instance of a {@link Configuration} class
+     * @throws ConfigurationException if the file could not be written
+     */
     public void save( Object config )
     {
-        this.validateConfig( config.getClass() );
+        Configuration configurationAnnotation = this.getConfigurationAnnotation( config );
+        IConfiguration configuration = this.getOrLoadConfig( configurationAnnotation.fileType(), configurationAnnotation.filePath() );
+
+        this.writeFieldsToConfiguration( configuration, config.getClass(), config, "" );
+        this.writeFile( configurationAnnotation.fileType(), configurationAnnotation.filePath(), configuration );
+    }
 
-        Configuration configurationAnnotation = config.getClass().getAnnotation( Configuration.class );
+    /**
+     * Saves the given configuration in the background. The values are added to the loaded configuration right away,
+     * the file is written later on a background thread: saves of the same file within a short window are merged into a
+     * single write of the loaded configuration. Use {@link #flush()} to wait for the pending writes, which
+     * {@link EndoyApplication#disable()} does as well, or use {@link #save(Object)} instead.
+     *
+     * @param config the instance of a {@link Configuration} class
+     * @return a future that is completed once the file has been written, or completed exceptionally if that failed
+     */
+    public CompletableFuture<Void> saveAsync( Object config )
+    {
+        Configuration configurationAnnotation = this.getConfigurationAnnotation( config );
         IConfiguration configuration = this.getOrLoadConfig( configurationAnnotation.fileType(), configurationAnnotation.filePath() );
 
         this.writeFieldsToConfiguration( configuration, config.getClass(), config, "" );
+        return this.configurationWriter.schedule(
+            configurationAnnotation.filePath(),
+            () -> this.writeFile( configurationAnnotation.fileType(), configurationAnnotation.filePath(), configuration )
+        );
+    }
+
+    /**
+     * Writes all configurations that are waiting to be saved and waits until they have been written.
+     */
+    public void flush()
+    {
+        this.configurationWriter.flush();
+    }
+
+    private Configuration getConfigurationAnnotation( Object config )
+    {
+        this.validateConfig( config.getClass() );
+
+        return config.getClass().getAnnotation( Configuration.class );
+    }
+
+    /**
+     * Writes the configuration to a temporary file next to its file, which then replaces the file, so the file is never
+     * left half written. Only copying the values happens while holding the lock of the configuration, the main thread
+     * does not wait for the disk. The file is left untouched if its content did not change.
+     */
+    private void writeFile( FileStorageType fileStorageType, String filePath, IConfiguration configuration )
+    {
+        Path file = new File( endoyApplication.getDataFolder(), filePath ).toPath().toAbsolutePath();
+        Path temporaryFile = null;
 
         try
         {
-            configuration.save();
+            Files.createDirectories( file.getParent() );
+            temporaryFile = Files.createTempFile( file.getParent(), "." + file.getFileName(), ".tmp" );
+            IConfiguration copy = this.loadConfig( fileStorageType, temporaryFile.toFile() );
+
+            // the values are added to the loaded configuration while holding the same lock, so a half updated
+            // configuration is never copied
+            synchronized ( configuration )
+            {
+                copySection( configuration, configuration, copy, copy, "" );
+            }
+            copy.save();
+
+            byte[] hash = hash( temporaryFile );
+            this.fileHashes.put( filePath, hash );
+
+            if ( Files.exists( file ) && Arrays.equals( hash, hash( file ) ) )
+            {
+                return;
+            }
+
+            try
+            {
+                Files.move( temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( temporaryFile, file, StandardCopyOption.REPLACE_EXISTING );
+            }
+            temporaryFile = null;
         }
         catch ( IOException e )
         {
             throw new ConfigurationException( "Failed to save configuration file", e );
         }
+        finally
+        {
+            if ( temporaryFile != null )
+            {
+                try
+                {
+                    Files.deleteIfExists( temporaryFile );
+                }
+                catch ( IOException e )
+                {
+                    LOGGER.warn( "Failed to delete temporary configuration file " + temporaryFile, e );
+                }
+            }
+        }
+    }
+
+    private static void copySection( IConfiguration source, ISection sourceSection, IConfiguration target, ISection targetSection, String prefix )
+    {
+        for ( String key : sourceSection.getKeys() )
+        {
+            if ( source instanceof YamlConfiguration sourceYaml && target instanceof YamlConfiguration targetYaml )
+            {
+                String comment = sourceYaml.getComment( prefix + key, CommentType.BLOCK );
+
+                if ( comment != null )
+                {
+                    targetYaml.setComment( prefix + key, comment, CommentType.BLOCK );
+                }
+            }
+
+            if ( sourceSection.isSection( key ) )
+            {
+                ISection section = targetSection.createSection( key );
+
+                copySection( source, sourceSection.getSection( key ), target, section, prefix + key + "." );
+                targetSection.set( key, section );
+            }
+            else
+            {
+                targetSection.set( key, sourceSection.get( key ) );
+            }
+        }
+    }
+
+    /**
+     * Checks whether the file differs from its content when it was last loaded or written by this manager, so a file
+     * watcher can ignore the writes of the application itself.
+     *
+     * @param filePath the path of the file, relative to the data folder
+     * @return true if the file changed, or if it was never loaded or written by this manager
+     */
+    public boolean hasChanged( String filePath )
+    {
+        byte[] knownHash = this.fileHashes.get( filePath );
+
+        if ( knownHash == null )
+        {
+            return true;
+        }
+
+        try
+        {
+            return !Arrays.equals( knownHash, hash( new File( endoyApplication.getDataFolder(), filePath ).toPath() ) );
+        }
+        catch ( IOException e )
+        {
+            return true;
+        }
+    }
+
+    /**
+     * Remembers the hash of the file before it is loaded, a change made while loading then still counts as a change.
+     */
+    private void rememberHash( String filePath, File file )
+    {
+        try
+        {
+            this.fileHashes.put( filePath, hash( file.toPath() ) );
+        }
+        catch ( IOException e )
+        {
+            this.fileHashes.remove( filePath );
+        }
+    }
+
+    static byte[] hash( Path file ) throws IOException
+    {
+        MessageDigest messageDigest = createMessageDigest();
+
+        try ( InputStream inputStream = new DigestInputStream( Files.newInputStream( file ), messageDigest ) )
+        {
+            inputStream.transferTo( OutputStream.nullOutputStream() );
+        }
+        return messageDigest.digest();
+    }
+
+    private static MessageDigest createMessageDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "SHA-256" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * @return a hash of the paths and types of the values of the given configuration class, which changes whenever
+     * values are added, removed or changed in a way that requires the file to be parsed again
+     */
+    private byte[] getSchemaHash( Class<?> configClass )
+    {
+        StringBuilder schema = new StringBuilder();
+        this.appendSchema( schema, configClass, "" );
+
+        return createMessageDigest().digest( schema.toString().getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    private void appendSchema( StringBuilder schema, Class<?> clazz, String prefix )
+    {
+        for ( Field declaredField : clazz.getDeclaredFields() )
+        {
+            if ( !declaredField.isAnnotationPresent( Value.class ) )
+            {
+                continue;
+            }
+
+            Value value = declaredField.getAnnotation( Value.class );
+            String path = prefix + ( value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( declaredField.getName() ) : value.path() );
+
+            schema.append( path ).append( ':' ).append( declaredField.getGenericType().getTypeName() ).append( '\n' );
+            if ( declaredField.getType().isAnnotationPresent( ConfigurationSection.class ) )
+            {
+                this.appendSchema( schema, declaredField.getType(), path + "." );
+            }
+        }
     }
 
     public IConfiguration reload( FileStorageType fileStorageType, String filePath )
@@ -86,6 +506,7 @@ public class ConfigurationManager
 
         try
         {
+            this.rememberHash( filePath, new File( endoyApplication.getDataFolder(), filePath ) );
             configuration.reload();
         }
         catch ( IOException e )
@@ -96,76 +517,139 @@ public class ConfigurationManager
         return configuration;
     }
 
+    /**
+     * Loads the configuration file into a new configuration and only then replaces the cached configuration with it.
+     * Readers of the cached configuration never see a partially reloaded file, and if the file cannot be loaded
+     * (e.g. because it is being edited), the cached configuration is kept.
+     *
+     * @param fileStorageType the storage type of the file
+     * @param filePath        the path of the file, relative to the data folder
+     * @return the newly loaded configuration
+     */
+    public IConfiguration reloadAndReplace( FileStorageType fileStorageType, String filePath )
+    {
+        IConfiguration configuration;
+
+        try
+        {
+            configuration = this.loadConfig( fileStorageType, filePath );
+        }
+        catch ( RuntimeException e )
+        {
+            throw new ConfigurationException( "Failed to reload configuration file " + filePath, e );
+        }
+
+        configurations.put( filePath, configuration );
+        return configuration;
+    }
+
     public IConfiguration getOrLoadConfig( FileStorageType fileStorageType, String filePath )
     {
-        return configurations.computeIfAbsent( filePath, key -> IConfiguration.loadConfiguration(
+        return configurations.computeIfAbsent( filePath, key -> this.loadConfig( fileStorageType, filePath ) );
+    }
+
+    private IConfiguration loadConfig( FileStorageType fileStorageType, String filePath )
+    {
+        // once the file is parsed, its values are no longer read from the cache
+        this.cachedValues.remove( filePath );
+
+        File file = new File( endoyApplication.getDataFolder(), filePath );
+        this.rememberHash( filePath, file );
+        return this.loadConfig( fileStorageType, file );
+    }
+
+    private IConfiguration loadConfig( FileStorageType fileStorageType, File file )
+    {
+        return IConfiguration.loadConfiguration(
             fileStorageType,
-            new File( endoyApplication.getDataFolder(), filePath ),
+            file,
             fileStorageType == FileStorageType.YAML
                 ? YamlConfigurationOptions.builder().useComments( true ).build()
                 : JsonConfigurationOptions.builder().build()
-        ) );
+        );
     }
 
-    private void writeFieldsToConfiguration( IConfiguration configuration, Class<?> clazz, Object instance, String prefix )
+    /**
+     * Adds the values and comments of the given instance that are missing in the configuration, existing values are kept.
+     *
+     * @return true if a missing value or comment was added
+     */
+    private boolean writeFieldsToConfiguration( IConfiguration configuration, Class<?> clazz, Object instance, String prefix )
     {
-        this.writeFieldsToConfiguration( configuration, configuration, clazz, instance, prefix );
+        synchronized ( configuration )
+        {
+            return this.writeFieldsToConfiguration( configuration, configuration, clazz, instance, prefix );
+        }
     }
 
-    private void writeFieldsToConfiguration( IConfiguration configuration, ISection currentSection, Class<?> clazz, Object instance, String prefix )
+    private boolean writeFieldsToConfiguration( IConfiguration configuration, ISection currentSection, Class<?> clazz, Object instance, String prefix )
     {
-        for ( Field declaredField : clazz.getDeclaredFields() )
-        {
-            if ( !declaredField.isAnnotationPresent( Value.class ) )
-            {
-                continue;
-            }
-
-            Value value = declaredField.getAnnotation( Value.class );
-            String path = value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( declaredField.getName() ) : value.path();
+        boolean changed = false;
 
+        for ( WritableField writableField : WRITABLE_FIELDS.get( clazz ) )
+        {
+            String path = writableField.path();
             Object fieldValue;
+
             try
             {
-                fieldValue = ReflectionUtils.getFieldValue( declaredField, instance );
-
-                if ( declaredField.getType().isEnum() )
-                {
-                    fieldValue = fieldValue.toString();
-                }
-                else if ( declaredField.isAnnotationPresent( TransformValue.class ) )
-                {
-                    TransformValue transformValue = declaredField.getAnnotation( TransformValue.class );
-                    ValueTransformer transformer = ValueTransformerRegistry.getOrCreateValueTransformer( transformValue.value() );
-
-                    fieldValue = transformer.transformToConfigValue( fieldValue );
-                }
+                fieldValue = writableField.toConfigValue( ReflectionUtils.getFieldValue( writableField.field(), instance ) );
             }
             catch ( IllegalAccessException e )
             {
                 continue;
             }
 
-            if ( configuration instanceof YamlConfiguration yamlConfiguration && declaredField.isAnnotationPresent( Comment.class ) )
+            if ( configuration instanceof YamlConfiguration yamlConfiguration && writableField.comment() != null
+                && !writableField.comment().equals( yamlConfiguration.getComment( prefix + path, CommentType.BLOCK ) ) )
             {
-                Comment comment = declaredField.getAnnotation( Comment.class );
-                yamlConfiguration.setComment( prefix + path, String.join( "\n", comment.value() ), CommentType.BLOCK );
+                yamlConfiguration.setComment( prefix + path, writableField.comment(), CommentType.BLOCK );
+                changed = true;
             }
 
-            if ( declaredField.getType().isAnnotationPresent( ConfigurationSection.class ) )
+            if ( writableField.sectionType() != null )
             {
-                ISection section = currentSection.exists( path ) ? currentSection.getSection( path ) : currentSection.createSection( path );
-                writeFieldsToConfiguration( configuration, section, declaredField.getType(), fieldValue, prefix + path + "." );
+                boolean exists = currentSection.exists( path );
+                ISection section = exists ? currentSection.getSection( path ) : currentSection.createSection( path );
+
+                changed |= !exists;
+                changed |= writeFieldsToConfiguration( configuration, section, writableField.sectionType(), fieldValue, prefix + path + "." );
                 currentSection.set( path, section );
             }
+            else if ( writableField.sectionMapType() != null )
+            {
+                // the entries of a map are up to the user, so the default entries are only written if the map is missing
+                if ( !currentSection.exists( path ) && fieldValue instanceof Map<?, ?> sections )
+                {
+                    ISection mapSection = currentSection.createSection( path );
+
+                    for ( Map.Entry<?, ?> entry : sections.entrySet() )
+                    {
+                        String key = String.valueOf( entry.getKey() );
+                        ISection section = mapSection.createSection( key );
+
+                        writeFieldsToConfiguration( configuration, section, writableField.sectionMapType(), entry.getValue(), prefix + path + "." + key + "." );
+                        mapSection.set( key, section );
+                    }
+                    currentSection.set( path, mapSection );
+                    changed = true;
+                }
+            }
             else
             {
                 if ( !currentSection.exists( path ) )
                 {
                     currentSection.set( path, fieldValue );
+                    changed = true;
                 }
             }
         }
+        return changed;
+    }
+
+    private StartupProfiler getStartupProfiler()
+    {
+        return endoyApplication.getInjector() == null ? StartupProfiler.disabled() : endoyApplication.getInjector().getStartupProfiler();
     }
 
     private void validateConfig( Class<?> configClass )
@@ -175,4 +659,84 @@ public class ConfigurationManager
             throw new ConfigurationException( "Class " + configClass.getName() + " is not annotated with @Configuration" );
         }
     }
+
+    /**
+     * A {@link Value} field of a configuration class, with everything needed to write its value resolved once.
+     */
+    private record WritableField(Field field,
+                                 String path,
+                                 String comment,
+                                 ValueTransformer<Object> codec,
+                                 Class<?> sectionType,
+                                 Class<?> sectionMapType)
+    {
+
+        static List<WritableField> of( Class<?> type )
+        {
+            List<WritableField> fields = new ArrayList<>();
+
+            for ( Field declaredField : type.getDeclaredFields() )
+            {
+                if ( !declaredField.isAnnotationPresent( Value.class ) )
+                {
+                    continue;
+                }
+
+                Value value = declaredField.getAnnotation( Value.class );
+                Comment comment = declaredField.getAnnotation( Comment.class );
+
+                fields.add( new WritableField(
+                    declaredField,
+                    value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( declaredField.getName() ) : value.path(),
+                    comment == null ? null : String.join( "\n", comment.value() ),
+                    ValueCodecRegistry.getCodec( declaredField ),
+                    declaredField.getType().isAnnotationPresent( ConfigurationSection.class ) ? declaredField.getType() : null,
+                    getSectionMapType( declaredField )
+                ) );
+            }
+            return List.copyOf( fields );
+        }
+
+        private static Class<?> getSectionMapType( Field field )
+        {
+            if ( Map.class.isAssignableFrom( field.getType() )
+                && !field.isAnnotationPresent( TransformValue.class )
+                && field.getGenericType() instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[1] instanceof Class<?> valueType
+                && valueType.isAnnotationPresent( ConfigurationSection.class ) )
+            {
+                return valueType;
+            }
+            return null;
+        }
+
+        Object toConfigValue( Object fieldValue )
+        {
+            if ( fieldValue == null || this.sectionType != null || this.sectionMapType != null )
+            {
+                return fieldValue;
+            }
+            if ( this.codec != null )
+            {
+                return this.codec.transformToConfigValue( fieldValue );
+            }
+            if ( fieldValue instanceof IntConfigValue intValue )
+            {
+                return intValue.get();
+            }
+            if ( fieldValue instanceof LongConfigValue longValue )
+            {
+                return longValue.get();
+            }
+            if ( fieldValue instanceof DoubleConfigValue doubleValue )
+            {
+                return doubleValue.get();
+            }
+            if ( fieldValue instanceof BooleanConfigValue booleanValue )
+            {
+                return booleanValue.get();
+            }
+            return fieldValue;
+        }
+    }
 }
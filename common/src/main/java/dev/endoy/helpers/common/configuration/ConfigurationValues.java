@@ -0,0 +1,19 @@
+package dev.endoy.helpers.common.configuration;
+
+/**
+ * Read access to the values of a configuration file by their (dot separated) path, regardless of whether they were
+ * parsed from the file itself or read from its binary cache.
+ */
+@FunctionalInterface
+public interface ConfigurationValues
+{
+
+    /**
+     * @param path the dot separated path of the value
+     * @return the value at the given path, or null if there is no such value. A section is returned as an
+     * {@link dev.endoy.configuration.api.ISection} if the file was parsed, and as a {@link java.util.Map} if it was read
+     * from the binary cache.
+     */
+    Object get( String path );
+
+}
@@ -0,0 +1,209 @@
+package dev.endoy.helpers.common.configuration;
+
+import dev.endoy.helpers.common.EndoyApplication;
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the data folder of an application for changes to configuration files and reloads the
+ * {@link dev.endoy.helpers.common.injector.Configuration} injectables of a file once it has not changed for the debounce
+ * duration. Editors often write a file in several steps, the debounce makes sure such a burst results in a single reload.
+ * <p>
+ * Reloading happens on the watcher thread, never on the main thread. That is why only
+ * {@link dev.endoy.helpers.common.injector.Configuration#snapshot() snapshot} configurations are reloaded, and files that
+ * were written by the application itself are ignored.
+ */
+public class ConfigurationWatcher implements AutoCloseable
+{
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis( 250 );
+    private static final Logger LOGGER = Logger.forClass( ConfigurationWatcher.class );
+
+    private final EndoyApplication endoyApplication;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private ConfigurationWatcher( EndoyApplication endoyApplication, Duration debounce ) throws IOException
+    {
+        this.endoyApplication = endoyApplication;
+        this.debounceNanos = debounce.toNanos();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.registerDirectories( endoyApplication.getDataFolder().toPath() );
+
+        this.thread = new Thread( this::run, "endoy-helpers-configuration-watcher" );
+        this.thread.setDaemon( true );
+    }
+
+    /**
+     * Starts watching the data folder (and its subfolders) of the given application.
+     *
+     * @param endoyApplication the application of which the configurations should be reloaded
+     * @param debounce         how long a file has to stay unchanged before it is reloaded
+     * @return the started watcher, which should be closed when the application is disabled
+     */
+    public static ConfigurationWatcher start( EndoyApplication endoyApplication, Duration debounce )
+    {
+        try
+        {
+            ConfigurationWatcher watcher = new ConfigurationWatcher( endoyApplication, debounce );
+            watcher.thread.start();
+            return watcher;
+        }
+        catch ( IOException e )
+        {
+            throw new ConfigurationException( "Failed to watch the data folder for configuration changes", e );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        this.running = false;
+
+        try
+        {
+            this.watchService.close();
+        }
+        catch ( IOException e )
+        {
+            LOGGER.warn( "Failed to close configuration watcher", e );
+        }
+        this.thread.interrupt();
+    }
+
+    private void registerDirectories( Path root ) throws IOException
+    {
+        if ( !Files.isDirectory( root ) )
+        {
+            return;
+        }
+
+        try ( Stream<Path> directories = Files.walk( root ) )
+        {
+            for ( Path directory : (Iterable<Path>) directories.filter( Files::isDirectory )::iterator )
+            {
+                WatchKey key = directory.register(
+                    this.watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY
+                );
+
+                this.watchedDirectories.put( key, directory );
+            }
+        }
+    }
+
+    private void run()
+    {
+        // file -> the time at which the file is considered stable and will be reloaded
+        Map<Path, Long> pendingFiles = new HashMap<>();
+
+        while ( this.running )
+        {
+            try
+            {
+                WatchKey key = pendingFiles.isEmpty()
+                    ? this.watchService.take()
+                    : this.watchService.poll( this.getNanosUntilNextReload( pendingFiles ), TimeUnit.NANOSECONDS );
+
+                if ( key != null )
+                {
+                    this.handleEvents( key, pendingFiles );
+                }
+                this.reloadStableFiles( pendingFiles );
+            }
+            catch ( InterruptedException | ClosedWatchServiceException e )
+            {
+                return;
+            }
+        }
+    }
+
+    private long getNanosUntilNextReload( Map<Path, Long> pendingFiles )
+    {
+        long now = System.nanoTime();
+        long next = Long.MAX_VALUE;
+
+        for ( long deadline : pendingFiles.values() )
+        {
+            next = Math.min( next, deadline - now );
+        }
+        return Math.max( 0, next );
+    }
+
+    private void handleEvents( WatchKey key, Map<Path, Long> pendingFiles )
+    {
+        Path directory = this.watchedDirectories.get( key );
+
+        for ( WatchEvent<?> event : key.pollEvents() )
+        {
+            if ( directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW )
+            {
+                continue;
+            }
+
+            Path file = directory.resolve( (Path) event.context() );
+
+            if ( event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory( file ) )
+            {
+                try
+                {
+                    this.registerDirectories( file );
+                }
+                catch ( IOException e )
+                {
+                    LOGGER.warn( "Failed to watch directory " + file, e );
+                }
+                continue;
+            }
+
+            // every new event for the same file postpones its reload
+            pendingFiles.put( file, System.nanoTime() + this.debounceNanos );
+        }
+
+        if ( !key.reset() )
+        {
+            this.watchedDirectories.remove( key );
+        }
+    }
+
+    private void reloadStableFiles( Map<Path, Long> pendingFiles )
+    {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> iterator = pendingFiles.entrySet().iterator();
+
+        while ( iterator.hasNext() )
+        {
+            Map.Entry<Path, Long> entry = iterator.next();
+
+            if ( entry.getValue() - now > 0 )
+            {
+                continue;
+            }
+            iterator.remove();
+
+            try
+            {
+                if ( this.endoyApplication.getInjector().getConfigurationInjector().reloadConfiguration( entry.getKey() ) )
+                {
+                    LOGGER.info( "Reloaded configuration " + entry.getKey().getFileName() );
+                }
+            }
+            catch ( RuntimeException e )
+            {
+                LOGGER.warn( "Failed to reload configuration " + entry.getKey().getFileName() + ", keeping the previous values", e );
+            }
+        }
+    }
+}
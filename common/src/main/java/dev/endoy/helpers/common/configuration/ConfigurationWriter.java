@@ -0,0 +1,115 @@
+package dev.endoy.helpers.common.configuration;
+
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs configuration writes on a background thread. Writes to the same file that are requested while a write is still
+ * waiting are merged into that write, which reads the latest values once it runs.
+ */
+class ConfigurationWriter
+{
+
+    static final long COALESCE_MILLIS = 500;
+    private static final Logger LOGGER = Logger.forClass( ConfigurationWriter.class );
+
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private ScheduledThreadPoolExecutor executor;
+
+    /**
+     * @return a future that is completed once the write ran, which is shared by the writes it was merged with
+     */
+    CompletableFuture<Void> schedule( String filePath, Runnable write )
+    {
+        return this.pendingWrites.computeIfAbsent( filePath, key ->
+        {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            ScheduledFuture<?> future = this.getExecutor().schedule( () ->
+            {
+                this.pendingWrites.remove( key );
+                this.run( key, write, result );
+            }, COALESCE_MILLIS, TimeUnit.MILLISECONDS );
+
+            return new PendingWrite( write, future, result );
+        } ).result();
+    }
+
+    /**
+     * Runs all waiting writes right away and waits until they are done.
+     */
+    void flush()
+    {
+        ExecutorService executor;
+        synchronized ( this )
+        {
+            executor = this.executor;
+        }
+        if ( executor == null )
+        {
+            return;
+        }
+
+        for ( String filePath : this.pendingWrites.keySet() )
+        {
+            PendingWrite pendingWrite = this.pendingWrites.remove( filePath );
+
+            if ( pendingWrite != null && pendingWrite.future().cancel( false ) )
+            {
+                executor.execute( () -> this.run( filePath, pendingWrite.write(), pendingWrite.result() ) );
+            }
+        }
+
+        try
+        {
+            // the executor runs a single thread, so every write submitted before this one has finished once it ran
+            executor.submit( () ->
+            {
+            } ).get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch ( ExecutionException e )
+        {
+            throw new ConfigurationException( "Failed to flush configuration writes", e );
+        }
+    }
+
+    private void run( String filePath, Runnable write, CompletableFuture<Void> result )
+    {
+        try
+        {
+            write.run();
+            result.complete( null );
+        }
+        catch ( Throwable e )
+        {
+            LOGGER.error( "Failed to save configuration file " + filePath, e );
+            result.completeExceptionally( e );
+        }
+    }
+
+    private synchronized ScheduledExecutorService getExecutor()
+    {
+        if ( this.executor == null )
+        {
+            this.executor = new ScheduledThreadPoolExecutor( 1, runnable ->
+            {
+                Thread thread = new Thread( runnable, "endoy-helpers-configuration-writer" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+            // do not keep an idle thread around, e.g. after the plugin has been disabled
+            this.executor.setKeepAliveTime( 30, TimeUnit.SECONDS );
+            this.executor.allowCoreThreadTimeOut( true );
+        }
+        return this.executor;
+    }
+
+    private record PendingWrite(Runnable write, ScheduledFuture<?> future, CompletableFuture<Void> result)
+    {
+    }
+}
@@ -0,0 +1,352 @@
+package dev.endoy.helpers.common.configuration;
+
+import dev.endoy.configuration.api.ISection;
+import dev.endoy.helpers.common.transform.TransformValue;
+import dev.endoy.helpers.common.transform.ValueTransformer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the codec that converts the values of a {@link dev.endoy.helpers.common.injector.Value} field from and to
+ * configuration values. The codec of a field is resolved once, from (in this order) its {@link TransformValue} annotation,
+ * its enum type, its map type, the codec registered for its type or its list type.
+ * <p>
+ * Codecs for {@link Duration} (e.g. {@code 30s}, {@code 5m} or {@code PT1H}) and {@link UUID} are registered by default,
+ * enums and lists or maps of any type with a codec are converted as well.
+ */
+public class ValueCodecRegistry
+{
+
+    private static final Map<Class<?>, ValueTransformer<?>> TYPE_CODECS = new ConcurrentHashMap<>();
+    private static final Map<Field, Optional<ValueTransformer<Object>>> FIELD_CODECS = new ConcurrentHashMap<>();
+
+    static
+    {
+        TYPE_CODECS.put( Duration.class, new DurationCodec() );
+        TYPE_CODECS.put( UUID.class, new UUIDCodec() );
+    }
+
+    /**
+     * Registers the codec for all fields of the given type that have no {@link TransformValue} annotation.
+     * Codecs are resolved once per field, so register them before the injector is started.
+     *
+     * @param type  the field type
+     * @param codec the codec converting values of the type
+     * @param <T>   the field type
+     */
+    public static <T> void register( Class<T> type, ValueTransformer<T> codec )
+    {
+        TYPE_CODECS.put( type, codec );
+        FIELD_CODECS.clear();
+    }
+
+    /**
+     * @param field the field to get the codec of
+     * @return the codec of the field, or null if the configuration values can be assigned to the field as they are
+     */
+    public static ValueTransformer<Object> getCodec( Field field )
+    {
+        return FIELD_CODECS.computeIfAbsent( field, key -> Optional.ofNullable( createCodec(
+            key.getType(),
+            key.getGenericType(),
+            key.getAnnotation( TransformValue.class )
+        ) ) ).orElse( null );
+    }
+
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private static ValueTransformer<Object> createCodec( Class<?> type, Type genericType, TransformValue transformValue )
+    {
+        if ( transformValue != null )
+        {
+            return ValueTransformerRegistry.getOrCreateValueTransformer( transformValue.value() );
+        }
+        if ( type.isEnum() )
+        {
+            return new EnumCodec( type );
+        }
+        if ( Map.class.isAssignableFrom( type ) )
+        {
+            return new MapCodec( getMapFactory( type ), getElementCodec( genericType, 1 ) );
+        }
+        if ( TYPE_CODECS.containsKey( type ) )
+        {
+            return (ValueTransformer<Object>) TYPE_CODECS.get( type );
+        }
+        if ( List.class.isAssignableFrom( type ) )
+        {
+            ValueTransformer<Object> elementCodec = getElementCodec( genericType, 0 );
+
+            return elementCodec == null ? null : new ListCodec( elementCodec );
+        }
+        return null;
+    }
+
+    private static ValueTransformer<Object> getElementCodec( Type genericType, int index )
+    {
+        if ( !( genericType instanceof ParameterizedType parameterizedType ) || parameterizedType.getActualTypeArguments().length <= index )
+        {
+            return null;
+        }
+
+        Type elementType = parameterizedType.getActualTypeArguments()[index];
+        if ( elementType instanceof Class<?> elementClass )
+        {
+            return createCodec( elementClass, elementClass, null );
+        }
+        if ( elementType instanceof ParameterizedType elementParameterizedType && elementParameterizedType.getRawType() instanceof Class<?> elementClass )
+        {
+            return createCodec( elementClass, elementType, null );
+        }
+        return null;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static Supplier<Map<Object, Object>> getMapFactory( Class<?> type )
+    {
+        if ( type.isInterface() || Modifier.isAbstract( type.getModifiers() ) )
+        {
+            return LinkedHashMap::new;
+        }
+
+        try
+        {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible( true );
+
+            return () ->
+            {
+                try
+                {
+                    return (Map<Object, Object>) constructor.newInstance();
+                }
+                catch ( ReflectiveOperationException e )
+                {
+                    throw new ConfigurationException( "Failed to create map of type " + type.getName(), e );
+                }
+            };
+        }
+        catch ( NoSuchMethodException e )
+        {
+            throw new ConfigurationException( "Map type must have a no-args constructor: " + type.getName(), e );
+        }
+    }
+
+    /**
+     * Converts a section into a plain map, recursively, so the result does not refer to the (mutable) configuration.
+     */
+    private static Object toPlainValue( Object value )
+    {
+        if ( value instanceof ISection section )
+        {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for ( String key : section.getKeys() )
+            {
+                map.put( key, toPlainValue( section.get( key ) ) );
+            }
+            return map;
+        }
+        return value;
+    }
+
+    private static final class EnumCodec implements ValueTransformer<Object>
+    {
+
+        private final Class<?> type;
+        private final Map<String, Object> constants = new HashMap<>();
+
+        private EnumCodec( Class<?> type )
+        {
+            this.type = type;
+
+            for ( Object constant : type.getEnumConstants() )
+            {
+                this.constants.put( ( (Enum<?>) constant ).name(), constant );
+            }
+        }
+
+        @Override
+        public Object transformFromConfigValue( Object value )
+        {
+            Object constant = this.constants.get( String.valueOf( value ) );
+
+            if ( constant == null )
+            {
+                throw new IllegalArgumentException( "No enum constant " + this.type.getCanonicalName() + "." + value );
+            }
+            return constant;
+        }
+
+        @Override
+        public Object transformToConfigValue( Object value )
+        {
+            return value == null ? null : value.toString();
+        }
+    }
+
+    private record ListCodec(ValueTransformer<Object> elementCodec) implements ValueTransformer<Object>
+    {
+
+        @Override
+        public Object transformFromConfigValue( Object value )
+        {
+            if ( !( value instanceof Collection<?> collection ) )
+            {
+                return value;
+            }
+
+            List<Object> list = new ArrayList<>( collection.size() );
+            for ( Object element : collection )
+            {
+                list.add( element == null ? null : this.elementCodec.transformFromConfigValue( element ) );
+            }
+            return list;
+        }
+
+        @Override
+        public Object transformToConfigValue( Object value )
+        {
+            if ( !( value instanceof Collection<?> collection ) )
+            {
+                return value;
+            }
+
+            List<Object> list = new ArrayList<>( collection.size() );
+            for ( Object element : collection )
+            {
+                list.add( element == null ? null : this.elementCodec.transformToConfigValue( element ) );
+            }
+            return list;
+        }
+    }
+
+    private record MapCodec(Supplier<Map<Object, Object>> factory, ValueTransformer<Object> valueCodec) implements ValueTransformer<Object>
+    {
+
+        @Override
+        public Object transformFromConfigValue( Object value )
+        {
+            if ( value instanceof ISection section )
+            {
+                Map<Object, Object> map = this.factory.get();
+                for ( String key : section.getKeys() )
+                {
+                    map.put( key, this.convertFromConfigValue( section.get( key ) ) );
+                }
+                return map;
+            }
+            if ( value instanceof Map<?, ?> configMap ) // a section read from a binary cache
+            {
+                Map<Object, Object> map = this.factory.get();
+                configMap.forEach( ( key, element ) -> map.put( key, this.convertFromConfigValue( element ) ) );
+                return map;
+            }
+            return value;
+        }
+
+        private Object convertFromConfigValue( Object value )
+        {
+            if ( value == null )
+            {
+                return null;
+            }
+            return this.valueCodec == null ? toPlainValue( value ) : this.valueCodec.transformFromConfigValue( value );
+        }
+
+        @Override
+        public Object transformToConfigValue( Object value )
+        {
+            if ( this.valueCodec == null || !( value instanceof Map<?, ?> map ) )
+            {
+                return value;
+            }
+
+            Map<Object, Object> configMap = new LinkedHashMap<>();
+            map.forEach( ( key, element ) -> configMap.put( key, element == null ? null : this.valueCodec.transformToConfigValue( element ) ) );
+            return configMap;
+        }
+    }
+
+    private static final class DurationCodec implements ValueTransformer<Duration>
+    {
+
+        @Override
+        public Duration transformFromConfigValue( Object value )
+        {
+            if ( value instanceof Number number )
+            {
+                return Duration.ofSeconds( number.longValue() );
+            }
+
+            String text = String.valueOf( value ).trim().toLowerCase( Locale.ROOT );
+            if ( text.startsWith( "p" ) )
+            {
+                return Duration.parse( text.toUpperCase( Locale.ROOT ) );
+            }
+
+            int unitIndex = 0;
+            while ( unitIndex < text.length() && ( Character.isDigit( text.charAt( unitIndex ) ) || text.charAt( unitIndex ) == '-' ) )
+            {
+                unitIndex++;
+            }
+
+            long amount = Long.parseLong( text.substring( 0, unitIndex ) );
+            return switch ( text.substring( unitIndex ).trim() )
+            {
+                case "ms" -> Duration.ofMillis( amount );
+                case "", "s" -> Duration.ofSeconds( amount );
+                case "m" -> Duration.ofMinutes( amount );
+                case "h" -> Duration.ofHours( amount );
+                case "d" -> Duration.ofDays( amount );
+                default -> throw new IllegalArgumentException( "Invalid duration: " + value );
+            };
+        }
+
+        @Override
+        public Object transformToConfigValue( Duration value )
+        {
+            long millis = value.toMillis();
+
+            if ( millis % 86_400_000 == 0 && millis != 0 )
+            {
+                return millis / 86_400_000 + "d";
+            }
+            if ( millis % 3_600_000 == 0 && millis != 0 )
+            {
+                return millis / 3_600_000 + "h";
+            }
+            if ( millis % 60_000 == 0 && millis != 0 )
+            {
+                return millis / 60_000 + "m";
+            }
+            if ( millis % 1_000 == 0 )
+            {
+                return millis / 1_000 + "s";
+            }
+            return millis + "ms";
+        }
+    }
+
+    private static final class UUIDCodec implements ValueTransformer<UUID>
+    {
+
+        @Override
+        public UUID transformFromConfigValue( Object value )
+        {
+            return UUID.fromString( String.valueOf( value ) );
+        }
+
+        @Override
+        public Object transformToConfigValue( UUID value )
+        {
+            return value.toString();
+        }
+    }
+}
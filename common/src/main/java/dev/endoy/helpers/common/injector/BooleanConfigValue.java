@@ -0,0 +1,39 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * The boolean counterpart of {@link IntConfigValue}.
+ */
+public final class BooleanConfigValue implements BooleanSupplier
+{
+
+    private volatile boolean value;
+
+    public BooleanConfigValue( boolean value )
+    {
+        this.value = value;
+    }
+
+    public boolean get()
+    {
+        return this.value;
+    }
+
+    @Override
+    public boolean getAsBoolean()
+    {
+        return this.value;
+    }
+
+    void update( Object configValue )
+    {
+        this.value = configValue instanceof Boolean bool ? bool : Boolean.parseBoolean( String.valueOf( configValue ) );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf( this.value );
+    }
+}
@@ -16,4 +16,23 @@ public @interface Configuration
 
     FileStorageType fileType() default FileStorageType.YAML;
 
+    /**
+     * When enabled, instances of this configuration are never changed after they have been bound. A reload creates and
+     * binds a new instance (through the no-args constructor) and then replaces the injectable and its
+     * {@link ConfigurationSnapshot} with it, so readers never see a partially reloaded configuration. Only snapshot
+     * configurations are reloaded by the {@link dev.endoy.helpers.common.configuration.ConfigurationWatcher}.
+     */
+    boolean snapshot() default false;
+
+    /**
+     * When enabled, the parsed values of the file are stored in a binary cache next to it. As long as the file does not
+     * change, the values are read from that cache on startup instead of parsing the file again, which pays off for large
+     * files such as message bundles or item definitions.
+     * <p>
+     * Sections are read back from the cache as plain {@link java.util.Map maps} instead of
+     * {@link dev.endoy.configuration.api.ISection sections}. Section fields and the built-in value types handle both,
+     * but a {@link dev.endoy.helpers.common.transform.ValueTransformer} of a section has to accept a map as well.
+     */
+    boolean binaryCache() default false;
+
 }
@@ -0,0 +1,493 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.configuration.api.ISection;
+import dev.endoy.helpers.common.configuration.ConfigurationValues;
+import dev.endoy.helpers.common.configuration.ValueCodecRegistry;
+import dev.endoy.helpers.common.transform.TransformValue;
+import dev.endoy.helpers.common.transform.ValueTransformer;
+import dev.endoy.helpers.common.utils.MemberAccessors;
+import dev.endoy.helpers.common.utils.Utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * The precomputed binding of the {@link Value} fields of a class to a configuration. The full path, the codec
+ * (see {@link ValueCodecRegistry}) and the setter of every field, and the constructors of {@link ConfigurationSection}
+ * fields and of the values of maps of sections, are resolved once when the plan is created. Binding a configuration afterwards is
+ * a loop over the precomputed bindings.
+ */
+final class ConfigurationBindingPlan
+{
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    private static final Map<Class<?>, Supplier<Object>> HANDLE_FACTORIES = Map.of(
+        IntConfigValue.class, () -> new IntConfigValue( 0 ),
+        LongConfigValue.class, () -> new LongConfigValue( 0 ),
+        DoubleConfigValue.class, () -> new DoubleConfigValue( 0 ),
+        BooleanConfigValue.class, () -> new BooleanConfigValue( false )
+    );
+
+    private final Class<?> type;
+    private final Function<Object[], ?> factory;
+    private final Binding[] bindings;
+
+    private ConfigurationBindingPlan( Class<?> type, Function<Object[], ?> factory, Binding[] bindings )
+    {
+        this.type = type;
+        this.factory = factory;
+        this.bindings = bindings;
+    }
+
+    static ConfigurationBindingPlan create( Injector injector, Class<?> clazz )
+    {
+        Function<Object[], ?> factory = clazz.getDeclaredConstructors()[0].getParameterCount() == 0
+            ? createFactory( injector, clazz )
+            : null;
+
+        return new ConfigurationBindingPlan( clazz, factory, createBindings( injector, clazz, "" ) );
+    }
+
+    private static Binding[] createBindings( Injector injector, Class<?> clazz, String prefix )
+    {
+        List<Binding> bindings = new ArrayList<>();
+
+        for ( Field field : clazz.getDeclaredFields() )
+        {
+            if ( !field.isAnnotationPresent( Value.class ) )
+            {
+                continue;
+            }
+
+            Value value = field.getAnnotation( Value.class );
+            String path = prefix + ( value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( field.getName() ) : value.path() );
+            BiConsumer<Object, Object> setter = createSetter( injector, field );
+
+            if ( field.getType().isAnnotationPresent( ConfigurationSection.class ) )
+            {
+                bindings.add( new SectionBinding(
+                    field,
+                    createGetter( field ),
+                    setter,
+                    createFactory( injector, field.getType() ),
+                    createBindings( injector, field.getType(), path + "." )
+                ) );
+            }
+            else if ( getSectionMapType( field ) != null )
+            {
+                Class<?> sectionType = getSectionMapType( field );
+
+                bindings.add( new SectionMapBinding(
+                    field,
+                    path,
+                    createGetter( field ),
+                    setter,
+                    createFactory( injector, sectionType ),
+                    createBindings( injector, sectionType, "" )
+                ) );
+            }
+            else if ( HANDLE_FACTORIES.containsKey( field.getType() ) )
+            {
+                bindings.add( new HandleBinding( field, path, createGetter( field ), setter, HANDLE_FACTORIES.get( field.getType() ) ) );
+            }
+            else
+            {
+                bindings.add( new ValueBinding( field, path, createGetter( field ), setter, createConverter( field ) ) );
+            }
+        }
+
+        return bindings.toArray( new Binding[0] );
+    }
+
+    private static BiConsumer<Object, Object> createSetter( Injector injector, Field field )
+    {
+        BiConsumer<Object, Object> generatedSetter = injector.getGeneratedBindings().getFieldSetter( field );
+
+        if ( generatedSetter != null )
+        {
+            return generatedSetter;
+        }
+
+        MemberAccessors.FieldAccessor fieldAccessor = MemberAccessors.getFieldAccessor( field );
+        return ( instance, value ) ->
+        {
+            try
+            {
+                fieldAccessor.set( instance, value );
+            }
+            catch ( IllegalAccessException e )
+            {
+                throw new FailedInjectionException( e );
+            }
+        };
+    }
+
+    private static Function<Object, Object> createGetter( Field field )
+    {
+        MemberAccessors.FieldAccessor fieldAccessor = MemberAccessors.getFieldAccessor( field );
+        return instance ->
+        {
+            try
+            {
+                return fieldAccessor.get( instance );
+            }
+            catch ( IllegalAccessException e )
+            {
+                throw new FailedInjectionException( e );
+            }
+        };
+    }
+
+    private static Function<Object[], ?> createFactory( Injector injector, Class<?> clazz )
+    {
+        Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
+        Function<Object[], ?> generatedConstructor = injector.getGeneratedBindings().getConstructor( constructor );
+
+        if ( generatedConstructor != null )
+        {
+            return generatedConstructor;
+        }
+
+        constructor.setAccessible( true );
+        return arguments ->
+        {
+            try
+            {
+                return constructor.newInstance( arguments );
+            }
+            catch ( ReflectiveOperationException e )
+            {
+                throw new FailedInjectionException( e );
+            }
+        };
+    }
+
+    private static Function<Object, Object> createConverter( Field field )
+    {
+        ValueTransformer<Object> codec = ValueCodecRegistry.getCodec( field );
+
+        return codec == null ? null : codec::transformFromConfigValue;
+    }
+
+    /**
+     * @return the {@link ConfigurationSection} class of the values of a map field, or null if the field is no such map
+     */
+    private static Class<?> getSectionMapType( Field field )
+    {
+        if ( !Map.class.isAssignableFrom( field.getType() )
+            || field.isAnnotationPresent( TransformValue.class )
+            || !( field.getGenericType() instanceof ParameterizedType parameterizedType )
+            || !( parameterizedType.getActualTypeArguments()[1] instanceof Class<?> valueType ) )
+        {
+            return null;
+        }
+        return valueType.isAnnotationPresent( ConfigurationSection.class ) ? valueType : null;
+    }
+
+    boolean canCreateInstance()
+    {
+        return this.factory != null;
+    }
+
+    /**
+     * Creates a new, unbound instance of the class of this plan through its no-args constructor.
+     *
+     * @return the new instance
+     */
+    Object createInstance()
+    {
+        if ( this.factory == null )
+        {
+            throw new InvalidInjectionContextException( "Class must have a no-args constructor to be created by a configuration reload: " + this.type.getName() );
+        }
+        return this.factory.apply( NO_ARGUMENTS );
+    }
+
+    /**
+     * Binds the values of the given configuration to the {@link Value} fields of the given instance.
+     * Fields of which the value is missing in the configuration keep their current (default) value.
+     *
+     * @param instance the instance to bind to
+     * @param values   the values of the configuration
+     */
+    void bind( Object instance, ConfigurationValues values )
+    {
+        bind( this.bindings, instance, values );
+    }
+
+    private static void bind( Binding[] bindings, Object instance, ConfigurationValues values )
+    {
+        for ( Binding binding : bindings )
+        {
+            binding.bind( instance, values );
+        }
+    }
+
+    /**
+     * Moves the primitive value handles (e.g. {@link IntConfigValue}) of an instance that is about to be replaced to the
+     * instance replacing it, so handles that are held elsewhere keep being updated by reloads.
+     *
+     * @param previous the instance that is replaced
+     * @param instance the new instance, before it is bound
+     */
+    void carryOverHandles( Object previous, Object instance )
+    {
+        for ( Binding binding : this.bindings )
+        {
+            binding.carryOverHandles( previous, instance );
+        }
+    }
+
+    /**
+     * Collects the current field values of the given instance, by their full path. Sections are collected value by value
+     * and handles (e.g. {@link IntConfigValue}) by their current primitive value, so two collections can be compared to
+     * find the values a reload changed.
+     *
+     * @param instance the instance to collect the values of
+     * @return the field values, in declaration order
+     */
+    Map<String, Object> collectValues( Object instance )
+    {
+        Map<String, Object> values = new LinkedHashMap<>();
+        collectValues( this.bindings, instance, values );
+        return values;
+    }
+
+    private static void collectValues( Binding[] bindings, Object instance, Map<String, Object> values )
+    {
+        for ( Binding binding : bindings )
+        {
+            binding.collectValues( instance, values );
+        }
+    }
+
+    private interface Binding
+    {
+
+        void bind( Object instance, ConfigurationValues values );
+
+        void collectValues( Object instance, Map<String, Object> values );
+
+        default void carryOverHandles( Object previous, Object instance )
+        {
+        }
+
+    }
+
+    private record ValueBinding(Field field,
+                                String path,
+                                Function<Object, Object> getter,
+                                BiConsumer<Object, Object> setter,
+                                Function<Object, Object> converter) implements Binding
+    {
+
+        @Override
+        public void bind( Object instance, ConfigurationValues values )
+        {
+            Object configValue = values.get( this.path );
+
+            if ( configValue == null ) // allow default values to flourish
+            {
+                return;
+            }
+
+            this.setter.accept( instance, this.converter == null ? configValue : this.converter.apply( configValue ) );
+        }
+
+        @Override
+        public void collectValues( Object instance, Map<String, Object> values )
+        {
+            values.put( this.path, this.getter.apply( instance ) );
+        }
+    }
+
+    private record SectionMapBinding(Field field,
+                                     String path,
+                                     Function<Object, Object> getter,
+                                     BiConsumer<Object, Object> setter,
+                                     Function<Object[], ?> factory,
+                                     Binding[] bindings) implements Binding
+    {
+
+        @Override
+        public void bind( Object instance, ConfigurationValues values )
+        {
+            Collection<String> keys = getKeys( values.get( this.path ) );
+
+            if ( keys == null )
+            {
+                return;
+            }
+
+            Map<String, Object> sections = new LinkedHashMap<>();
+            for ( String key : keys )
+            {
+                String prefix = this.path + "." + key + ".";
+                Object sectionInstance = this.factory.apply( NO_ARGUMENTS );
+
+                ConfigurationBindingPlan.bind( this.bindings, sectionInstance, relativePath -> values.get( prefix + relativePath ) );
+                sections.put( key, sectionInstance );
+            }
+            this.setter.accept( instance, sections );
+        }
+
+        private static Collection<String> getKeys( Object configValue )
+        {
+            if ( configValue instanceof ISection section )
+            {
+                return section.getKeys();
+            }
+            if ( configValue instanceof Map<?, ?> map ) // a section read from a binary cache
+            {
+                return map.keySet().stream().map( String::valueOf ).toList();
+            }
+            return null;
+        }
+
+        @Override
+        public void collectValues( Object instance, Map<String, Object> values )
+        {
+            if ( !( this.getter.apply( instance ) instanceof Map<?, ?> sections ) )
+            {
+                return;
+            }
+
+            sections.forEach( ( key, sectionInstance ) ->
+            {
+                Map<String, Object> sectionValues = new LinkedHashMap<>();
+
+                ConfigurationBindingPlan.collectValues( this.bindings, sectionInstance, sectionValues );
+                sectionValues.forEach( ( path, value ) -> values.put( this.path + "." + key + "." + path, value ) );
+            } );
+        }
+    }
+
+    private record HandleBinding(Field field,
+                                 String path,
+                                 Function<Object, Object> getter,
+                                 BiConsumer<Object, Object> setter,
+                                 Supplier<Object> handleFactory) implements Binding
+    {
+
+        @Override
+        public void bind( Object instance, ConfigurationValues values )
+        {
+            Object configValue = values.get( this.path );
+
+            if ( configValue == null )
+            {
+                return;
+            }
+
+            Object handle = this.getter.apply( instance );
+            if ( handle == null )
+            {
+                handle = this.handleFactory.get();
+                this.setter.accept( instance, handle );
+            }
+
+            // update the handle in place, the instances holding it read the new value right away
+            if ( handle instanceof IntConfigValue intValue )
+            {
+                intValue.update( configValue );
+            }
+            else if ( handle instanceof LongConfigValue longValue )
+            {
+                longValue.update( configValue );
+            }
+            else if ( handle instanceof DoubleConfigValue doubleValue )
+            {
+                doubleValue.update( configValue );
+            }
+            else if ( handle instanceof BooleanConfigValue booleanValue )
+            {
+                booleanValue.update( configValue );
+            }
+        }
+
+        @Override
+        public void collectValues( Object instance, Map<String, Object> values )
+        {
+            Object handle = this.getter.apply( instance );
+
+            if ( handle instanceof IntSupplier intSupplier )
+            {
+                values.put( this.path, intSupplier.getAsInt() );
+            }
+            else if ( handle instanceof LongSupplier longSupplier )
+            {
+                values.put( this.path, longSupplier.getAsLong() );
+            }
+            else if ( handle instanceof DoubleSupplier doubleSupplier )
+            {
+                values.put( this.path, doubleSupplier.getAsDouble() );
+            }
+            else if ( handle instanceof BooleanSupplier booleanSupplier )
+            {
+                values.put( this.path, booleanSupplier.getAsBoolean() );
+            }
+            else
+            {
+                values.put( this.path, null );
+            }
+        }
+
+        @Override
+        public void carryOverHandles( Object previous, Object instance )
+        {
+            Object handle = this.getter.apply( previous );
+
+            if ( handle != null )
+            {
+                this.setter.accept( instance, handle );
+            }
+        }
+    }
+
+    private record SectionBinding(Field field,
+                                  Function<Object, Object> getter,
+                                  BiConsumer<Object, Object> setter,
+                                  Function<Object[], ?> factory,
+                                  Binding[] bindings) implements Binding
+    {
+
+        @Override
+        public void bind( Object instance, ConfigurationValues values )
+        {
+            Object previousSection = this.getter.apply( instance );
+            Object sectionInstance = this.factory.apply( NO_ARGUMENTS );
+
+            if ( previousSection != null )
+            {
+                for ( Binding binding : this.bindings )
+                {
+                    binding.carryOverHandles( previousSection, sectionInstance );
+                }
+            }
+
+            ConfigurationBindingPlan.bind( this.bindings, sectionInstance, values );
+            this.setter.accept( instance, sectionInstance );
+        }
+
+        @Override
+        public void collectValues( Object instance, Map<String, Object> values )
+        {
+            Object sectionInstance = this.getter.apply( instance );
+
+            if ( sectionInstance != null )
+            {
+                ConfigurationBindingPlan.collectValues( this.bindings, sectionInstance, values );
+            }
+        }
+
+        @Override
+        public void carryOverHandles( Object previous, Object instance )
+        {
+            // the section binding moves the handles of the previous section once the new instance is bound
+            this.setter.accept( instance, this.getter.apply( previous ) );
+        }
+    }
+}
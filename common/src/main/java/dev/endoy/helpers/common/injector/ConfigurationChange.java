@@ -0,0 +1,36 @@
+package dev.endoy.helpers.common.injector;
+
+/**
+ * A value of a {@link Configuration} that changed on reload. The values are the bound field values, so they have the
+ * type of the field (e.g. the enum constant or the transformed value) rather than the raw configuration value.
+ *
+ * @param configurationClass the configuration class
+ * @param path               the full path of the value, e.g. {@code section.max-players}
+ * @param oldValue           the value before the reload, or null if the field had no value
+ * @param newValue           the value after the reload, or null if the field has no value anymore
+ */
+public record ConfigurationChange(Class<?> configurationClass, String path, Object oldValue, Object newValue)
+{
+
+    /**
+     * @param configurationClass the configuration class
+     * @param path               the full path of the value
+     * @return true if this change is for the given value of the given configuration
+     */
+    public boolean is( Class<?> configurationClass, String path )
+    {
+        return this.configurationClass.equals( configurationClass ) && this.path.equals( path );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public <T> T getOldValue()
+    {
+        return (T) this.oldValue;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public <T> T getNewValue()
+    {
+        return (T) this.newValue;
+    }
+}
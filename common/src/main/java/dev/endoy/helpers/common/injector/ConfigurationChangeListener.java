@@ -0,0 +1,14 @@
+package dev.endoy.helpers.common.injector;
+
+/**
+ * Implemented by injectables that want to know which values of a {@link Configuration} changed when it was reloaded,
+ * e.g. to only rebuild the caches that depend on the changed values. Listeners are called on the reloading thread,
+ * once per changed value, after the configuration has been rebound.
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener
+{
+
+    void onConfigChanged( ConfigurationChange change );
+
+}
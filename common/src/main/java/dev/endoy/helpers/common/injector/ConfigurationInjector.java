@@ -2,28 +2,31 @@ package dev.endoy.helpers.common.injector;
 
 import dev.endoy.configuration.api.FileStorageType;
 import dev.endoy.configuration.api.IConfiguration;
-import dev.endoy.configuration.api.ISection;
 import dev.endoy.helpers.common.EndoyApplication;
-import dev.endoy.helpers.common.configuration.ValueTransformerRegistry;
-import dev.endoy.helpers.common.transform.TransformValue;
-import dev.endoy.helpers.common.transform.ValueTransformer;
-import dev.endoy.helpers.common.utils.ReflectionUtils;
+import dev.endoy.helpers.common.logger.Logger;
 import dev.endoy.helpers.common.utils.Utils;
 import lombok.RequiredArgsConstructor;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.io.File;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RequiredArgsConstructor
 public class ConfigurationInjector
 {
 
+    private static final Logger LOGGER = Logger.forClass( ConfigurationInjector.class );
+    // a listener failing on every reload of a frequently changed file would otherwise flood the console
+    private static final Logger LISTENER_LOGGER = LOGGER.rateLimited( 1, Duration.ofSeconds( 10 ) );
+
     private final Injector injector;
     private final EndoyApplication endoyApplication;
+    private final Map<Class<?>, ConfigurationBindingPlan> bindingPlans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ConfigurationSnapshot<?>> snapshots = new ConcurrentHashMap<>();
+    private final Set<Class<?>> skippedConfigurations = ConcurrentHashMap.newKeySet();
 
     public static ConfigurationInjector forInjector( Injector injector, EndoyApplication endoyApplication )
     {
@@ -41,21 +44,181 @@ public class ConfigurationInjector
                     configurationAnnotation.filePath()
                 );
 
-                this.injectConfigurationFields(
-                    instance.getClass(),
-                    instance,
-                    configuration,
-                    ""
-                );
+                this.rebind( instance, configuration );
             } );
     }
 
+    /**
+     * Reloads the configuration file at the given path and rebinds the {@link Configuration#snapshot() snapshot}
+     * injectables that are bound to that file. The file is loaded into a new configuration before anything is rebound,
+     * so a file that cannot be loaded leaves the injectables untouched.
+     * <p>
+     * Other configurations are not rebound, as they would be changed field by field while they may be read. They are
+     * only reloaded by {@link #reloadConfigurations()}. A file that did not change since it was last loaded or written,
+     * e.g. because the application saved it, is not reloaded either.
+     *
+     * @param file the configuration file that changed
+     * @return true if the file belongs to a snapshot {@link Configuration} injectable and was reloaded
+     */
+    public boolean reloadConfiguration( Path file )
+    {
+        Path changedFile = file.toAbsolutePath().normalize();
+        List<Object> instances = new ArrayList<>();
+
+        for ( Object instance : this.injector.getInjectablesOfType( Configuration.class ) )
+        {
+            Configuration configurationAnnotation = instance.getClass().getAnnotation( Configuration.class );
+
+            if ( !this.getConfigurationFile( configurationAnnotation ).equals( changedFile ) )
+            {
+                continue;
+            }
+
+            if ( configurationAnnotation.snapshot() )
+            {
+                instances.add( instance );
+            }
+            else if ( this.skippedConfigurations.add( instance.getClass() ) )
+            {
+                LOGGER.warn( "Not reloading " + instance.getClass().getName() + " after its file changed, only configurations "
+                    + "with @Configuration(snapshot = true) are reloaded while the application is running" );
+            }
+        }
+
+        if ( instances.isEmpty() )
+        {
+            return false;
+        }
+
+        Configuration configurationAnnotation = instances.get( 0 ).getClass().getAnnotation( Configuration.class );
+        if ( !endoyApplication.getConfigurationManager().hasChanged( configurationAnnotation.filePath() ) )
+        {
+            return false;
+        }
+
+        IConfiguration configuration = endoyApplication.getConfigurationManager().reloadAndReplace(
+            configurationAnnotation.fileType(),
+            configurationAnnotation.filePath()
+        );
+
+        instances.forEach( instance -> this.rebind( instance, configuration ) );
+        return true;
+    }
+
+    /**
+     * Returns the snapshot holder of a {@link Configuration} class, which always holds the latest bound instance.
+     *
+     * @param type the configuration class
+     * @param <T>  the type of the configuration
+     * @return the snapshot holder of the configuration
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> ConfigurationSnapshot<T> getSnapshot( Class<T> type )
+    {
+        if ( !type.isAnnotationPresent( Configuration.class ) )
+        {
+            throw new InvalidInjectionContextException( "ConfigurationSnapshot can only hold a @Configuration class: " + type.getName() );
+        }
+
+        return (ConfigurationSnapshot<T>) this.snapshots.computeIfAbsent( type, key ->
+        {
+            T instance = this.injector.getInjectableInstance( type );
+
+            if ( instance == null )
+            {
+                throw new InvalidInjectionContextException( "Configuration has not been initialized: " + type.getName() );
+            }
+            return new ConfigurationSnapshot<>( type, instance );
+        } );
+    }
+
+    private void rebind( Object instance, IConfiguration configuration )
+    {
+        Class<?> clazz = instance.getClass();
+        ConfigurationBindingPlan bindingPlan = this.getBindingPlan( clazz );
+        Map<String, Object> previousValues = bindingPlan.collectValues( instance );
+
+        if ( !clazz.getAnnotation( Configuration.class ).snapshot() )
+        {
+            bindingPlan.bind( instance, configuration::get );
+            this.publishChanges( clazz, previousValues, bindingPlan.collectValues( instance ) );
+            return;
+        }
+
+        // never touch an instance that may be read already, bind a new one and publish it once it is complete
+        Object snapshot = bindingPlan.createInstance();
+
+        bindingPlan.carryOverHandles( instance, snapshot );
+        bindingPlan.bind( snapshot, configuration::get );
+        this.injector.registerInjectable( clazz, snapshot );
+
+        ConfigurationSnapshot<?> configurationSnapshot = this.snapshots.get( clazz );
+        if ( configurationSnapshot != null )
+        {
+            configurationSnapshot.publish( snapshot );
+        }
+        this.publishChanges( clazz, previousValues, bindingPlan.collectValues( snapshot ) );
+    }
+
+    /**
+     * Notifies all {@link ConfigurationChangeListener} injectables of the values that differ between the given values.
+     */
+    private void publishChanges( Class<?> clazz, Map<String, Object> previousValues, Map<String, Object> values )
+    {
+        List<ConfigurationChangeListener> listeners = this.injector.getInjectablesImplementing( ConfigurationChangeListener.class );
+
+        if ( listeners.isEmpty() )
+        {
+            return;
+        }
+
+        // paths can also disappear, e.g. the entries of a map of sections that were removed from the file
+        Set<String> paths = new LinkedHashSet<>( values.keySet() );
+        paths.addAll( previousValues.keySet() );
+
+        for ( String path : paths )
+        {
+            Object previousValue = previousValues.get( path );
+            Object value = values.get( path );
+
+            if ( Objects.equals( previousValue, value ) )
+            {
+                continue;
+            }
+
+            ConfigurationChange change = new ConfigurationChange( clazz, path, previousValue, value );
+            for ( ConfigurationChangeListener listener : listeners )
+            {
+                try
+                {
+                    listener.onConfigChanged( change );
+                }
+                catch ( RuntimeException e )
+                {
+                    LISTENER_LOGGER.error( "Configuration change listener " + listener.getClass().getName() + " failed for " + path, e );
+                }
+            }
+        }
+    }
+
+    private Path getConfigurationFile( Configuration configuration )
+    {
+        return new File( endoyApplication.getDataFolder(), configuration.filePath() ).toPath().toAbsolutePath().normalize();
+    }
+
     void inject()
     {
         this.injector.initializeInjectablesOfType(
             Configuration.class,
             configurations -> configurations.forEach( configuration ->
                 {
+                    if ( configuration.annotation().snapshot() && !this.getBindingPlan( configuration.instance().getClass() ).canCreateInstance() )
+                    {
+                        throw new InvalidInjectionContextException(
+                            "Snapshot configurations must have a no-args constructor: " + configuration.instance().getClass().getName()
+                        );
+                    }
+
                     endoyApplication.getConfigurationManager().createDefault( configuration.instance().getClass() );
 
                     this.injectConfigurationFields(
@@ -70,12 +233,7 @@ public class ConfigurationInjector
 
     void injectConfigurationFields( Class<?> clazz, Object instance, Configuration configuration )
     {
-        this.injectConfigurationFields(
-            clazz,
-            instance,
-            endoyApplication.getConfigurationManager().getOrLoadConfig( configuration.fileType(), configuration.filePath() ),
-            ""
-        );
+        this.getBindingPlan( clazz ).bind( instance, endoyApplication.getConfigurationManager().getValues( clazz ) );
     }
 
     void injectConfigurationFields( Class<?> clazz, Object instance )
@@ -87,53 +245,30 @@ public class ConfigurationInjector
         this.injectConfigurationFields(
             clazz,
             instance,
-            endoyApplication.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "config.yml" ),
-            ""
+            endoyApplication.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "config.yml" )
         );
     }
 
-    private void injectConfigurationFields( Class<?> clazz, Object instance, IConfiguration configuration, String prefix )
+    /**
+     * Binds the values of the given configuration to the {@link Value} fields of the given instance.
+     * The fields of a class are resolved once, every next bind reuses the binding plan of the class.
+     *
+     * @param instance      the instance to bind the values to
+     * @param configuration the configuration to read the values from
+     */
+    public void bind( Object instance, IConfiguration configuration )
     {
-        Arrays.stream( clazz.getDeclaredFields() )
-            .filter( field -> field.isAnnotationPresent( Value.class ) )
-            .forEach( field ->
-            {
-                try
-                {
-                    Value value = field.getAnnotation( Value.class );
-
-                    if ( field.getType().isAnnotationPresent( ConfigurationSection.class ) )
-                    {
-                        Class<?> fieldClass = field.getType();
-                        Object fieldInstance = fieldClass.getDeclaredConstructors()[0].newInstance();
-
-                        injectConfigurationFields(
-                            field.getType(),
-                            fieldInstance,
-                            configuration,
-                            prefix + ( value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( field.getName() ) : value.path() ) + "."
-                        );
-
-                        ReflectionUtils.setFieldValue( field, instance, fieldInstance );
-                    }
-                    else if ( field.isAnnotationPresent( Value.class ) )
-                    {
-                        Object configValue = getConfigurationValue( configuration, prefix, field.getName(), value );
+        this.injectConfigurationFields( instance.getClass(), instance, configuration );
+    }
 
-                        if ( configValue == null ) // allow default values to flourish
-                        {
-                            return;
-                        }
+    private void injectConfigurationFields( Class<?> clazz, Object instance, IConfiguration configuration )
+    {
+        this.getBindingPlan( clazz ).bind( instance, configuration::get );
+    }
 
-                        this.setConfigurationValue( field, instance, configValue );
-                    }
-                }
-                catch ( InstantiationException | InvocationTargetException | IllegalAccessException |
-                        NoSuchMethodException e )
-                {
-                    throw new FailedInjectionException( e );
-                }
-            } );
+    private ConfigurationBindingPlan getBindingPlan( Class<?> clazz )
+    {
+        return this.bindingPlans.computeIfAbsent( clazz, key -> ConfigurationBindingPlan.create( this.injector, key ) );
     }
 
     public Object getConfigurationValue( Parameter parameter, Value value )
@@ -150,32 +285,4 @@ public class ConfigurationInjector
     {
         return configuration.get( prefix + ( value.path().isEmpty() ? Utils.convertCamelCaseToDashNotation( name ) : value.path() ) );
     }
-
-    private void setConfigurationValue( Field field, Object instance, Object configValue ) throws IllegalAccessException, NoSuchMethodException, InvocationTargetException, InstantiationException
-    {
-        if ( field.getType().isEnum() )
-        {
-            configValue = Enum.valueOf( (Class<Enum>) field.getType(), String.valueOf( configValue ) );
-        }
-        else if ( Map.class.isAssignableFrom( field.getType() ) && configValue instanceof ISection section )
-        {
-            Map<String, Object> mapInstance = field.getType().isInterface() ? new HashMap<>() : (Map<String, Object>) field.getType().getDeclaredConstructor().newInstance();
-
-            for ( String key : section.getKeys() )
-            {
-                mapInstance.put( key, section.get( key ) );
-            }
-
-            configValue = mapInstance;
-        }
-        else if ( field.isAnnotationPresent( TransformValue.class ) )
-        {
-            TransformValue transformValue = field.getAnnotation( TransformValue.class );
-            ValueTransformer<?> transformer = ValueTransformerRegistry.getOrCreateValueTransformer( transformValue.value() );
-
-            configValue = transformer.transformFromConfigValue( configValue );
-        }
-
-        ReflectionUtils.setFieldValue( field, instance, configValue );
-    }
 }
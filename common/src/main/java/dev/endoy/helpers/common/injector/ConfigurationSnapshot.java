@@ -0,0 +1,41 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the current instance of a {@link Configuration} class. With {@link Configuration#snapshot()} enabled, a reload
+ * binds the new values into a new instance and only then publishes that instance here, so {@link #get()} always returns a
+ * fully bound instance without locking, and an instance that was obtained before keeps its values.
+ * <p>
+ * Inject a {@code ConfigurationSnapshot<MyConfiguration>} instead of {@code MyConfiguration} to always read the latest values.
+ *
+ * @param <T> the type of the configuration
+ */
+public final class ConfigurationSnapshot<T> implements Supplier<T>
+{
+
+    private final Class<T> type;
+    private volatile T current;
+
+    ConfigurationSnapshot( Class<T> type, T current )
+    {
+        this.type = type;
+        this.current = current;
+    }
+
+    @Override
+    public T get()
+    {
+        return this.current;
+    }
+
+    public Class<T> getType()
+    {
+        return this.type;
+    }
+
+    void publish( Object instance )
+    {
+        this.current = this.type.cast( instance );
+    }
+}
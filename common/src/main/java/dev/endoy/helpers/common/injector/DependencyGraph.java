@@ -0,0 +1,120 @@
+package dev.endoy.helpers.common.injector;
+
+import java.lang.reflect.Executable;
+import java.util.*;
+
+/**
+ * The dependency graph of all injectables of an {@link Injector}. Nodes are added in topological order (every node is
+ * added after its dependencies) and are assigned a layer: a node only depends on nodes of lower layers,
+ * so all nodes of the same layer can be created independently of each other.
+ */
+class DependencyGraph
+{
+
+    private final Map<Object, Node> nodes = new LinkedHashMap<>();
+    private final Set<Object> visiting = new HashSet<>();
+
+    Node getNode( Object key )
+    {
+        return this.nodes.get( key );
+    }
+
+    /**
+     * Marks the given key as being resolved. Resolving a key that is already being resolved means the key
+     * (indirectly) depends on itself.
+     *
+     * @param key   the key of the node that is being resolved
+     * @param clazz the class the node creates, used for the exception message
+     */
+    void startResolving( Object key, Class<?> clazz )
+    {
+        if ( !this.visiting.add( key ) )
+        {
+            throw new CircularDependencyException( "Circular dependency detected: " + clazz.getName() );
+        }
+    }
+
+    void cancelResolving( Object key )
+    {
+        this.visiting.remove( key );
+    }
+
+    Node addNode( Object key, Class<?> type, Executable executable, Node owner, List<Node> dependencies )
+    {
+        this.visiting.remove( key );
+
+        int layer = owner == null ? 0 : owner.layer + 1;
+        for ( Node dependency : dependencies )
+        {
+            if ( dependency != null )
+            {
+                layer = Math.max( layer, dependency.layer + 1 );
+            }
+        }
+
+        Node node = new Node( type, executable, owner, dependencies, layer );
+        this.nodes.put( key, node );
+        return node;
+    }
+
+    /**
+     * @return the nodes that have not been created yet, grouped by layer and ordered by the order they were added in
+     */
+    List<List<Node>> getPendingLayers()
+    {
+        List<List<Node>> layers = new ArrayList<>();
+
+        for ( Node node : this.nodes.values() )
+        {
+            if ( node.isCreated() )
+            {
+                continue;
+            }
+            while ( layers.size() <= node.layer )
+            {
+                layers.add( new ArrayList<>() );
+            }
+            layers.get( node.layer ).add( node );
+        }
+
+        layers.removeIf( List::isEmpty );
+        return layers;
+    }
+
+    static final class Node
+    {
+
+        final Class<?> type;
+        final Executable executable;
+        final Node owner;
+        final List<Node> dependencies;
+        final int layer;
+        private volatile boolean created;
+        private volatile Object instance;
+
+        private Node( Class<?> type, Executable executable, Node owner, List<Node> dependencies, int layer )
+        {
+            this.type = type;
+            this.executable = executable;
+            this.owner = owner;
+            this.dependencies = dependencies;
+            this.layer = layer;
+        }
+
+        boolean isCreated()
+        {
+            return this.created;
+        }
+
+        Object getInstance()
+        {
+            return this.instance;
+        }
+
+        void setInstance( Object instance )
+        {
+            this.instance = instance;
+            this.created = true;
+        }
+    }
+}
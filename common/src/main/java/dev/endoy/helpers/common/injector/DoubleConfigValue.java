@@ -0,0 +1,39 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * The double counterpart of {@link IntConfigValue}.
+ */
+public final class DoubleConfigValue implements DoubleSupplier
+{
+
+    private volatile double value;
+
+    public DoubleConfigValue( double value )
+    {
+        this.value = value;
+    }
+
+    public double get()
+    {
+        return this.value;
+    }
+
+    @Override
+    public double getAsDouble()
+    {
+        return this.value;
+    }
+
+    void update( Object configValue )
+    {
+        this.value = configValue instanceof Number number ? number.doubleValue() : Double.parseDouble( String.valueOf( configValue ) );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf( this.value );
+    }
+}
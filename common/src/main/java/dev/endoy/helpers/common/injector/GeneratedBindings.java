@@ -0,0 +1,161 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The constructors, fields and methods registered by the {@link InjectorModule}s that were generated for a package.
+ * Members that are not registered (for example private fields) are accessed through reflection instead.
+ */
+public final class GeneratedBindings
+{
+
+    public static final String INDEX_LOCATION = "META-INF/endoy-helpers/injector-modules.index";
+
+    private static final Logger LOGGER = Logger.forClass( GeneratedBindings.class );
+    private static final GeneratedBindings EMPTY = new GeneratedBindings();
+
+    private final Map<Class<?>, ConstructorBinding> constructors = new HashMap<>();
+    private final Map<MemberKey, BiConsumer<Object, Object>> fieldSetters = new HashMap<>();
+    private final Map<MemberKey, Consumer<Object>> methodInvokers = new HashMap<>();
+
+    GeneratedBindings()
+    {
+    }
+
+    /**
+     * Loads the generated modules of which the package overlaps with the package of the given class.
+     *
+     * @param starterClass the class to load the modules for
+     * @return the bindings of the modules, empty if no modules were generated
+     */
+    static GeneratedBindings load( Class<?> starterClass )
+    {
+        ClassLoader classLoader = starterClass.getClassLoader();
+        if ( classLoader == null )
+        {
+            return EMPTY;
+        }
+
+        GeneratedBindings bindings = null;
+
+        try
+        {
+            Enumeration<URL> resources = classLoader.getResources( INDEX_LOCATION );
+
+            while ( resources.hasMoreElements() )
+            {
+                URL resource = resources.nextElement();
+
+                try ( BufferedReader reader = new BufferedReader( new InputStreamReader( resource.openStream(), StandardCharsets.UTF_8 ) ) )
+                {
+                    String line;
+                    while ( ( line = reader.readLine() ) != null )
+                    {
+                        line = line.trim();
+
+                        if ( line.isEmpty() || line.startsWith( "#" ) || !isRelated( starterClass.getPackageName(), line ) )
+                        {
+                            continue;
+                        }
+
+                        if ( bindings == null )
+                        {
+                            bindings = new GeneratedBindings();
+                        }
+
+                        InjectorModule module = (InjectorModule) Class.forName( line, true, classLoader ).getDeclaredConstructor().newInstance();
+                        module.register( bindings );
+                    }
+                }
+            }
+        }
+        catch ( IOException | ReflectiveOperationException | ClassCastException | LinkageError e )
+        {
+            LOGGER.error( "Failed to load generated injector modules for package: " + starterClass.getPackageName(), e );
+            return EMPTY;
+        }
+
+        return bindings == null ? EMPTY : bindings;
+    }
+
+    private static boolean isRelated( String packageName, String moduleClassName )
+    {
+        int index = moduleClassName.lastIndexOf( '.' );
+        String modulePackage = index < 0 ? "" : moduleClassName.substring( 0, index );
+
+        return isSameOrSubPackage( packageName, modulePackage ) || isSameOrSubPackage( modulePackage, packageName );
+    }
+
+    private static boolean isSameOrSubPackage( String packageName, String parentPackage )
+    {
+        return parentPackage.isEmpty() || packageName.equals( parentPackage ) || packageName.startsWith( parentPackage + "." );
+    }
+
+    public <T> void constructor( Class<T> type, Class<?>[] parameterTypes, Function<Object[], ? extends T> factory )
+    {
+        this.constructors.put( type, new ConstructorBinding( parameterTypes, factory ) );
+    }
+
+    public void field( Class<?> type, String name, BiConsumer<Object, Object> setter )
+    {
+        this.fieldSetters.put( new MemberKey( type, name ), setter );
+    }
+
+    public void method( Class<?> type, String name, Consumer<Object> invoker )
+    {
+        this.methodInvokers.put( new MemberKey( type, name ), invoker );
+    }
+
+    /**
+     * @return the generated factory for the given constructor, or null if the generated factory does not call the same
+     * constructor (e.g. because the class changed without being recompiled)
+     */
+    Function<Object[], ?> getConstructor( Constructor<?> constructor )
+    {
+        ConstructorBinding binding = this.constructors.get( constructor.getDeclaringClass() );
+
+        if ( binding == null || !Arrays.equals( binding.parameterTypes(), constructor.getParameterTypes() ) )
+        {
+            return null;
+        }
+        return binding.factory();
+    }
+
+    BiConsumer<Object, Object> getFieldSetter( Field field )
+    {
+        return this.fieldSetters.get( new MemberKey( field.getDeclaringClass(), field.getName() ) );
+    }
+
+    Consumer<Object> getMethodInvoker( Method method )
+    {
+        if ( method.getParameterCount() != 0 )
+        {
+            return null;
+        }
+        return this.methodInvokers.get( new MemberKey( method.getDeclaringClass(), method.getName() ) );
+    }
+
+    private record ConstructorBinding(Class<?>[] parameterTypes, Function<Object[], ?> factory)
+    {
+    }
+
+    private record MemberKey(Class<?> type, String name)
+    {
+    }
+}
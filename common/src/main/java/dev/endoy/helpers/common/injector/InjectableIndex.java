@@ -0,0 +1,112 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.logger.Logger;
+import dev.endoy.helpers.common.utils.ClassMetadata;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads the index that is written at compile time by the endoy-helpers annotation processor.
+ * When this index is present, {@link dev.endoy.helpers.common.utils.ClassScanResult#scan(Class)} uses it instead of
+ * scanning the classpath.
+ */
+public class InjectableIndex
+{
+
+    public static final String INDEX_LOCATION = "META-INF/endoy-helpers/injectables.index";
+
+    private static final Logger LOGGER = Logger.forClass( InjectableIndex.class );
+
+    private final List<ClassMetadata> indexedClasses;
+
+    private InjectableIndex( List<ClassMetadata> indexedClasses )
+    {
+        this.indexedClasses = indexedClasses;
+    }
+
+    /**
+     * Loads the index entries that belong to the package (and subpackages) of the given class.
+     *
+     * @param starterClass the class to load the index for
+     * @return the index, or an empty optional if no index was generated for this package
+     */
+    public static Optional<InjectableIndex> load( Class<?> starterClass )
+    {
+        ClassLoader classLoader = starterClass.getClassLoader();
+        if ( classLoader == null )
+        {
+            return Optional.empty();
+        }
+
+        String packagePrefix = starterClass.getPackageName().isEmpty() ? "" : starterClass.getPackageName() + ".";
+        List<ClassMetadata> indexedClasses = new ArrayList<>();
+
+        try
+        {
+            Enumeration<URL> resources = classLoader.getResources( INDEX_LOCATION );
+
+            while ( resources.hasMoreElements() )
+            {
+                URL resource = resources.nextElement();
+
+                try ( BufferedReader reader = new BufferedReader( new InputStreamReader( resource.openStream(), StandardCharsets.UTF_8 ) ) )
+                {
+                    String line;
+                    while ( ( line = reader.readLine() ) != null )
+                    {
+                        if ( line.isBlank() || line.startsWith( "#" ) )
+                        {
+                            continue;
+                        }
+
+                        ClassMetadata indexedClass = parse( line );
+                        if ( indexedClass.className().startsWith( packagePrefix ) )
+                        {
+                            indexedClasses.add( indexedClass );
+                        }
+                    }
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            LOGGER.error( "Failed to read injectable index for package: " + starterClass.getPackageName(), e );
+            return Optional.empty();
+        }
+
+        if ( indexedClasses.isEmpty() )
+        {
+            return Optional.empty();
+        }
+
+        indexedClasses.sort( Comparator.comparing( ClassMetadata::simpleName ) );
+
+        return Optional.of( new InjectableIndex( indexedClasses ) );
+    }
+
+    public List<ClassMetadata> getIndexedClasses()
+    {
+        return this.indexedClasses;
+    }
+
+    private static ClassMetadata parse( String line )
+    {
+        String[] parts = line.split( ";", -1 );
+
+        return new ClassMetadata(
+            parts[0],
+            parseNames( parts.length > 1 ? parts[1] : "" ),
+            parseNames( parts.length > 2 ? parts[2] : "" )
+        );
+    }
+
+    private static Set<String> parseNames( String names )
+    {
+        return names.isEmpty() ? Set.of() : Set.of( names.split( "," ) );
+    }
+}
@@ -0,0 +1,39 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.Function;
+
+/**
+ * The {@link Provider} that is injected for {@link Provider} and {@link java.util.function.Supplier} injection points.
+ */
+class InjectableProvider<T> implements Provider<T>
+{
+
+    private final Function<Class<T>, T> lookup;
+    private final Class<T> type;
+    private volatile T instance;
+
+    InjectableProvider( Function<Class<T>, T> lookup, Class<T> type )
+    {
+        this.lookup = lookup;
+        this.type = type;
+    }
+
+    @Override
+    public T get()
+    {
+        T instance = this.instance;
+
+        if ( instance == null )
+        {
+            instance = this.lookup.apply( this.type );
+
+            if ( instance == null )
+            {
+                throw new InvalidInjectionContextException( "No injectable could be provided for type: " + this.type.getName() );
+            }
+            this.instance = instance;
+        }
+
+        return instance;
+    }
+}
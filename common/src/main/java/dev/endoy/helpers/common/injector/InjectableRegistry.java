@@ -0,0 +1,139 @@
+package dev.endoy.helpers.common.injector;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the instances of an {@link Injector}. Every instance is indexed under its class, all of its superclasses and
+ * all of its (super)interfaces, and under the annotations present on those types, so looking up all instances of a type
+ * or with an annotation is a single map lookup.
+ */
+class InjectableRegistry
+{
+
+    private static final ClassValue<List<Class<?>>> SUPER_TYPES = new ClassValue<>()
+    {
+        @Override
+        protected List<Class<?>> computeValue( Class<?> type )
+        {
+            Set<Class<?>> superTypes = new LinkedHashSet<>();
+            collectSuperTypes( type, superTypes );
+            return List.copyOf( superTypes );
+        }
+    };
+
+    private final Map<Class<?>, Object> injectables = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Object>> injectablesByType = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Annotation>, List<Object>> injectablesByAnnotation = new ConcurrentHashMap<>();
+
+    private static void collectSuperTypes( Class<?> type, Set<Class<?>> superTypes )
+    {
+        Class<?> superClass = type.getSuperclass();
+
+        if ( superClass != null && !superClass.equals( Object.class ) && superTypes.add( superClass ) )
+        {
+            collectSuperTypes( superClass, superTypes );
+        }
+        for ( Class<?> interfaze : type.getInterfaces() )
+        {
+            if ( superTypes.add( interfaze ) )
+            {
+                collectSuperTypes( interfaze, superTypes );
+            }
+        }
+    }
+
+    /**
+     * Registers an instance under the given class. The instance is also registered under all supertypes of the class,
+     * unless another instance was registered under such a supertype already: the first registered implementation wins.
+     * An instance that replaces the instance of the class takes over all registrations of the replaced instance.
+     *
+     * @param clazz    the class to register the instance under
+     * @param instance the instance to register
+     */
+    synchronized void register( Class<?> clazz, Object instance )
+    {
+        Object previous = this.injectables.put( clazz, instance );
+
+        for ( Class<?> superType : SUPER_TYPES.get( clazz ) )
+        {
+            // an instance that replaces another one also replaces it under the supertypes the previous one was registered under
+            if ( previous == null || !this.injectables.replace( superType, previous, instance ) )
+            {
+                this.injectables.putIfAbsent( superType, instance );
+            }
+        }
+
+        if ( previous != null && previous != instance && !this.injectables.containsValue( previous ) )
+        {
+            this.injectablesByType.values().forEach( instances -> instances.remove( previous ) );
+            this.injectablesByAnnotation.values().forEach( instances -> instances.remove( previous ) );
+        }
+
+        this.index( clazz, instance );
+        for ( Class<?> superType : SUPER_TYPES.get( clazz ) )
+        {
+            this.index( superType, instance );
+        }
+    }
+
+    private void index( Class<?> type, Object instance )
+    {
+        addIfAbsent( this.injectablesByType.computeIfAbsent( type, key -> new CopyOnWriteArrayList<>() ), instance );
+
+        for ( Annotation annotation : type.getDeclaredAnnotations() )
+        {
+            addIfAbsent( this.injectablesByAnnotation.computeIfAbsent( annotation.annotationType(), key -> new CopyOnWriteArrayList<>() ), instance );
+        }
+    }
+
+    private static void addIfAbsent( List<Object> instances, Object instance )
+    {
+        for ( Object registered : instances )
+        {
+            if ( registered == instance )
+            {
+                return;
+            }
+        }
+        instances.add( instance );
+    }
+
+    Object get( Class<?> clazz )
+    {
+        return this.injectables.get( clazz );
+    }
+
+    boolean containsKey( Class<?> clazz )
+    {
+        return this.injectables.containsKey( clazz );
+    }
+
+    /**
+     * @return all distinct instances that are assignable to the given type, in the order they were registered in
+     */
+    @SuppressWarnings( "unchecked" )
+    <T> List<T> getAllOfType( Class<T> type )
+    {
+        return (List<T>) List.copyOf( this.injectablesByType.getOrDefault( type, List.of() ) );
+    }
+
+    /**
+     * @return all distinct instances of which the class (or one of its supertypes) is annotated with the given annotation,
+     * in the order they were registered in
+     */
+    List<Object> getAllAnnotatedWith( Class<? extends Annotation> annotation )
+    {
+        return List.copyOf( this.injectablesByAnnotation.getOrDefault( annotation, List.of() ) );
+    }
+
+    /**
+     * @return a copy of all registrations, by the class they are registered under
+     */
+    Map<Class<?>, Object> snapshot()
+    {
+        return new HashMap<>( this.injectables );
+    }
+}
@@ -1,31 +1,77 @@
 package dev.endoy.helpers.common.injector;
 
+import dev.endoy.configuration.api.FileStorageType;
 import dev.endoy.configuration.api.IConfiguration;
 import dev.endoy.helpers.common.EndoyApplication;
 import dev.endoy.helpers.common.command.CommandManager;
 import dev.endoy.helpers.common.command.SimpleTabComplete;
+import dev.endoy.helpers.common.logger.LogRateLimiter;
+import dev.endoy.helpers.common.logger.Logger;
+import dev.endoy.helpers.common.startup.StartupProfiler;
+import dev.endoy.helpers.common.startup.StartupReport;
+import dev.endoy.helpers.common.task.SuppressedTaskFailureException;
 import dev.endoy.helpers.common.task.TaskExecutionException;
+import dev.endoy.helpers.common.task.TaskMetrics;
+import dev.endoy.helpers.common.utils.ClassScanResult;
+import dev.endoy.helpers.common.utils.MemberAccessors;
 import dev.endoy.helpers.common.utils.ReflectionUtils;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class Injector
 {
 
+    private static final Logger LOGGER = Logger.forClass( Injector.class );
+    // a task failing on every run is only reported once per window, the other failures are counted
+    private static final LogRateLimiter TASK_FAILURES = new LogRateLimiter( 1, Duration.ofSeconds( 10 ) );
+
     private final Class<?> currentClass;
-    private final Map<Class<?>, Object> injectables = new ConcurrentHashMap<>();
+    private ClassScanResult scanResult;
+    private GeneratedBindings generatedBindings;
+    private final InjectableRegistry injectables = new InjectableRegistry();
     @Getter
     private final ConfigurationInjector configurationInjector;
     private final EndoyApplication endoyApplication;
+    private final DependencyGraph dependencyGraph = new DependencyGraph();
+    private final Map<Class<?>, DependencyGraph.Node> resolvedNodes = new HashMap<>();
+    private final Map<Class<? extends Annotation>, List<Class<?>>> candidates = new HashMap<>();
+    private List<Method> beanMethods;
+    private final Map<String, ScopePlan> scopePlans = new ConcurrentHashMap<>();
+    /**
+     * When enabled, injectables that do not depend on each other are created in parallel on a ForkJoinPool.
+     * Only enable this if the constructors of your injectables are thread-safe (e.g. they do not call server APIs that
+     * must be called from the main thread) and do not request {@link Lazy} injectables: a constructor that requests an
+     * injectable that does not exist yet fails with an {@link InvalidInjectionContextException}.
+     */
+    @Setter
+    private boolean parallelInitialization;
+    private final Object lock = new Object();
+    @Getter
+    private final StartupProfiler startupProfiler = new StartupProfiler();
+    private boolean postProcessing;
+    private volatile boolean initializingInjectables;
 
     public Injector( Class<?> clazz, EndoyApplication endoyApplication )
     {
@@ -46,102 +92,177 @@ public class Injector
             throw new IllegalArgumentException( "Instance cannot be null" );
         }
 
-        this.injectables.put( clazz, instance );
+        this.injectables.register( clazz, instance );
+    }
+
+    /**
+     * Gets the instance of an injectable. {@link Lazy} injectables are created (only once) when they are first requested.
+     *
+     * @param injectableClass the class of the injectable
+     * @param <T>             the type of the injectable
+     * @return the instance of the injectable, or null if there is no injectable for the given class
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T getInjectableInstance( Class<T> injectableClass )
+    {
+        Object instance = this.injectables.get( injectableClass );
+        boolean initializationThread = this.isInitializationThread();
+
+        // while injectables are being initialized, wait for them to be fully initialized before handing them out,
+        // except on a thread that creates injectables in parallel: the thread it would wait for is waiting for it
+        if ( instance != null && ( !this.initializingInjectables || initializationThread ) )
+        {
+            return (T) instance;
+        }
+        if ( initializationThread )
+        {
+            throw new InvalidInjectionContextException(
+                "Cannot request " + injectableClass.getName() + " while injectables are created in parallel, "
+                    + "inject it into the constructor or disable parallel initialization"
+            );
+        }
 
-        while ( clazz.getSuperclass() != null && !clazz.getSuperclass().equals( Object.class ) )
+        synchronized ( this.lock )
         {
-            clazz = clazz.getSuperclass();
+            instance = this.injectables.get( injectableClass );
 
-            if ( !this.injectables.containsKey( clazz ) )
+            if ( instance == null )
             {
-                this.injectables.put( clazz, instance );
+                Class<?> lazyClass = this.getLazyInjectableClass( injectableClass );
+
+                if ( lazyClass != null )
+                {
+                    instance = this.initializeInjectable( lazyClass );
+                }
             }
+
+            return (T) instance;
         }
+    }
 
-        for ( Class<?> interfaze : clazz.getInterfaces() )
+    public void inject()
+    {
+        synchronized ( this.lock )
         {
-            if ( !this.injectables.containsKey( interfaze ) )
+            this.runPhase( "validateInjectableConstructors", this::validateInjectableConstructors );
+
+            this.runPhase( "loadConfigurations", this::loadConfigurations );
+            this.runPhase( "initializeConfigurations", this.configurationInjector::inject );
+            this.runPhase( "initializeInjectables", () -> this.initializeInjectablesOfTypes(
+                List.of( Beans.class, Command.class, Listeners.class, Component.class, Manager.class, Service.class )
+            ) );
+            this.runPhase( "initializeCommands", this::initializeCommands );
+            this.runPhase( "initializeListeners", this::initializeListeners );
+
+            // injectables that are created from here on (e.g. lazy injectables) are initialized as soon as they are created
+            Map<Class<?>, Object> createdInjectables = this.injectables.snapshot();
+            this.postProcessing = true;
+            this.initializingInjectables = true;
+
+            try
             {
-                this.injectables.put( interfaze, instance );
+                this.runPhase( "injectFields", () -> createdInjectables.forEach( this::injectFields ) );
+                this.runPhase( "injectConfigurationFields", () -> createdInjectables.forEach( configurationInjector::injectConfigurationFields ) );
+                this.runPhase( "executePostConstructs", () -> createdInjectables.forEach( this::executePostConstructs ) );
+                this.runPhase( "initializeTasks", () -> createdInjectables.forEach( this::initializeTasks ) );
             }
+            finally
+            {
+                this.initializingInjectables = false;
+            }
+
+            this.logStartupReport();
         }
     }
 
-    @SuppressWarnings( "unchecked" )
-    public <T> T getInjectableInstance( Class<T> injectableClass )
+    /**
+     * @return a report of the time spent (and memory allocated) while scanning, creating and initializing the injectables
+     */
+    public StartupReport getStartupReport()
     {
-        return (T) this.injectables.get( injectableClass );
+        return this.startupProfiler.createReport();
     }
 
-    public void inject()
+    private void runPhase( String name, Runnable phase )
     {
-        this.validateInjectableConstructors();
+        try ( StartupProfiler.Measurement ignored = this.startupProfiler.measure( StartupReport.Category.PHASE, name ) )
+        {
+            phase.run();
+        }
+    }
+
+    private void logStartupReport()
+    {
+        StartupReport startupReport = this.startupProfiler.finish();
+        long allocatedBytes = startupReport.getAllocatedBytes();
 
-        this.configurationInjector.inject();
-        this.initializeBeans();
-        this.initializeCommands();
-        this.initializeListeners();
-        this.initializeComponents();
-        this.initializeManagers();
-        this.initializeServices();
+        LOGGER.info(
+            "Initialized {} injectables in {} ms{}",
+            startupReport.getEntries( StartupReport.Category.CONSTRUCTOR ).size() + startupReport.getEntries( StartupReport.Category.BEAN_METHOD ).size(),
+            TimeUnit.NANOSECONDS.toMillis( startupReport.getTotalNanos() ),
+            allocatedBytes < 0 ? "" : " (" + allocatedBytes / 1024 + " KB allocated)"
+        );
 
-        this.injectables.forEach( this::injectFields );
-        this.injectables.forEach( configurationInjector::injectConfigurationFields );
-        this.injectables.forEach( this::executePostConstructs );
-        this.injectables.forEach( this::initializeTasks );
+        if ( LOGGER.isDebugEnabled() )
+        {
+            LOGGER.debug( "Slowest beans:" + System.lineSeparator() + startupReport.toSlowestBeansTable( 10 ) );
+        }
     }
 
     private void validateInjectableConstructors()
     {
         this.getInjectableAnnotations()
             .stream()
-            .flatMap( annotation -> ReflectionUtils.getClassesInPackageAnnotatedWith( this.currentClass, annotation ).stream() )
+            .flatMap( annotation -> this.getClassesAnnotatedWith( annotation ).stream() )
             .forEach( clazz ->
             {
                 if ( clazz.getDeclaredConstructors().length != 1 )
                 {
                     throw new InvalidInjectionContextException( "Injectable class must have exactly one constructor: " + clazz.getName() );
                 }
+                if ( clazz.isAnnotationPresent( Lazy.class ) && !this.isLazyAllowed( clazz ) )
+                {
+                    throw new InvalidInjectionContextException( "Only components, managers and services can be lazy: " + clazz.getName() );
+                }
             } );
     }
 
-    private void initializeBeans()
+    /**
+     * Loads all configuration files that are needed to create the injectables up front and in parallel: the files of the
+     * configurations, the files of {@link ConditionalOnConfigProperty} conditions and the default config.yml.
+     */
+    private void loadConfigurations()
     {
-        this.initializeInjectablesOfType( Beans.class, beans -> beans.forEach( bean ->
-        {
-            Arrays.stream( bean.instance().getClass().getDeclaredMethods() )
-                .filter( it -> it.isAnnotationPresent( Bean.class ) )
-                .filter( it -> it.getParameters().length == 0 || Arrays.stream( it.getParameters() ).allMatch( param -> this.isInjectable( param.getType() ) ) )
-                .forEach( method ->
-                {
-                    try
-                    {
-                        method.setAccessible( true );
-                        Object value = method.invoke(
-                            bean.instance(),
-                            Arrays.stream( method.getParameters() )
-                                .map( parameter -> this.findOrRegisterInjectable( parameter.getType() ) )
-                                .toArray()
-                        );
-
-                        if ( value != null )
-                        {
-                            this.registerInjectable( value.getClass(), value );
-                        }
-                        method.setAccessible( false );
-                    }
-                    catch ( Exception e )
-                    {
-                        throw new BeanException( "Failed to create bean: " + method.getName() + " in class " + bean.instance().getClass().getName(), e );
-                    }
-                } );
-        } ) );
+        List<Class<?>> configurations = this.getClassesAnnotatedWith( Configuration.class )
+            .stream()
+            .filter( clazz -> !clazz.isAnnotationPresent( Scoped.class ) )
+            .toList();
+        Map<String, FileStorageType> otherFiles = new LinkedHashMap<>();
+
+        this.getInjectableAnnotations()
+            .stream()
+            .flatMap( annotation -> this.getClassesAnnotatedWith( annotation ).stream() )
+            .filter( clazz -> clazz.isAnnotationPresent( ConditionalOnConfigProperty.class ) )
+            .map( clazz -> clazz.getAnnotation( ConditionalOnConfigProperty.class ) )
+            .forEach( condition -> otherFiles.putIfAbsent( condition.filePath(), condition.fileType() ) );
+        otherFiles.putIfAbsent( "config.yml", FileStorageType.YAML );
+
+        endoyApplication.getConfigurationManager().preload( configurations, otherFiles );
+    }
+
+    private boolean isLazyAllowed( Class<?> clazz )
+    {
+        return ( clazz.isAnnotationPresent( Component.class ) || clazz.isAnnotationPresent( Manager.class ) || clazz.isAnnotationPresent( Service.class ) )
+            && !clazz.isAnnotationPresent( Configuration.class )
+            && !clazz.isAnnotationPresent( Beans.class )
+            && !clazz.isAnnotationPresent( Command.class )
+            && !clazz.isAnnotationPresent( Listeners.class );
     }
 
     @SuppressWarnings( "unchecked" )
     private void initializeCommands()
     {
-        this.initializeInjectablesOfType( Command.class, commands -> commands.forEach( command ->
+        this.getInjectedTypes( Command.class ).forEach( command ->
         {
             Command commandAnnotation = command.annotation();
             CommandManager commandManager = endoyApplication.getCommandManager();
@@ -154,28 +275,13 @@ public class Injector
                 command.instance() instanceof SimpleTabComplete ? command.instance() : null,
                 commandAnnotation.override()
             );
-        } ) );
+        } );
     }
 
     private void initializeListeners()
     {
-        this.initializeInjectablesOfType( Listeners.class, listeners ->
-            listeners.forEach( listener -> this.endoyApplication.registerListeners( listener.instance ) ) );
-    }
-
-    private void initializeComponents()
-    {
-        this.initializeInjectablesOfType( Component.class );
-    }
-
-    private void initializeManagers()
-    {
-        this.initializeInjectablesOfType( Manager.class );
-    }
-
-    private void initializeServices()
-    {
-        this.initializeInjectablesOfType( Service.class );
+        this.getInjectedTypes( Listeners.class )
+            .forEach( listener -> this.endoyApplication.registerListeners( listener.instance ) );
     }
 
     private void initializeTasks( Class<?> clazz, Object instance )
@@ -191,97 +297,482 @@ public class Injector
                 }
 
                 Task task = method.getAnnotation( Task.class );
+                Consumer<Object> generatedInvoker = this.getGeneratedBindings().getMethodInvoker( method );
+                Runnable taskMethod;
 
-                endoyApplication.getTaskManager().registerTask( task, () ->
+                try
+                {
+                    taskMethod = generatedInvoker != null
+                        ? () -> generatedInvoker.accept( instance )
+                        : MemberAccessors.createRunnable( method, instance );
+                }
+                catch ( IllegalAccessException e )
+                {
+                    throw new TaskExecutionException( "Failed to access task method: " + method.getName() + " in class " + clazz.getName(), e );
+                }
+
+                endoyApplication.getTaskManager().registerTask( task, TaskMetrics.named( clazz.getName() + "#" + method.getName(), () ->
                 {
                     try
                     {
-                        method.invoke( instance );
+                        taskMethod.run();
                     }
                     catch ( Exception e )
                     {
-                        throw new TaskExecutionException( "Failed to execute task: " + method.getName() + " in class " + clazz.getName(), e );
+                        long suppressed = TASK_FAILURES.tryAcquire( method );
+
+                        if ( suppressed < 0 )
+                        {
+                            // still fails the run, so it is recorded as a failure
+                            throw new SuppressedTaskFailureException( e );
+                        }
+
+                        String message = "Failed to execute task: " + method.getName() + " in class " + clazz.getName();
+                        if ( suppressed > 0 )
+                        {
+                            message += " (" + TASK_FAILURES.getSuppressionMessage( suppressed ) + ")";
+                        }
+                        throw new TaskExecutionException( message, e );
                     }
-                } );
+                } ) );
             } );
     }
 
-    <T extends Annotation> void initializeInjectablesOfType( Class<T> annotationClass )
+    <T extends Annotation> void initializeInjectablesOfType( Class<T> annotationClass, Consumer<List<InjectedType<T>>> injectedTypesConsumer )
     {
-        this.initializeInjectablesOfType( annotationClass, null );
+        this.initializeInjectablesOfTypes( List.of( annotationClass ) );
+
+        if ( injectedTypesConsumer != null )
+        {
+            injectedTypesConsumer.accept( this.getInjectedTypes( annotationClass ) );
+        }
     }
 
-    <T extends Annotation> void initializeInjectablesOfType( Class<T> annotationClass, Consumer<List<InjectedType<T>>> injectedTypesConsumer )
+    /**
+     * Adds all injectables of the given types (and their dependencies) to the dependency graph in a single pass,
+     * which also detects circular dependencies. Afterwards, the injectables are created layer by layer.
+     */
+    private void initializeInjectablesOfTypes( List<Class<? extends Annotation>> annotationClasses )
     {
-        List<InjectedType<T>> injectedTypes = ReflectionUtils.getClassesInPackageAnnotatedWith( this.currentClass, annotationClass )
-            .stream()
-            .filter( this::checkConditionals )
-            .map( clazz ->
+        for ( Class<? extends Annotation> annotationClass : annotationClasses )
+        {
+            this.getCandidates( annotationClass )
+                .stream()
+                .filter( clazz -> !clazz.isAnnotationPresent( Lazy.class ) )
+                .forEach( this::getOrCreateCandidateNode );
+
+            if ( annotationClass.equals( Beans.class ) )
             {
-                Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
-                this.validateConstructor( constructor );
+                this.getBeanMethods().forEach( this::getOrCreateBeanNode );
+            }
+        }
+
+        this.createPendingInjectables();
+    }
 
-                return new InjectedType<>( clazz.getAnnotation( annotationClass ), this.initializeInjectable( clazz ) );
-            } )
+    private <T extends Annotation> List<InjectedType<T>> getInjectedTypes( Class<T> annotationClass )
+    {
+        return this.getCandidates( annotationClass )
+            .stream()
+            .map( clazz -> new InjectedType<>( clazz.getAnnotation( annotationClass ), this.getOrCreateCandidateNode( clazz ).getInstance() ) )
             .collect( Collectors.toList() );
+    }
 
-        if ( injectedTypesConsumer != null )
+    private List<Class<?>> getCandidates( Class<? extends Annotation> annotationClass )
+    {
+        return this.candidates.computeIfAbsent(
+            annotationClass,
+            key -> this.getClassesAnnotatedWith( key )
+                .stream()
+                .filter( clazz -> !clazz.isAnnotationPresent( Scoped.class ) )
+                .filter( this::checkConditionals )
+                .toList()
+        );
+    }
+
+    /**
+     * Creates a child scope of this injector. The injectables annotated with {@link Scoped} for the given scope name are
+     * created within the scope, next to the given seed instances (e.g. the player the scope is created for).
+     * Everything else is looked up in this injector.
+     *
+     * @param name  the name of the scope
+     * @param seeds instances to register in the scope before its injectables are created
+     * @return the created scope, which should be closed when it is no longer needed
+     */
+    public InjectorScope createScope( String name, Object... seeds )
+    {
+        return InjectorScope.create( this, null, name, seeds );
+    }
+
+    /**
+     * Returns the plan to create the injectables of a scope. The plan is computed once per scope name and reused for
+     * every scope that is created afterwards.
+     */
+    ScopePlan getScopePlan( String name )
+    {
+        return this.scopePlans.computeIfAbsent( name, key -> ScopePlan.create(
+            this,
+            this.getClassesAnnotatedWith( Scoped.class )
+                .stream()
+                .filter( clazz -> clazz.getAnnotation( Scoped.class ).value().equals( key ) )
+                .filter( this::checkConditionals )
+                .toList()
+        ) );
+    }
+
+    private List<Method> getBeanMethods()
+    {
+        if ( this.beanMethods == null )
         {
-            injectedTypesConsumer.accept( injectedTypes );
+            this.beanMethods = this.getCandidates( Beans.class )
+                .stream()
+                .flatMap( clazz -> Arrays.stream( clazz.getDeclaredMethods() ) )
+                .filter( method -> method.isAnnotationPresent( Bean.class ) )
+                .toList();
         }
+        return this.beanMethods;
     }
 
-    private Object initializeInjectable( Class<?> clazz )
+    private DependencyGraph.Node getOrCreateCandidateNode( Class<?> clazz )
     {
-        if ( this.isInterfaceOrAbstract( clazz ) )
+        DependencyGraph.Node node = this.resolveNode( clazz );
+
+        if ( node == null )
         {
-            return initializeInjectable( getInjectableClassFromParentClass( clazz ) );
+            throw new InvalidInjectionContextException( "Class is not an injectable: " + clazz.getName() );
         }
+        return node;
+    }
 
-        try
+    /**
+     * Finds the node that provides an instance of the given type: the type itself if it is an injectable,
+     * a bean method returning the type or the first injectable implementation of an interface or abstract class.
+     *
+     * @param type the type to resolve
+     * @return the node providing the type, or null if the type is not injectable
+     */
+    private DependencyGraph.Node resolveNode( Class<?> type )
+    {
+        DependencyGraph.Node node = this.resolvedNodes.get( type );
+        if ( node != null )
+        {
+            return node;
+        }
+
+        if ( !this.isInterfaceOrAbstract( type ) && this.hasInjectableAnnotation( type ) )
+        {
+            node = this.getOrCreateNode( type );
+        }
+        else
+        {
+            node = this.getBeanMethods()
+                .stream()
+                .filter( method -> type.isAssignableFrom( method.getReturnType() ) )
+                .map( this::getOrCreateBeanNode )
+                .filter( Objects::nonNull )
+                .findFirst()
+                .orElse( null );
+
+            if ( node == null && this.isInterfaceOrAbstract( type ) )
+            {
+                node = this.getClassesImplementing( type )
+                    .stream()
+                    .filter( clazz -> !this.isInterfaceOrAbstract( clazz ) && this.hasInjectableAnnotation( clazz ) )
+                    .filter( this::checkConditionals )
+                    .findFirst()
+                    .map( this::getOrCreateNode )
+                    .orElse( null );
+            }
+        }
+
+        if ( node != null )
+        {
+            this.resolvedNodes.put( type, node );
+        }
+        return node;
+    }
+
+    private DependencyGraph.Node getOrCreateNode( Class<?> clazz )
+    {
+        DependencyGraph.Node node = this.dependencyGraph.getNode( clazz );
+        if ( node != null )
         {
-            Class<? extends Annotation> annotation = this.getInjectableAnnotation( clazz );
-            Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
-            constructor.setAccessible( true );
+            return node;
+        }
+
+        this.dependencyGraph.startResolving( clazz, clazz );
+
+        Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
+        List<DependencyGraph.Node> dependencies = new ArrayList<>();
+        List<Parameter> nonInjectableParameters = new ArrayList<>();
 
-            List<Object> parameters = new ArrayList<>();
+        for ( Parameter parameter : constructor.getParameters() )
+        {
+            DependencyGraph.Node dependency = null;
 
-            for ( Parameter parameter : constructor.getParameters() )
+            if ( this.isConfigurationSnapshot( parameter.getType() ) )
             {
-                if ( this.injectables.containsKey( parameter.getType() ) )
+                dependency = this.resolveConfigurationNode( getTypeArgument( parameter.getParameterizedType() ) );
+
+                if ( dependency == null && !this.injectables.containsKey( getTypeArgument( parameter.getParameterizedType() ) ) )
                 {
-                    parameters.add( this.injectables.get( parameter.getType() ) );
+                    nonInjectableParameters.add( parameter );
                 }
-                else
+            }
+            else if ( this.isProvider( parameter.getType() ) )
+            {
+                if ( !this.isInjectable( getTypeArgument( parameter.getParameterizedType() ) ) )
                 {
-                    if ( this.isInjectable( parameter.getType() ) )
+                    nonInjectableParameters.add( parameter );
+                }
+            }
+            else if ( this.isMultiBinding( parameter ) )
+            {
+                dependency = this.getOrCreateMultiBindingNode( getTypeArgument( parameter.getParameterizedType() ) );
+            }
+            else if ( !this.injectables.containsKey( parameter.getType() ) )
+            {
+                dependency = this.resolveNode( parameter.getType() );
+
+                if ( dependency == null && !parameter.isAnnotationPresent( Value.class ) )
+                {
+                    nonInjectableParameters.add( parameter );
+                }
+            }
+            dependencies.add( dependency );
+        }
+
+        if ( !nonInjectableParameters.isEmpty() )
+        {
+            this.dependencyGraph.cancelResolving( clazz );
+
+            throw new InvalidInjectionContextException(
+                String.format(
+                    "All parameters of an Injectable constructor must be injectable: %s.%n" +
+                        "The following parameters could not be injected: %s",
+                    clazz.getName(),
+                    nonInjectableParameters.stream()
+                        .map( parameter -> String.format( "%s (position %d)", parameter.getType().getName(), Arrays.asList( constructor.getParameters() ).indexOf( parameter ) ) )
+                        .collect( Collectors.joining( ", " ) )
+                )
+            );
+        }
+
+        return this.dependencyGraph.addNode( clazz, clazz, constructor, null, dependencies );
+    }
+
+    private DependencyGraph.Node getOrCreateBeanNode( Method method )
+    {
+        DependencyGraph.Node node = this.dependencyGraph.getNode( method );
+        if ( node != null )
+        {
+            return node;
+        }
+
+        this.dependencyGraph.startResolving( method, method.getReturnType() );
+
+        DependencyGraph.Node owner = this.getOrCreateNode( method.getDeclaringClass() );
+        List<DependencyGraph.Node> dependencies = new ArrayList<>();
+
+        for ( Parameter parameter : method.getParameters() )
+        {
+            DependencyGraph.Node dependency = null;
+
+            if ( this.isConfigurationSnapshot( parameter.getType() ) )
+            {
+                dependency = this.resolveConfigurationNode( getTypeArgument( parameter.getParameterizedType() ) );
+
+                if ( dependency == null && !this.injectables.containsKey( getTypeArgument( parameter.getParameterizedType() ) ) )
+                {
+                    this.dependencyGraph.cancelResolving( method );
+                    return null;
+                }
+            }
+            else if ( this.isProvider( parameter.getType() ) )
+            {
+                if ( !this.isInjectable( getTypeArgument( parameter.getParameterizedType() ) ) )
+                {
+                    this.dependencyGraph.cancelResolving( method );
+                    return null;
+                }
+            }
+            else if ( this.isMultiBinding( parameter ) )
+            {
+                dependency = this.getOrCreateMultiBindingNode( getTypeArgument( parameter.getParameterizedType() ) );
+            }
+            else if ( !this.injectables.containsKey( parameter.getType() ) )
+            {
+                dependency = this.resolveNode( parameter.getType() );
+
+                if ( dependency == null )
+                {
+                    // beans with parameters that cannot be injected are skipped
+                    this.dependencyGraph.cancelResolving( method );
+                    return null;
+                }
+            }
+            dependencies.add( dependency );
+        }
+
+        return this.dependencyGraph.addNode( method, method.getReturnType(), method, owner, dependencies );
+    }
+
+    /**
+     * Creates the node of a {@code List<T>} injection point, which depends on every injectable and bean of type T.
+     */
+    private DependencyGraph.Node getOrCreateMultiBindingNode( Class<?> elementType )
+    {
+        MultiBindingKey key = new MultiBindingKey( elementType );
+        DependencyGraph.Node node = this.dependencyGraph.getNode( key );
+        if ( node != null )
+        {
+            return node;
+        }
+
+        this.dependencyGraph.startResolving( key, elementType );
+
+        List<DependencyGraph.Node> dependencies = new ArrayList<>();
+        List<Class<?>> classes = new ArrayList<>();
+
+        if ( !this.isInterfaceOrAbstract( elementType ) )
+        {
+            classes.add( elementType );
+        }
+        classes.addAll( this.getClassesImplementing( elementType ) );
+
+        classes.stream()
+            .filter( clazz -> !this.isInterfaceOrAbstract( clazz ) && this.hasInjectableAnnotation( clazz ) )
+            .filter( this::checkConditionals )
+            .map( this::getOrCreateNode )
+            .forEach( dependencies::add );
+        this.getBeanMethods()
+            .stream()
+            .filter( method -> elementType.isAssignableFrom( method.getReturnType() ) )
+            .map( this::getOrCreateBeanNode )
+            .filter( Objects::nonNull )
+            .forEach( dependencies::add );
+
+        return this.dependencyGraph.addNode( key, elementType, null, null, dependencies );
+    }
+
+    private List<DependencyGraph.Node> createPendingInjectables()
+    {
+        List<DependencyGraph.Node> createdNodes = new ArrayList<>();
+        ForkJoinPool forkJoinPool = null;
+
+        try
+        {
+            for ( List<DependencyGraph.Node> pendingLayer : this.dependencyGraph.getPendingLayers() )
+            {
+                // a constructor could have requested a lazy injectable that was still pending in this layer
+                List<DependencyGraph.Node> layer = pendingLayer.stream().filter( node -> !node.isCreated() ).toList();
+
+                if ( this.parallelInitialization && layer.size() > 1 )
+                {
+                    if ( forkJoinPool == null )
                     {
-                        parameters.add( this.initializeInjectable( parameter.getType() ) );
+                        forkJoinPool = this.createForkJoinPool();
                     }
-                    else if ( parameter.isAnnotationPresent( Value.class ) )
-                    {
-                        Value value = parameter.getAnnotation( Value.class );
 
-                        parameters.add( this.configurationInjector.getConfigurationValue( parameter, value ) );
-                    }
-                    else
+                    ForkJoinPool pool = forkJoinPool;
+                    layer.stream()
+                        .map( node -> pool.submit( this.startupProfiler.measureWorker( () -> this.createInstance( node ) ) ) )
+                        .toList()
+                        .forEach( ForkJoinTask::join );
+                }
+                else
+                {
+                    layer.forEach( this::createInstance );
+                }
+
+                // registering happens on the calling thread in graph order, so the first registered implementation
+                // of an interface stays deterministic
+                for ( DependencyGraph.Node node : layer )
+                {
+                    if ( node.getInstance() != null && node.executable != null )
                     {
-                        throw new InvalidInjectionContextException( "Parameter is not injectable: " + parameter.getName() + " in class " + clazz.getName() );
+                        this.registerInjectable( node.getInstance().getClass(), node.getInstance() );
                     }
                 }
+                createdNodes.addAll( layer );
+            }
+        }
+        finally
+        {
+            if ( forkJoinPool != null )
+            {
+                forkJoinPool.shutdown();
             }
+        }
+
+        return createdNodes;
+    }
+
+    private ForkJoinPool createForkJoinPool()
+    {
+        ClassLoader classLoader = this.currentClass.getClassLoader();
+
+        return new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool ->
+            {
+                ForkJoinWorkerThread thread = new InitializationThread( pool, this );
+                thread.setContextClassLoader( classLoader );
+                return thread;
+            },
+            null,
+            false
+        );
+    }
+
+    private boolean isInitializationThread()
+    {
+        return Thread.currentThread() instanceof InitializationThread thread && thread.injector == this;
+    }
+
+    private void createInstance( DependencyGraph.Node node )
+    {
+        if ( node.isCreated() )
+        {
+            return;
+        }
+        if ( node.executable == null )
+        {
+            // all dependencies have been registered by now, next to the injectables that were registered manually
+            node.setInstance( this.injectables.getAllOfType( node.type ) );
+            return;
+        }
+        if ( node.executable instanceof Method method )
+        {
+            this.createBean( node, method );
+            return;
+        }
 
-            Object instance = constructor.newInstance( parameters.toArray() );
+        Class<?> clazz = node.type;
 
-            constructor.setAccessible( false );
-            this.registerInjectable( clazz, instance );
+        try ( StartupProfiler.Measurement ignored = this.startupProfiler.measure( StartupReport.Category.CONSTRUCTOR, clazz.getName() ) )
+        {
+            Constructor<?> constructor = (Constructor<?>) node.executable;
+            Function<Object[], ?> generatedConstructor = this.getGeneratedBindings().getConstructor( constructor );
+            Object instance;
 
-            if ( annotation.equals( Configuration.class ) )
+            if ( generatedConstructor != null )
+            {
+                instance = generatedConstructor.apply( this.getArguments( node ) );
+            }
+            else
+            {
+                constructor.setAccessible( true );
+                instance = constructor.newInstance( this.getArguments( node ) );
+                constructor.setAccessible( false );
+            }
+
+            if ( clazz.isAnnotationPresent( Configuration.class ) )
             {
                 this.configurationInjector.injectConfigurationFields( clazz, instance, clazz.getAnnotation( Configuration.class ) );
             }
 
-            return instance;
+            node.setInstance( instance );
         }
         catch ( Exception e )
         {
@@ -289,6 +780,175 @@ public class Injector
         }
     }
 
+    private void createBean( DependencyGraph.Node node, Method method )
+    {
+        try ( StartupProfiler.Measurement ignored = this.startupProfiler.measure(
+            StartupReport.Category.BEAN_METHOD,
+            method.getDeclaringClass().getName() + "#" + method.getName()
+        ) )
+        {
+            method.setAccessible( true );
+            Object value = method.invoke( node.owner.getInstance(), this.getArguments( node ) );
+            method.setAccessible( false );
+
+            node.setInstance( value );
+        }
+        catch ( Exception e )
+        {
+            throw new BeanException( "Failed to create bean: " + method.getName() + " in class " + method.getDeclaringClass().getName(), e );
+        }
+    }
+
+    private Object[] getArguments( DependencyGraph.Node node )
+    {
+        Parameter[] parameters = node.executable.getParameters();
+        Object[] arguments = new Object[parameters.length];
+
+        for ( int i = 0; i < parameters.length; i++ )
+        {
+            DependencyGraph.Node dependency = node.dependencies.get( i );
+
+            if ( this.isConfigurationSnapshot( parameters[i].getType() ) )
+            {
+                arguments[i] = this.configurationInjector.getSnapshot( getTypeArgument( parameters[i].getParameterizedType() ) );
+            }
+            else if ( dependency != null )
+            {
+                arguments[i] = dependency.getInstance();
+            }
+            else if ( this.isProvider( parameters[i].getType() ) )
+            {
+                arguments[i] = this.createProvider( parameters[i].getParameterizedType() );
+            }
+            else if ( this.injectables.containsKey( parameters[i].getType() ) )
+            {
+                arguments[i] = this.injectables.get( parameters[i].getType() );
+            }
+            else
+            {
+                arguments[i] = this.configurationInjector.getConfigurationValue( parameters[i], parameters[i].getAnnotation( Value.class ) );
+            }
+        }
+
+        return arguments;
+    }
+
+    private Object initializeInjectable( Class<?> clazz )
+    {
+        synchronized ( this.lock )
+        {
+            boolean initializing = this.initializingInjectables;
+            this.initializingInjectables = true;
+
+            try
+            {
+                DependencyGraph.Node node = this.getOrCreateCandidateNode( clazz );
+                List<DependencyGraph.Node> createdNodes = this.createPendingInjectables();
+
+                if ( this.postProcessing && !createdNodes.isEmpty() )
+                {
+                    this.initializeCreatedInjectables( createdNodes );
+                }
+
+                return node.getInstance();
+            }
+            finally
+            {
+                this.initializingInjectables = initializing;
+            }
+        }
+    }
+
+    /**
+     * Runs the field injection, post constructs and tasks of injectables that were created after {@link #inject()}
+     * already initialized the other injectables, e.g. when a {@link Lazy} injectable is requested.
+     */
+    private void initializeCreatedInjectables( List<DependencyGraph.Node> createdNodes )
+    {
+        Map<Class<?>, Object> createdInjectables = new LinkedHashMap<>();
+        for ( DependencyGraph.Node node : createdNodes )
+        {
+            if ( node.getInstance() != null && node.executable != null )
+            {
+                createdInjectables.putIfAbsent( node.getInstance().getClass(), node.getInstance() );
+            }
+        }
+
+        createdInjectables.forEach( this::injectFields );
+        createdInjectables.forEach( configurationInjector::injectConfigurationFields );
+        createdInjectables.forEach( this::executePostConstructs );
+        createdInjectables.forEach( this::initializeTasks );
+    }
+
+    private Class<?> getLazyInjectableClass( Class<?> type )
+    {
+        Collection<Class<?>> classes = this.isInterfaceOrAbstract( type ) ? this.getClassesImplementing( type ) : List.of( type );
+
+        return classes.stream()
+            .filter( clazz -> !this.isInterfaceOrAbstract( clazz ) )
+            .filter( clazz -> clazz.isAnnotationPresent( Lazy.class ) && this.hasInjectableAnnotation( clazz ) )
+            .filter( this::checkConditionals )
+            .findFirst()
+            .orElse( null );
+    }
+
+    private boolean isConfigurationSnapshot( Class<?> type )
+    {
+        return type.equals( ConfigurationSnapshot.class );
+    }
+
+    /**
+     * Resolves the node of the {@link Configuration} class held by a {@link ConfigurationSnapshot} injection point,
+     * so the snapshot is only created once the configuration exists.
+     */
+    private DependencyGraph.Node resolveConfigurationNode( Class<?> type )
+    {
+        if ( !type.isAnnotationPresent( Configuration.class ) || this.injectables.containsKey( type ) )
+        {
+            return null;
+        }
+        return this.resolveNode( type );
+    }
+
+    private boolean isProvider( Class<?> type )
+    {
+        return type.equals( Provider.class ) || type.equals( Supplier.class );
+    }
+
+    /**
+     * A {@code List<T>} that is not a configuration value receives all injectables of type T.
+     */
+    private boolean isMultiBinding( AnnotatedElement element )
+    {
+        Class<?> type = element instanceof Field field ? field.getType() : ( (Parameter) element ).getType();
+
+        return type.equals( List.class ) && !element.isAnnotationPresent( Value.class );
+    }
+
+    static Class<?> getTypeArgument( Type genericType )
+    {
+        if ( genericType instanceof ParameterizedType parameterizedType )
+        {
+            Type typeArgument = parameterizedType.getActualTypeArguments()[0];
+
+            if ( typeArgument instanceof Class<?> clazz )
+            {
+                return clazz;
+            }
+            if ( typeArgument instanceof ParameterizedType parameterizedTypeArgument )
+            {
+                return (Class<?>) parameterizedTypeArgument.getRawType();
+            }
+        }
+
+        throw new InvalidInjectionContextException( "Provider and List injection points must declare their element type: " + genericType.getTypeName() );
+    }
+
+    private Provider<?> createProvider( Type providerType )
+    {
+        return new InjectableProvider<>( this::getInjectableInstance, getTypeArgument( providerType ) );
+    }
+
     private void injectFields( Class<?> clazz, Object instance )
     {
         Arrays.stream( clazz.getDeclaredFields() )
@@ -297,7 +957,26 @@ public class Injector
             {
                 try
                 {
-                    ReflectionUtils.setFieldValue( field, instance, this.findOrRegisterInjectable( field.getType() ) );
+                    Object value;
+
+                    if ( this.isConfigurationSnapshot( field.getType() ) )
+                    {
+                        value = this.configurationInjector.getSnapshot( getTypeArgument( field.getGenericType() ) );
+                    }
+                    else if ( this.isProvider( field.getType() ) )
+                    {
+                        value = this.createProvider( field.getGenericType() );
+                    }
+                    else if ( this.isMultiBinding( field ) )
+                    {
+                        value = this.injectables.getAllOfType( getTypeArgument( field.getGenericType() ) );
+                    }
+                    else
+                    {
+                        value = this.findOrRegisterInjectable( field.getType() );
+                    }
+
+                    this.setFieldValue( field, instance, value );
                 }
                 catch ( Exception e )
                 {
@@ -317,9 +996,12 @@ public class Injector
                     throw new PostConstructException( "PostConstruct method must not have any parameters: " + method.getName() + " in class " + clazz.getName() );
                 }
 
-                try
+                try ( StartupProfiler.Measurement ignored = this.startupProfiler.measure(
+                    StartupReport.Category.POST_CONSTRUCT,
+                    clazz.getName() + "#" + method.getName()
+                ) )
                 {
-                    ReflectionUtils.invokeMethod( method, instance );
+                    this.invokeMethod( method, instance );
                 }
                 catch ( Exception e )
                 {
@@ -328,62 +1010,16 @@ public class Injector
             } );
     }
 
-    private void validateConstructor( Constructor<?> constructor )
-    {
-        List<Parameter> nonInjectableParameters = Arrays.stream( constructor.getParameters() )
-            .filter( parameter -> !this.isInjectable( parameter.getType() ) && !parameter.isAnnotationPresent( Value.class ) )
-            .toList();
-        if ( !nonInjectableParameters.isEmpty() )
-        {
-            throw new InvalidInjectionContextException(
-                String.format(
-                    "All parameters of an Injectable constructor must be injectable: %s.%n" +
-                        "The following parameters could not be injected: %s",
-                    constructor.getDeclaringClass().getName(),
-                    nonInjectableParameters.stream()
-                        .map( parameter -> String.format( "%s (position %d)", parameter.getType().getName(), Arrays.asList( constructor.getParameters() ).indexOf( parameter ) ) )
-                        .collect( Collectors.joining( ", " ) )
-                )
-            );
-        }
-
-        this.checkForCircularDependencies( constructor.getDeclaringClass(), new HashSet<>() );
-    }
-
-    private void checkForCircularDependencies( Class<?> clazz, Set<Class<?>> visitedDependencies )
-    {
-        if ( visitedDependencies.contains( clazz ) )
-        {
-            throw new CircularDependencyException( "Circular dependency detected: " + clazz.getName() );
-        }
-
-        visitedDependencies.add( clazz );
-
-        Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
-
-        for ( Parameter parameter : constructor.getParameters() )
-        {
-            if ( this.isInjectable( parameter.getType() ) )
-            {
-                this.checkForCircularDependencies( parameter.getType(), visitedDependencies );
-            }
-        }
-
-        visitedDependencies.remove( clazz );
-    }
-
     private boolean isInjectable( Class<?> clazz )
     {
         if ( this.isInterfaceOrAbstract( clazz ) )
         {
-            Collection<Class<?>> classes = ReflectionUtils.getClassesInPackageImplementing( this.currentClass, clazz );
+            Collection<Class<?>> classes = this.getClassesImplementing( clazz );
 
             return classes.stream().anyMatch( this::isInjectable );
         }
 
-        return this.injectables.containsKey( clazz ) || this.getInjectableAnnotations()
-            .stream()
-            .anyMatch( clazz::isAnnotationPresent );
+        return this.injectables.containsKey( clazz ) || this.hasInjectableAnnotation( clazz );
     }
 
     private Class<?> getInjectableClassFromParentClass( Class<?> clazz )
@@ -393,7 +1029,7 @@ public class Injector
             throw new IllegalStateException( "Class is not an interface or abstract class: " + clazz.getName() );
         }
 
-        Collection<Class<?>> classes = ReflectionUtils.getClassesInPackageImplementing( this.currentClass, clazz );
+        Collection<Class<?>> classes = this.getClassesImplementing( clazz );
 
         return classes
             .stream()
@@ -402,13 +1038,12 @@ public class Injector
             .orElseThrow( () -> new InvalidInjectionContextException( "Class is not an injectable: " + clazz.getName() ) );
     }
 
-    private Class<? extends Annotation> getInjectableAnnotation( Class<?> clazz )
+    private boolean hasInjectableAnnotation( Class<?> clazz )
     {
-        return this.getInjectableAnnotations()
+        // scoped injectables only exist within their scope
+        return !clazz.isAnnotationPresent( Scoped.class ) && this.getInjectableAnnotations()
             .stream()
-            .filter( clazz::isAnnotationPresent )
-            .findFirst()
-            .orElseThrow( () -> new InvalidInjectionContextException( "Class is not an injectable: " + clazz.getName() ) );
+            .anyMatch( clazz::isAnnotationPresent );
     }
 
     private List<Class<? extends Annotation>> getInjectableAnnotations()
@@ -438,18 +1073,100 @@ public class Injector
         return true;
     }
 
+    /**
+     * Returns the result of scanning the package of this injector. The package is only scanned once per injector.
+     * When the injectable index is used, the result only contains the injector annotations, see
+     * {@link ClassScanResult#scan(Class)}.
+     *
+     * @return the scan result of the package of this injector
+     */
+    public synchronized ClassScanResult getScanResult()
+    {
+        if ( this.scanResult == null )
+        {
+            try ( StartupProfiler.Measurement ignored = this.startupProfiler.measure( StartupReport.Category.SCAN, this.currentClass.getPackageName() ) )
+            {
+                this.scanResult = ClassScanResult.scan( this.currentClass );
+            }
+        }
+        return this.scanResult;
+    }
+
+    /**
+     * Returns the bindings of the injector modules that were generated at compile time for the package of this injector.
+     * The bindings are empty if no modules were generated, in which case everything is done through reflection.
+     *
+     * @return the generated bindings
+     */
+    synchronized GeneratedBindings getGeneratedBindings()
+    {
+        if ( this.generatedBindings == null )
+        {
+            this.generatedBindings = GeneratedBindings.load( this.currentClass );
+        }
+        return this.generatedBindings;
+    }
+
+    void invokeMethod( Method method, Object instance ) throws ReflectiveOperationException
+    {
+        Consumer<Object> generatedInvoker = this.getGeneratedBindings().getMethodInvoker( method );
+
+        if ( generatedInvoker != null )
+        {
+            generatedInvoker.accept( instance );
+        }
+        else
+        {
+            ReflectionUtils.invokeMethod( method, instance );
+        }
+    }
+
+    void setFieldValue( Field field, Object instance, Object value ) throws IllegalAccessException
+    {
+        BiConsumer<Object, Object> generatedSetter = this.getGeneratedBindings().getFieldSetter( field );
+
+        if ( generatedSetter != null )
+        {
+            generatedSetter.accept( instance, value );
+        }
+        else
+        {
+            ReflectionUtils.setFieldValue( field, instance, value );
+        }
+    }
+
+    private List<Class<?>> getClassesAnnotatedWith( Class<? extends Annotation> annotation )
+    {
+        return this.getScanResult().getClassesAnnotatedWith( annotation );
+    }
+
+    private Collection<Class<?>> getClassesImplementing( Class<?> clazz )
+    {
+        return this.getScanResult().getClassesImplementing( clazz );
+    }
+
     private boolean isInterfaceOrAbstract( Class<?> clazz )
     {
         return clazz.isInterface() || Modifier.isAbstract( clazz.getModifiers() );
     }
 
+    /**
+     * @param annotation the annotation the injectables should be annotated with
+     * @return all injectables annotated with the given annotation, in the order they were registered in
+     */
     public List<Object> getInjectablesOfType( Class<? extends Annotation> annotation )
     {
-        return this.injectables.entrySet()
-            .stream()
-            .filter( entry -> entry.getKey().isAnnotationPresent( annotation ) )
-            .map( Entry::getValue )
-            .collect( Collectors.toList() );
+        return this.injectables.getAllAnnotatedWith( annotation );
+    }
+
+    /**
+     * @param type the type the injectables should be assignable to
+     * @param <T>  the type the injectables should be assignable to
+     * @return all injectables that extend or implement the given type, in the order they were registered in
+     */
+    public <T> List<T> getInjectablesImplementing( Class<T> type )
+    {
+        return this.injectables.getAllOfType( type );
     }
 
     private Object findOrRegisterInjectable( Class<?> clazz )
@@ -478,4 +1195,23 @@ public class Injector
     record InjectedType<T>(T annotation, Object instance)
     {
     }
+
+    private record MultiBindingKey(Class<?> elementType)
+    {
+    }
+
+    /**
+     * A thread of the pool that creates injectables in parallel, while the thread that started the pool holds the lock.
+     */
+    private static final class InitializationThread extends ForkJoinWorkerThread
+    {
+
+        private final Injector injector;
+
+        private InitializationThread( ForkJoinPool pool, Injector injector )
+        {
+            super( pool );
+            this.injector = injector;
+        }
+    }
 }
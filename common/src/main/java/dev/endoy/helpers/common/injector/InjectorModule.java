@@ -0,0 +1,13 @@
+package dev.endoy.helpers.common.injector;
+
+/**
+ * A module that is generated at compile time by the endoy-helpers annotation processor (when the
+ * {@code endoy.helpers.generateInjectorModule} option is enabled). It registers plain Java code that creates the injectables
+ * and accesses their members, which the {@link Injector} uses instead of reflection.
+ */
+public interface InjectorModule
+{
+
+    void register( GeneratedBindings bindings );
+
+}
@@ -0,0 +1,318 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A child injector holding the {@link Scoped} injectables of a single scope, e.g. the injectables of one player or one
+ * server. Injectables that are not found in the scope are looked up in the parent scope and finally in the
+ * {@link Injector} the scope was created from.
+ * <p>
+ * Closing a scope closes its child scopes and all {@link AutoCloseable} injectables it created, in reverse creation order.
+ */
+public final class InjectorScope implements AutoCloseable
+{
+
+    private static final Logger LOGGER = Logger.forClass( InjectorScope.class );
+
+    private final Injector injector;
+    private final InjectorScope parent;
+    private final String name;
+    private final InjectableRegistry injectables = new InjectableRegistry();
+    private final List<Object> createdInstances = new ArrayList<>();
+    private final Set<InjectorScope> children = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private InjectorScope( Injector injector, InjectorScope parent, String name )
+    {
+        this.injector = injector;
+        this.parent = parent;
+        this.name = name;
+    }
+
+    static InjectorScope create( Injector injector, InjectorScope parent, String name, Object... seeds )
+    {
+        InjectorScope scope = new InjectorScope( injector, parent, name );
+
+        for ( Object seed : seeds )
+        {
+            scope.registerInjectable( seed.getClass(), seed );
+        }
+
+        try
+        {
+            scope.initialize( injector.getScopePlan( name ) );
+        }
+        catch ( RuntimeException e )
+        {
+            scope.close();
+            throw e;
+        }
+
+        if ( parent != null )
+        {
+            parent.children.add( scope );
+        }
+        return scope;
+    }
+
+    public String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * Creates a scope within this scope, e.g. a scope per player within a scope per server.
+     * The created scope is closed together with this scope.
+     *
+     * @param name  the name of the scope
+     * @param seeds instances to register in the scope before its injectables are created
+     * @return the created scope
+     */
+    public InjectorScope createScope( String name, Object... seeds )
+    {
+        this.checkOpen();
+
+        return create( this.injector, this, name, seeds );
+    }
+
+    public void registerInjectable( Class<?> clazz, Object instance )
+    {
+        if ( instance == null )
+        {
+            throw new IllegalArgumentException( "Instance cannot be null" );
+        }
+        this.checkOpen();
+
+        this.injectables.register( clazz, instance );
+    }
+
+    /**
+     * Gets the instance of an injectable from this scope, its parent scopes or the injector, in that order.
+     *
+     * @param injectableClass the class of the injectable
+     * @param <T>             the type of the injectable
+     * @return the instance of the injectable, or null if there is no injectable for the given class
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T getInjectableInstance( Class<T> injectableClass )
+    {
+        this.checkOpen();
+
+        Object instance = this.injectables.get( injectableClass );
+
+        if ( instance != null )
+        {
+            return (T) instance;
+        }
+        return this.parent != null
+            ? this.parent.getInjectableInstance( injectableClass )
+            : this.injector.getInjectableInstance( injectableClass );
+    }
+
+    /**
+     * @return all injectables of the given type in this scope, its parent scopes and the injector
+     */
+    public <T> List<T> getInjectablesImplementing( Class<T> type )
+    {
+        this.checkOpen();
+
+        List<T> instances = new ArrayList<>( this.injectables.getAllOfType( type ) );
+        instances.addAll( this.parent != null
+            ? this.parent.getInjectablesImplementing( type )
+            : this.injector.getInjectablesImplementing( type ) );
+        return instances;
+    }
+
+    public boolean isClosed()
+    {
+        return this.closed;
+    }
+
+    @Override
+    public void close()
+    {
+        synchronized ( this )
+        {
+            if ( this.closed )
+            {
+                return;
+            }
+            this.closed = true;
+        }
+
+        new ArrayList<>( this.children ).forEach( InjectorScope::close );
+
+        for ( int i = this.createdInstances.size() - 1; i >= 0; i-- )
+        {
+            if ( this.createdInstances.get( i ) instanceof AutoCloseable closeable )
+            {
+                try
+                {
+                    closeable.close();
+                }
+                catch ( Exception e )
+                {
+                    LOGGER.warn( "Failed to close scoped injectable: " + closeable.getClass().getName(), e );
+                }
+            }
+        }
+        this.createdInstances.clear();
+
+        if ( this.parent != null )
+        {
+            this.parent.children.remove( this );
+        }
+    }
+
+    private void initialize( ScopePlan plan )
+    {
+        List<ScopePlan.Step> steps = plan.getSteps();
+        Object[] instances = new Object[steps.size()];
+
+        for ( int i = 0; i < steps.size(); i++ )
+        {
+            ScopePlan.Step step = steps.get( i );
+
+            try
+            {
+                Object[] arguments = this.getArguments( step, instances );
+
+                instances[i] = step.generatedConstructor() != null
+                    ? step.generatedConstructor().apply( arguments )
+                    : step.constructor().newInstance( arguments );
+            }
+            catch ( InvalidInjectionContextException e )
+            {
+                throw e;
+            }
+            catch ( Exception e )
+            {
+                throw new FailedInjectionException( "Failed to initialize scoped injectable: " + step.type().getName(), e );
+            }
+
+            this.createdInstances.add( instances[i] );
+            this.injectables.register( step.type(), instances[i] );
+        }
+
+        // all injectables of the scope exist now, so fields may refer to each other in any direction
+        for ( int i = 0; i < steps.size(); i++ )
+        {
+            this.injectFields( steps.get( i ), instances[i] );
+            this.injector.getConfigurationInjector().injectConfigurationFields( steps.get( i ).type(), instances[i] );
+        }
+        for ( int i = 0; i < steps.size(); i++ )
+        {
+            this.executePostConstructs( steps.get( i ), instances[i] );
+        }
+    }
+
+    private Object[] getArguments( ScopePlan.Step step, Object[] instances )
+    {
+        ScopePlan.Argument[] planArguments = step.arguments();
+        Object[] arguments = new Object[planArguments.length];
+
+        for ( int i = 0; i < planArguments.length; i++ )
+        {
+            ScopePlan.Argument argument = planArguments[i];
+
+            arguments[i] = switch ( argument.kind() )
+            {
+                case SCOPED -> instances[argument.stepIndex()];
+                case LOOKUP -> this.getRequiredInstance( argument.type(), step.type() );
+                case PROVIDER -> this.createProvider( argument.type() );
+                case SNAPSHOT -> this.injector.getConfigurationInjector().getSnapshot( argument.type() );
+                case ALL_OF_TYPE -> this.getInjectablesImplementing( argument.type() );
+                case VALUE -> this.injector.getConfigurationInjector().getConfigurationValue(
+                    argument.parameter(),
+                    argument.parameter().getAnnotation( Value.class )
+                );
+            };
+        }
+
+        return arguments;
+    }
+
+    private void injectFields( ScopePlan.Step step, Object instance )
+    {
+        for ( Field field : step.injectFields() )
+        {
+            try
+            {
+                this.injector.setFieldValue( field, instance, this.resolve( field.getType(), field.getGenericType(), step.type() ) );
+            }
+            catch ( InvalidInjectionContextException e )
+            {
+                throw e;
+            }
+            catch ( Exception e )
+            {
+                throw new FailedInjectionException( "Failed to inject field: " + field.getName() + " in class " + step.type().getName(), e );
+            }
+        }
+    }
+
+    private void executePostConstructs( ScopePlan.Step step, Object instance )
+    {
+        for ( Method method : step.postConstructs() )
+        {
+            try
+            {
+                this.injector.invokeMethod( method, instance );
+            }
+            catch ( Exception e )
+            {
+                throw new PostConstructException( "Failed to execute post construct method: " + method.getName() + " in class " + step.type().getName(), e );
+            }
+        }
+    }
+
+    private Object resolve( Class<?> type, Type genericType, Class<?> owner )
+    {
+        if ( type.equals( ConfigurationSnapshot.class ) )
+        {
+            return this.injector.getConfigurationInjector().getSnapshot( Injector.getTypeArgument( genericType ) );
+        }
+        if ( type.equals( Provider.class ) || type.equals( Supplier.class ) )
+        {
+            return this.createProvider( Injector.getTypeArgument( genericType ) );
+        }
+        if ( type.equals( List.class ) )
+        {
+            return this.getInjectablesImplementing( Injector.getTypeArgument( genericType ) );
+        }
+        return this.getRequiredInstance( type, owner );
+    }
+
+    private Object getRequiredInstance( Class<?> type, Class<?> owner )
+    {
+        Object instance = this.getInjectableInstance( type );
+
+        if ( instance == null )
+        {
+            throw new InvalidInjectionContextException(
+                "Scoped injectable " + owner.getName() + " depends on " + type.getName() + ", which is not available in scope " + this.name
+            );
+        }
+        return instance;
+    }
+
+    private <T> Provider<T> createProvider( Class<T> type )
+    {
+        return new InjectableProvider<>( this::getInjectableInstance, type );
+    }
+
+    private void checkOpen()
+    {
+        if ( this.closed )
+        {
+            throw new InvalidInjectionContextException( "Scope " + this.name + " has already been closed" );
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.IntSupplier;
+
+/**
+ * A live int value of a {@link Configuration} class. Declare it as a {@link Value} field of the configuration and hold on
+ * to the handle: a reload updates the value of the same handle in place, so reading it never boxes or allocates.
+ */
+public final class IntConfigValue implements IntSupplier
+{
+
+    private volatile int value;
+
+    public IntConfigValue( int value )
+    {
+        this.value = value;
+    }
+
+    public int get()
+    {
+        return this.value;
+    }
+
+    @Override
+    public int getAsInt()
+    {
+        return this.value;
+    }
+
+    void update( Object configValue )
+    {
+        this.value = configValue instanceof Number number ? number.intValue() : Integer.parseInt( String.valueOf( configValue ) );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf( this.value );
+    }
+}
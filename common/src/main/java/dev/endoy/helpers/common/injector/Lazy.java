@@ -0,0 +1,17 @@
+package dev.endoy.helpers.common.injector;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a component, manager or service to only be created when it is first requested, either through
+ * {@link Injector#getInjectableInstance(Class)} or through an injected {@link Provider} or {@link java.util.function.Supplier}.
+ * Injecting a lazy injectable directly into the constructor of an eager injectable still creates it on startup.
+ */
+@Target( ElementType.TYPE )
+@Retention( RetentionPolicy.RUNTIME )
+public @interface Lazy
+{
+}
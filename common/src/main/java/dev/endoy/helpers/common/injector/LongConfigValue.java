@@ -0,0 +1,39 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The long counterpart of {@link IntConfigValue}.
+ */
+public final class LongConfigValue implements LongSupplier
+{
+
+    private volatile long value;
+
+    public LongConfigValue( long value )
+    {
+        this.value = value;
+    }
+
+    public long get()
+    {
+        return this.value;
+    }
+
+    @Override
+    public long getAsLong()
+    {
+        return this.value;
+    }
+
+    void update( Object configValue )
+    {
+        this.value = configValue instanceof Number number ? number.longValue() : Long.parseLong( String.valueOf( configValue ) );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.valueOf( this.value );
+    }
+}
@@ -0,0 +1,13 @@
+package dev.endoy.helpers.common.injector;
+
+import java.util.function.Supplier;
+
+/**
+ * Provides an injectable on demand. Injecting a provider instead of the injectable itself does not create the
+ * injectable until {@link #get()} is called for the first time, which allows {@link Lazy} injectables to stay lazy.
+ *
+ * @param <T> the type of the provided injectable
+ */
+public interface Provider<T> extends Supplier<T>
+{
+}
@@ -0,0 +1,150 @@
+package dev.endoy.helpers.common.injector;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The resolution plan of a scope: the {@link Scoped} injectables of the scope in the order they have to be created in,
+ * with their constructor, the source of every constructor argument, their {@link Inject} fields and their
+ * {@link PostConstruct} methods. The plan is computed once per scope name, so creating a scope does not need to scan
+ * or resolve anything.
+ */
+final class ScopePlan
+{
+
+    private final List<Step> steps;
+
+    private ScopePlan( List<Step> steps )
+    {
+        this.steps = steps;
+    }
+
+    static ScopePlan create( Injector injector, List<Class<?>> scopedClasses )
+    {
+        Map<Class<?>, Integer> indexes = new HashMap<>();
+        List<Step> steps = new ArrayList<>();
+        Set<Class<?>> visiting = new HashSet<>();
+
+        for ( Class<?> clazz : scopedClasses )
+        {
+            addStep( injector, clazz, scopedClasses, indexes, steps, visiting );
+        }
+
+        return new ScopePlan( List.copyOf( steps ) );
+    }
+
+    private static int addStep( Injector injector,
+                                Class<?> clazz,
+                                List<Class<?>> scopedClasses,
+                                Map<Class<?>, Integer> indexes,
+                                List<Step> steps,
+                                Set<Class<?>> visiting )
+    {
+        Integer index = indexes.get( clazz );
+        if ( index != null )
+        {
+            return index;
+        }
+        if ( !visiting.add( clazz ) )
+        {
+            throw new CircularDependencyException( "Circular dependency detected: " + clazz.getName() );
+        }
+
+        Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
+        Parameter[] parameters = constructor.getParameters();
+        Argument[] arguments = new Argument[parameters.length];
+
+        for ( int i = 0; i < parameters.length; i++ )
+        {
+            Parameter parameter = parameters[i];
+
+            if ( parameter.isAnnotationPresent( Value.class ) )
+            {
+                arguments[i] = new Argument( ArgumentKind.VALUE, -1, parameter.getType(), parameter );
+            }
+            else if ( parameter.getType().equals( ConfigurationSnapshot.class ) )
+            {
+                arguments[i] = new Argument( ArgumentKind.SNAPSHOT, -1, Injector.getTypeArgument( parameter.getParameterizedType() ), parameter );
+            }
+            else if ( parameter.getType().equals( Provider.class ) || parameter.getType().equals( Supplier.class ) )
+            {
+                arguments[i] = new Argument( ArgumentKind.PROVIDER, -1, Injector.getTypeArgument( parameter.getParameterizedType() ), parameter );
+            }
+            else if ( parameter.getType().equals( List.class ) )
+            {
+                arguments[i] = new Argument( ArgumentKind.ALL_OF_TYPE, -1, Injector.getTypeArgument( parameter.getParameterizedType() ), parameter );
+            }
+            else
+            {
+                Class<?> scopedClass = scopedClasses.stream()
+                    .filter( parameter.getType()::isAssignableFrom )
+                    .findFirst()
+                    .orElse( null );
+
+                arguments[i] = scopedClass == null
+                    ? new Argument( ArgumentKind.LOOKUP, -1, parameter.getType(), parameter )
+                    : new Argument( ArgumentKind.SCOPED, addStep( injector, scopedClass, scopedClasses, indexes, steps, visiting ), parameter.getType(), parameter );
+            }
+        }
+
+        constructor.setAccessible( true );
+
+        List<Field> injectFields = Arrays.stream( clazz.getDeclaredFields() )
+            .filter( field -> field.isAnnotationPresent( Inject.class ) )
+            .toList();
+        List<Method> postConstructs = Arrays.stream( clazz.getDeclaredMethods() )
+            .filter( method -> method.isAnnotationPresent( PostConstruct.class ) )
+            .peek( method ->
+            {
+                if ( method.getParameters().length != 0 )
+                {
+                    throw new PostConstructException( "PostConstruct method must not have any parameters: " + method.getName() + " in class " + clazz.getName() );
+                }
+            } )
+            .toList();
+
+        visiting.remove( clazz );
+        steps.add( new Step( clazz, constructor, injector.getGeneratedBindings().getConstructor( constructor ), arguments, injectFields, postConstructs ) );
+        indexes.put( clazz, steps.size() - 1 );
+        return steps.size() - 1;
+    }
+
+    List<Step> getSteps()
+    {
+        return this.steps;
+    }
+
+    enum ArgumentKind
+    {
+        /**
+         * An injectable that is created earlier in the same scope.
+         */
+        SCOPED,
+        /**
+         * An injectable that is looked up in the scope, its parent scopes or the injector.
+         */
+        LOOKUP,
+        PROVIDER,
+        SNAPSHOT,
+        ALL_OF_TYPE,
+        VALUE
+    }
+
+    record Argument(ArgumentKind kind, int stepIndex, Class<?> type, Parameter parameter)
+    {
+    }
+
+    record Step(Class<?> type,
+                Constructor<?> constructor,
+                Function<Object[], ?> generatedConstructor,
+                Argument[] arguments,
+                List<Field> injectFields,
+                List<Method> postConstructs)
+    {
+    }
+}
@@ -0,0 +1,19 @@
+package dev.endoy.helpers.common.injector;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an injectable to be created once per {@link InjectorScope} with the given name (e.g. once per player),
+ * instead of once per plugin. Scoped injectables can depend on the injectables of their parent injector.
+ */
+@Target( ElementType.TYPE )
+@Retention( RetentionPolicy.RUNTIME )
+public @interface Scoped
+{
+
+    String value();
+
+}
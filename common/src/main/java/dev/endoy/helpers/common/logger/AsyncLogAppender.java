@@ -0,0 +1,338 @@
+package dev.endoy.helpers.common.logger;
+
+import org.slf4j.event.Level;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves the actual logging of {@link Logger} calls to a background thread, so e.g. the main thread of a server does not
+ * wait for console I/O. Calls are put in a bounded, lock-free ring buffer of preallocated events; the message is only
+ * formatted on the background thread, so the arguments of a call should not be changed after logging them.
+ * <p>
+ * Only one appender is active at a time. Enable it through
+ * {@link dev.endoy.helpers.common.EndoyApplication#enableAsyncLogging(int, OverflowPolicy)}, so it is closed by
+ * {@link dev.endoy.helpers.common.EndoyApplication#disable()} and the remaining events are still logged. An appender
+ * that is enabled with {@link #enable(int, OverflowPolicy)} has to be closed by the caller.
+ */
+public final class AsyncLogAppender implements AutoCloseable
+{
+
+    private static final long IDLE_PARK_NANOS = 10_000_000;
+    private static final Logger LOGGER = Logger.forClass( AsyncLogAppender.class );
+    private static volatile AsyncLogAppender active;
+
+    private final LogEvent[] events;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final Thread thread;
+    private volatile long head;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    private AsyncLogAppender( int capacity, OverflowPolicy overflowPolicy )
+    {
+        int size = Integer.highestOneBit( Math.max( 2, capacity - 1 ) ) << 1;
+
+        this.events = new LogEvent[size];
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+
+        for ( int i = 0; i < size; i++ )
+        {
+            this.events[i] = new LogEvent( i );
+        }
+
+        this.thread = new Thread( this::run, "endoy-helpers-async-logger" );
+        this.thread.setDaemon( true );
+    }
+
+    /**
+     * Starts logging asynchronously. A previously enabled appender is closed.
+     *
+     * @param capacity       the number of events that can wait to be logged, rounded up to a power of two
+     * @param overflowPolicy what to do with events that are logged while the buffer is full
+     * @return the enabled appender
+     */
+    public static synchronized AsyncLogAppender enable( int capacity, OverflowPolicy overflowPolicy )
+    {
+        AsyncLogAppender appender = new AsyncLogAppender( capacity, overflowPolicy );
+        AsyncLogAppender previous = active;
+
+        appender.thread.start();
+        active = appender;
+
+        if ( previous != null )
+        {
+            previous.close();
+        }
+        return appender;
+    }
+
+    /**
+     * @return the active appender, or null if logging happens synchronously
+     */
+    public static AsyncLogAppender getActive()
+    {
+        return active;
+    }
+
+    public int getCapacity()
+    {
+        return this.events.length;
+    }
+
+    /**
+     * @return the number of events that were not logged because the buffer was full
+     */
+    public long getDroppedEvents()
+    {
+        return this.droppedEvents.sum();
+    }
+
+    /**
+     * @return the number of events that are waiting to be logged
+     */
+    public int getPendingEvents()
+    {
+        return (int) Math.max( 0, this.tail.get() - this.head );
+    }
+
+    /**
+     * Stops logging asynchronously and logs the events that are still waiting.
+     */
+    @Override
+    public void close()
+    {
+        synchronized ( AsyncLogAppender.class )
+        {
+            if ( active == this )
+            {
+                active = null;
+            }
+            if ( this.closed )
+            {
+                return;
+            }
+            this.closed = true;
+        }
+
+        LockSupport.unpark( this.thread );
+        try
+        {
+            this.thread.join();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Puts an event in the buffer.
+     *
+     * @return false if the event should be logged by the caller, because this appender has been closed
+     */
+    boolean append( org.slf4j.Logger logger, Level level, String message, Object[] arguments, Throwable throwable )
+    {
+        if ( this.closed )
+        {
+            return false;
+        }
+
+        if ( !this.tryAppend( logger, level, message, arguments, throwable ) )
+        {
+            if ( this.overflowPolicy == OverflowPolicy.DROP
+                || this.overflowPolicy == OverflowPolicy.SAMPLE && this.overflows.incrementAndGet() % OverflowPolicy.SAMPLE_RATE != 0 )
+            {
+                this.droppedEvents.increment();
+                return true;
+            }
+
+            do
+            {
+                if ( this.closed )
+                {
+                    return false;
+                }
+                LockSupport.unpark( this.thread );
+                LockSupport.parkNanos( 50_000 );
+            }
+            while ( !this.tryAppend( logger, level, message, arguments, throwable ) );
+        }
+
+        if ( this.closed && !this.thread.isAlive() )
+        {
+            // the event was added after the background thread logged the last events, so nobody else will log it
+            synchronized ( this )
+            {
+                this.drain();
+            }
+        }
+        else if ( this.sleeping )
+        {
+            LockSupport.unpark( this.thread );
+        }
+        return true;
+    }
+
+    private boolean tryAppend( org.slf4j.Logger logger, Level level, String message, Object[] arguments, Throwable throwable )
+    {
+        long position = this.tail.get();
+
+        while ( true )
+        {
+            LogEvent event = this.events[(int) position & this.mask];
+            long difference = event.sequence - position;
+
+            if ( difference == 0 )
+            {
+                if ( this.tail.compareAndSet( position, position + 1 ) )
+                {
+                    event.logger = logger;
+                    event.level = level;
+                    event.message = message;
+                    event.arguments = arguments;
+                    event.throwable = throwable;
+                    event.sequence = position + 1;
+                    return true;
+                }
+                position = this.tail.get();
+            }
+            else if ( difference < 0 )
+            {
+                return false;
+            }
+            else
+            {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    private void run()
+    {
+        while ( true )
+        {
+            if ( this.drain() )
+            {
+                continue;
+            }
+            if ( this.closed )
+            {
+                // callers that saw the appender open just before it was closed may still be adding their events, the
+                // thread only stops once every event that got a place in the buffer has been logged
+                while ( this.head != this.tail.get() )
+                {
+                    if ( !this.drain() )
+                    {
+                        Thread.onSpinWait();
+                    }
+                }
+                return;
+            }
+
+            this.sleeping = true;
+            if ( this.events[(int) this.head & this.mask].sequence != this.head + 1 && !this.closed )
+            {
+                LockSupport.parkNanos( this, IDLE_PARK_NANOS );
+            }
+            this.sleeping = false;
+        }
+    }
+
+    /**
+     * @return true if at least one event was logged
+     */
+    private boolean drain()
+    {
+        boolean drained = false;
+
+        while ( true )
+        {
+            LogEvent event = this.events[(int) this.head & this.mask];
+
+            if ( event.sequence != this.head + 1 )
+            {
+                return drained;
+            }
+
+            try
+            {
+                Logger.log( event.logger, event.level, event.message, event.arguments, event.throwable );
+            }
+            catch ( RuntimeException e )
+            {
+                this.reportFailure( event, e );
+            }
+
+            event.clear();
+            event.sequence = this.head + this.events.length;
+            this.head++;
+            drained = true;
+        }
+    }
+
+    private void reportFailure( LogEvent event, RuntimeException exception )
+    {
+        try
+        {
+            // logged synchronously, as appending to this appender from its own thread could wait for itself
+            LOGGER.logSynchronously( Level.ERROR, "Failed to log a message of logger " + event.logger.getName(), exception );
+        }
+        catch ( RuntimeException ignored )
+        {
+            // the logging backend itself is failing, there is nothing left to report it to
+        }
+    }
+
+    public enum OverflowPolicy
+    {
+
+        /**
+         * Events that are logged while the buffer is full are dropped.
+         */
+        DROP,
+        /**
+         * Callers wait until there is room in the buffer.
+         */
+        BLOCK,
+        /**
+         * While the buffer is full, one in every {@value #SAMPLE_RATE} events waits for room in the buffer and the others
+         * are dropped, so some events still get through without blocking every caller.
+         */
+        SAMPLE;
+
+        static final int SAMPLE_RATE = 100;
+
+    }
+
+    private static final class LogEvent
+    {
+
+        private volatile long sequence;
+        private org.slf4j.Logger logger;
+        private Level level;
+        private String message;
+        private Object[] arguments;
+        private Throwable throwable;
+
+        private LogEvent( long sequence )
+        {
+            this.sequence = sequence;
+        }
+
+        private void clear()
+        {
+            this.logger = null;
+            this.level = null;
+            this.message = null;
+            this.arguments = null;
+            this.throwable = null;
+        }
+    }
+}
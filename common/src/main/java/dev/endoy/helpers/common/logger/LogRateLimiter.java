@@ -0,0 +1,107 @@
+package dev.endoy.helpers.common.logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often the same call site (e.g. a log message or a failing task) is reported: per key, only the given number
+ * of calls is permitted per window, the others are counted and reported by the first permitted call of a later window.
+ * <p>
+ * Only a limited number of keys is tracked, calls for other keys are always permitted.
+ */
+public final class LogRateLimiter
+{
+
+    static final int MAX_CALL_SITES = 1024;
+
+    private final Map<Object, CallSite> callSites = new ConcurrentHashMap<>();
+    private final int permits;
+    private final Duration window;
+    private final long windowNanos;
+
+    /**
+     * @param permits the number of calls per key that are permitted per window
+     * @param window  the duration of a window
+     */
+    public LogRateLimiter( int permits, Duration window )
+    {
+        if ( permits < 1 )
+        {
+            throw new IllegalArgumentException( "At least one call per window must be permitted" );
+        }
+
+        this.permits = permits;
+        this.window = window;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Tries to permit a call for the given key.
+     *
+     * @param key the key identifying the call site, e.g. the message pattern
+     * @return -1 if the call should be suppressed, otherwise the number of calls that were suppressed since the
+     * previous permitted call
+     */
+    public long tryAcquire( Object key )
+    {
+        long now = System.nanoTime();
+        CallSite callSite = this.callSites.get( key );
+
+        if ( callSite == null )
+        {
+            if ( this.callSites.size() >= MAX_CALL_SITES )
+            {
+                return 0;
+            }
+            callSite = this.callSites.computeIfAbsent( key, k -> new CallSite( now ) );
+        }
+
+        long windowStart = callSite.windowStart.get();
+        if ( now - windowStart >= this.windowNanos && callSite.windowStart.compareAndSet( windowStart, now ) )
+        {
+            callSite.permitted.set( 0 );
+        }
+
+        if ( callSite.permitted.incrementAndGet() > this.permits )
+        {
+            callSite.suppressed.increment();
+            return -1;
+        }
+        return callSite.suppressed.sumThenReset();
+    }
+
+    /**
+     * @param suppressed the number of suppressed calls, as returned by {@link #tryAcquire(Object)}
+     * @return a message like "suppressed 1,243 identical messages in the last 10s"
+     */
+    public String getSuppressionMessage( long suppressed )
+    {
+        long millis = this.window.toMillis();
+        String window = millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms";
+
+        return String.format( Locale.ROOT, "suppressed %,d identical messages in the last %s", suppressed, window );
+    }
+
+    public Duration getWindow()
+    {
+        return this.window;
+    }
+
+    private static final class CallSite
+    {
+
+        private final AtomicLong windowStart;
+        private final AtomicInteger permitted = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+
+        private CallSite( long windowStart )
+        {
+            this.windowStart = new AtomicLong( windowStart );
+        }
+    }
+}
@@ -3,15 +3,20 @@ package dev.endoy.helpers.common.logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
+import java.time.Duration;
+
 public class Logger
 {
 
     private final org.slf4j.Logger logger;
     private final Class<?> currentClass;
+    private final LogRateLimiter rateLimiter;
+    private LevelCache levelCache = new LevelCache( -1, Level.INFO.toInt() );
 
     public Logger( Class<?> clazz )
     {
         this.currentClass = clazz;
+        this.rateLimiter = null;
 
         Thread currentThread = Thread.currentThread();
         ClassLoader previousClassLoader = currentThread.getContextClassLoader();
@@ -28,16 +33,38 @@ public class Logger
         }
     }
 
+    private Logger( Logger logger, LogRateLimiter rateLimiter )
+    {
+        this.logger = logger.logger;
+        this.currentClass = logger.currentClass;
+        this.rateLimiter = rateLimiter;
+    }
+
     public static Logger forClass( Class<?> clazz )
     {
         return new Logger( clazz );
     }
 
+    /**
+     * Creates a logger for the same class that logs the same message at most the given number of times per window.
+     * Repeated messages are counted instead, the count is appended to the first message of a later window.
+     * Messages are identified by their pattern, so use arguments rather than concatenation for varying parts that
+     * should not count as another message.
+     *
+     * @param permits the number of times the same message is logged per window
+     * @param window  the duration of a window
+     * @return the rate limited logger
+     */
+    public Logger rateLimited( int permits, Duration window )
+    {
+        return new Logger( this, new LogRateLimiter( permits, window ) );
+    }
+
     public void error( String message )
     {
         if ( this.isAtLoggingLevel( Level.ERROR ) )
         {
-            this.logger.error( message );
+            this.log( Level.ERROR, message, null, null );
         }
     }
 
@@ -45,7 +72,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.ERROR ) )
         {
-            this.logger.error( message, throwable );
+            this.log( Level.ERROR, message, null, throwable );
         }
     }
 
@@ -53,7 +80,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.ERROR ) )
         {
-            this.logger.error( message, args );
+            this.log( Level.ERROR, message, args, null );
         }
     }
 
@@ -61,7 +88,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.WARN ) )
         {
-            this.logger.warn( message );
+            this.log( Level.WARN, message, null, null );
         }
     }
 
@@ -69,7 +96,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.WARN ) )
         {
-            this.logger.warn( message, throwable );
+            this.log( Level.WARN, message, null, throwable );
         }
     }
 
@@ -77,7 +104,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.WARN ) )
         {
-            this.logger.warn( message, args );
+            this.log( Level.WARN, message, args, null );
         }
     }
 
@@ -85,7 +112,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.INFO ) )
         {
-            this.logger.info( message );
+            this.log( Level.INFO, message, null, null );
         }
     }
 
@@ -93,7 +120,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.INFO ) )
         {
-            this.logger.info( message, throwable );
+            this.log( Level.INFO, message, null, throwable );
         }
     }
 
@@ -101,7 +128,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.INFO ) )
         {
-            this.logger.info( message, args );
+            this.log( Level.INFO, message, args, null );
         }
     }
 
@@ -109,7 +136,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.DEBUG ) )
         {
-            this.logger.debug( message );
+            this.log( Level.DEBUG, message, null, null );
         }
     }
 
@@ -117,7 +144,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.DEBUG ) )
         {
-            this.logger.debug( message, throwable );
+            this.log( Level.DEBUG, message, null, throwable );
         }
     }
 
@@ -125,7 +152,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.DEBUG ) )
         {
-            this.logger.debug( message, args );
+            this.log( Level.DEBUG, message, args, null );
         }
     }
 
@@ -133,7 +160,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.TRACE ) )
         {
-            this.logger.trace( message );
+            this.log( Level.TRACE, message, null, null );
         }
     }
 
@@ -141,7 +168,7 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.TRACE ) )
         {
-            this.logger.trace( message, throwable );
+            this.log( Level.TRACE, message, null, throwable );
         }
     }
 
@@ -149,12 +176,134 @@ public class Logger
     {
         if ( this.isAtLoggingLevel( Level.TRACE ) )
         {
-            this.logger.trace( message, args );
+            this.log( Level.TRACE, message, args, null );
+        }
+    }
+
+    private void log( Level level, String message, Object[] arguments, Throwable throwable )
+    {
+        if ( this.rateLimiter != null )
+        {
+            long suppressed = this.rateLimiter.tryAcquire( message );
+
+            if ( suppressed < 0 )
+            {
+                return;
+            }
+            if ( suppressed > 0 )
+            {
+                message = message + " (" + this.rateLimiter.getSuppressionMessage( suppressed ) + ")";
+            }
+        }
+        this.append( level, message, arguments, throwable );
+    }
+
+    private void append( Level level, String message, Object[] arguments, Throwable throwable )
+    {
+        AsyncLogAppender appender = AsyncLogAppender.getActive();
+
+        if ( appender == null || !appender.append( this.logger, level, message, arguments, throwable ) )
+        {
+            log( this.logger, level, message, arguments, throwable );
         }
     }
 
+    /**
+     * Logs on the calling thread, without rate limiting and without going through the {@link AsyncLogAppender}.
+     */
+    void logSynchronously( Level level, String message, Throwable throwable )
+    {
+        if ( this.isAtLoggingLevel( level ) )
+        {
+            log( this.logger, level, message, null, throwable );
+        }
+    }
+
+    static void log( org.slf4j.Logger logger, Level level, String message, Object[] arguments, Throwable throwable )
+    {
+        switch ( level )
+        {
+            case ERROR ->
+            {
+                if ( throwable != null )
+                {
+                    logger.error( message, throwable );
+                }
+                else
+                {
+                    logger.error( message, arguments );
+                }
+            }
+            case WARN ->
+            {
+                if ( throwable != null )
+                {
+                    logger.warn( message, throwable );
+                }
+                else
+                {
+                    logger.warn( message, arguments );
+                }
+            }
+            case INFO ->
+            {
+                if ( throwable != null )
+                {
+                    logger.info( message, throwable );
+                }
+                else
+                {
+                    logger.info( message, arguments );
+                }
+            }
+            case DEBUG ->
+            {
+                if ( throwable != null )
+                {
+                    logger.debug( message, throwable );
+                }
+                else
+                {
+                    logger.debug( message, arguments );
+                }
+            }
+            case TRACE ->
+            {
+                if ( throwable != null )
+                {
+                    logger.trace( message, throwable );
+                }
+                else
+                {
+                    logger.trace( message, arguments );
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if debug messages are logged, to guard debug messages that are expensive to build
+     */
+    public boolean isDebugEnabled()
+    {
+        return this.isAtLoggingLevel( Level.DEBUG );
+    }
+
     private boolean isAtLoggingLevel( Level level )
     {
-        return LoggingConfig.getLoggingLevel( this.currentClass ).toInt() <= level.toInt();
+        int version = LoggingConfig.getVersion();
+        LevelCache levelCache = this.levelCache;
+
+        // the level is only resolved again after a logging level was changed
+        if ( levelCache.version() != version )
+        {
+            levelCache = new LevelCache( version, LoggingConfig.getLoggingLevel( this.currentClass ).toInt() );
+            this.levelCache = levelCache;
+        }
+        return levelCache.level() <= level.toInt();
+    }
+
+    private record LevelCache(int version, int level)
+    {
     }
 }
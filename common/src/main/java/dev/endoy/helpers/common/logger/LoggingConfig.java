@@ -5,28 +5,109 @@ import org.slf4j.event.Level;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Holds the logging levels per package or class. The most specific configured level applies: a level set for a class
+ * wins over a level set for its package, which wins over a level set for a parent package.
+ * <p>
+ * Every change increments a version, so a {@link Logger} only resolves its level again after a level was changed.
+ */
 public class LoggingConfig
 {
 
-    private static final Map<String, Level> LOGGING_LEVELS = new ConcurrentHashMap<>();
+    private static final Node ROOT = new Node();
+    private static volatile int version;
 
     public static void setLoggingLevel( String packageName, Level level )
     {
-        LOGGING_LEVELS.put( packageName, level );
+        synchronized ( ROOT )
+        {
+            Node node = ROOT;
+            for ( String segment : packageName.split( "\\." ) )
+            {
+                node = node.children.computeIfAbsent( segment, key -> new Node() );
+            }
+            node.level = level;
+
+            // the version is bumped after the level is set, so a logger that sees the new version also sees the new level
+            version++;
+        }
     }
 
     public static void setLoggingLevel( Class<?> clazz, Level level )
     {
-        LOGGING_LEVELS.put( clazz.getName(), level );
+        setLoggingLevel( clazz.getName(), level );
+    }
+
+    /**
+     * Removes the level set for the given package or class, so the level of its parent package applies again.
+     *
+     * @param packageName the package or class name the level was set for
+     */
+    public static void resetLoggingLevel( String packageName )
+    {
+        synchronized ( ROOT )
+        {
+            Node node = ROOT;
+            for ( String segment : packageName.split( "\\." ) )
+            {
+                node = node.children.get( segment );
+
+                if ( node == null )
+                {
+                    return;
+                }
+            }
+            node.level = null;
+            version++;
+        }
     }
 
     public static Level getLoggingLevel( Class<?> clazz )
     {
-        return LOGGING_LEVELS.entrySet()
-            .stream()
-            .filter( it -> it.getKey().equals( clazz.getName() ) || clazz.getPackageName().startsWith( it.getKey() ) )
-            .findFirst()
-            .map( Map.Entry::getValue )
-            .orElse( Level.INFO );
+        return getLoggingLevel( clazz.getName() );
+    }
+
+    /**
+     * @param name the name of a class
+     * @return the most specific level configured for the class or one of its packages, or {@link Level#INFO}
+     */
+    public static Level getLoggingLevel( String name )
+    {
+        Level level = Level.INFO;
+        Node node = ROOT;
+        int start = 0;
+
+        while ( node != null && start <= name.length() )
+        {
+            int end = name.indexOf( '.', start );
+            if ( end == -1 )
+            {
+                end = name.length();
+            }
+
+            node = node.children.get( name.substring( start, end ) );
+            if ( node != null && node.level != null )
+            {
+                level = node.level;
+            }
+            start = end + 1;
+        }
+        return level;
+    }
+
+    /**
+     * @return the number of times a logging level was changed
+     */
+    static int getVersion()
+    {
+        return version;
+    }
+
+    private static final class Node
+    {
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private volatile Level level;
+
     }
 }
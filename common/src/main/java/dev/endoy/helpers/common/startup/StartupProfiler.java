@@ -0,0 +1,265 @@
+package dev.endoy.helpers.common.startup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the steps of starting an application take and how much memory they allocate.
+ * Measurements can be taken from multiple threads at once. Work that a step hands off to other threads should be
+ * wrapped with {@link #measureWorker(Callable)}, so its allocations are added to that step.
+ */
+public class StartupProfiler
+{
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+    private static final StartupProfiler DISABLED = new StartupProfiler( false );
+    private static final ThreadLocal<Boolean> WORKER = ThreadLocal.withInitial( () -> false );
+    private static final long NESTED_WORKER = Long.MIN_VALUE;
+
+    private final boolean enabled;
+    private final Queue<StartupReport.Entry> entries = new ConcurrentLinkedQueue<>();
+    private final LongAdder workerAllocatedBytes = new LongAdder();
+    private final long startTime = System.nanoTime();
+    private volatile StartupReport finishedReport;
+
+    public StartupProfiler()
+    {
+        this( true );
+    }
+
+    private StartupProfiler( boolean enabled )
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return a profiler that does not record anything
+     */
+    public static StartupProfiler disabled()
+    {
+        return DISABLED;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean()
+    {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        if ( threadMXBean instanceof com.sun.management.ThreadMXBean sunThreadMXBean && sunThreadMXBean.isThreadAllocatedMemorySupported() )
+        {
+            return sunThreadMXBean;
+        }
+        return null;
+    }
+
+    private static long getAllocatedBytes()
+    {
+        if ( THREAD_MX_BEAN == null || !THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled() )
+        {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Starts measuring a step. The measurement is recorded when it is closed, so it should be used in a try-with-resources block.
+     *
+     * @param category the category of the step
+     * @param name     the name of the step, e.g. the class name of the injectable that is being created
+     * @return the running measurement
+     */
+    public Measurement measure( StartupReport.Category category, String name )
+    {
+        if ( !this.enabled || this.finishedReport != null )
+        {
+            return Measurement.NONE;
+        }
+        return new Measurement( this, category, name, System.nanoTime(), getAllocatedBytes(), this.getWorkerAllocatedBytes() );
+    }
+
+    /**
+     * Wraps a task that runs on another thread for the steps that are being measured, e.g. on a pool that creates
+     * injectables in parallel. The memory the task allocates is added to the measurements that are running on
+     * threads that are not such workers themselves. Measurements taken within the task only count their own thread.
+     *
+     * @param task the task to wrap
+     * @param <T>  the result type of the task
+     * @return the wrapped task
+     */
+    public <T> Callable<T> measureWorker( Callable<T> task )
+    {
+        if ( !this.enabled )
+        {
+            return task;
+        }
+
+        return () ->
+        {
+            long startAllocatedBytes = this.startWorker();
+
+            try
+            {
+                return task.call();
+            }
+            finally
+            {
+                this.finishWorker( startAllocatedBytes );
+            }
+        };
+    }
+
+    /**
+     * @see #measureWorker(Callable)
+     */
+    public Runnable measureWorker( Runnable task )
+    {
+        if ( !this.enabled )
+        {
+            return task;
+        }
+
+        return () ->
+        {
+            long startAllocatedBytes = this.startWorker();
+
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                this.finishWorker( startAllocatedBytes );
+            }
+        };
+    }
+
+    private long startWorker()
+    {
+        // a task that runs within another task is already counted by the outer one
+        if ( WORKER.get() )
+        {
+            return NESTED_WORKER;
+        }
+
+        WORKER.set( true );
+        return getAllocatedBytes();
+    }
+
+    private void finishWorker( long startAllocatedBytes )
+    {
+        if ( startAllocatedBytes == NESTED_WORKER )
+        {
+            return;
+        }
+
+        WORKER.set( false );
+
+        long allocatedBytes = getAllocatedBytes();
+        if ( startAllocatedBytes >= 0 && allocatedBytes >= 0 )
+        {
+            this.workerAllocatedBytes.add( allocatedBytes - startAllocatedBytes );
+        }
+    }
+
+    /**
+     * @return the allocations of the workers so far, or -1 if they are not added to measurements on the current thread
+     */
+    private long getWorkerAllocatedBytes()
+    {
+        return WORKER.get() ? -1 : this.workerAllocatedBytes.sum();
+    }
+
+    /**
+     * @return a report of all measurements that have been recorded so far, or the final report once the profiler is finished
+     */
+    public StartupReport createReport()
+    {
+        StartupReport finishedReport = this.finishedReport;
+
+        if ( finishedReport != null )
+        {
+            return finishedReport;
+        }
+        return new StartupReport( System.nanoTime() - this.startTime, new ArrayList<>( this.entries ) );
+    }
+
+    /**
+     * Stops recording measurements, so steps that run after startup (e.g. configuration saves) do not keep adding entries.
+     *
+     * @return the final report, which is returned by {@link #createReport()} from now on
+     */
+    public synchronized StartupReport finish()
+    {
+        if ( this.finishedReport == null )
+        {
+            this.finishedReport = this.createReport();
+            this.entries.clear();
+        }
+        return this.finishedReport;
+    }
+
+    public static class Measurement implements AutoCloseable
+    {
+
+        private static final Measurement NONE = new Measurement( null, null, null, 0, 0, 0 );
+
+        private final StartupProfiler profiler;
+        private final StartupReport.Category category;
+        private final String name;
+        private final long startTime;
+        private final long startAllocatedBytes;
+        private final long startWorkerAllocatedBytes;
+
+        private Measurement( StartupProfiler profiler,
+                             StartupReport.Category category,
+                             String name,
+                             long startTime,
+                             long startAllocatedBytes,
+                             long startWorkerAllocatedBytes )
+        {
+            this.profiler = profiler;
+            this.category = category;
+            this.name = name;
+            this.startTime = startTime;
+            this.startAllocatedBytes = startAllocatedBytes;
+            this.startWorkerAllocatedBytes = startWorkerAllocatedBytes;
+        }
+
+        @Override
+        public void close()
+        {
+            // measurements that were still running when the profiler finished are not part of the report anymore
+            if ( this.profiler == null || this.profiler.finishedReport != null )
+            {
+                return;
+            }
+
+            long allocatedBytes = getAllocatedBytes();
+            if ( allocatedBytes >= 0 && this.startAllocatedBytes >= 0 )
+            {
+                allocatedBytes -= this.startAllocatedBytes;
+
+                if ( this.startWorkerAllocatedBytes >= 0 )
+                {
+                    allocatedBytes += this.profiler.workerAllocatedBytes.sum() - this.startWorkerAllocatedBytes;
+                }
+            }
+            else
+            {
+                allocatedBytes = -1;
+            }
+
+            this.profiler.entries.add( new StartupReport.Entry(
+                this.category,
+                this.name,
+                System.nanoTime() - this.startTime,
+                allocatedBytes,
+                Thread.currentThread().getName()
+            ) );
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package dev.endoy.helpers.common.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timings and allocations recorded by a {@link StartupProfiler}.
+ */
+public class StartupReport
+{
+
+    private static final Set<Category> BEAN_CATEGORIES = EnumSet.of( Category.CONSTRUCTOR, Category.BEAN_METHOD, Category.POST_CONSTRUCT );
+
+    private final long totalNanos;
+    private final List<Entry> entries;
+
+    StartupReport( long totalNanos, List<Entry> entries )
+    {
+        this.totalNanos = totalNanos;
+        this.entries = List.copyOf( entries );
+    }
+
+    /**
+     * @return the time between the creation of the profiler and the creation of this report, in nanoseconds
+     */
+    public long getTotalNanos()
+    {
+        return this.totalNanos;
+    }
+
+    /**
+     * @return all recorded entries, in the order they finished in
+     */
+    public List<Entry> getEntries()
+    {
+        return this.entries;
+    }
+
+    public List<Entry> getEntries( Category category )
+    {
+        return this.entries.stream()
+            .filter( entry -> entry.category() == category )
+            .toList();
+    }
+
+    /**
+     * @param limit the maximum amount of entries to return
+     * @return the constructors, bean methods and post constructs that took the longest, slowest first
+     */
+    public List<Entry> getSlowestBeans( int limit )
+    {
+        return this.entries.stream()
+            .filter( entry -> BEAN_CATEGORIES.contains( entry.category() ) )
+            .sorted( Comparator.comparingLong( Entry::durationNanos ).reversed() )
+            .limit( limit )
+            .toList();
+    }
+
+    /**
+     * @return the amount of bytes allocated in all phases, or -1 if the JVM does not support measuring allocations
+     */
+    public long getAllocatedBytes()
+    {
+        List<Entry> phases = this.getEntries( Category.PHASE );
+
+        if ( phases.isEmpty() || phases.stream().anyMatch( entry -> entry.allocatedBytes() < 0 ) )
+        {
+            return -1;
+        }
+        return phases.stream().mapToLong( Entry::allocatedBytes ).sum();
+    }
+
+    /**
+     * Formats the slowest beans as a table, e.g. to log them.
+     *
+     * @param limit the maximum amount of beans in the table
+     * @return the formatted table
+     */
+    public String toSlowestBeansTable( int limit )
+    {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append( String.format( "%-16s %10s %12s  %s%n", "Type", "Time (ms)", "Allocated", "Name" ) );
+        for ( Entry entry : this.getSlowestBeans( limit ) )
+        {
+            builder.append( String.format(
+                "%-16s %10.3f %12s  %s%n",
+                entry.category(),
+                entry.durationNanos() / (double) TimeUnit.MILLISECONDS.toNanos( 1 ),
+                entry.allocatedBytes() < 0 ? "-" : formatBytes( entry.allocatedBytes() ),
+                entry.name()
+            ) );
+        }
+
+        return builder.toString();
+    }
+
+    public String toJson()
+    {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append( "{\n" )
+            .append( "  \"totalNanos\": " ).append( this.totalNanos ).append( ",\n" )
+            .append( "  \"allocatedBytes\": " ).append( this.getAllocatedBytes() ).append( ",\n" )
+            .append( "  \"entries\": [" );
+
+        for ( int i = 0; i < this.entries.size(); i++ )
+        {
+            Entry entry = this.entries.get( i );
+
+            builder.append( i == 0 ? "\n" : ",\n" )
+                .append( "    { \"category\": \"" ).append( entry.category() ).append( "\"" )
+                .append( ", \"name\": " ).append( quote( entry.name() ) )
+                .append( ", \"durationNanos\": " ).append( entry.durationNanos() )
+                .append( ", \"allocatedBytes\": " ).append( entry.allocatedBytes() )
+                .append( ", \"thread\": " ).append( quote( entry.thread() ) )
+                .append( " }" );
+        }
+
+        return builder.append( this.entries.isEmpty() ? "]\n}" : "\n  ]\n}" ).toString();
+    }
+
+    public void writeJson( Path path ) throws IOException
+    {
+        if ( path.getParent() != null )
+        {
+            Files.createDirectories( path.getParent() );
+        }
+        Files.writeString( path, this.toJson(), StandardCharsets.UTF_8 );
+    }
+
+    private static String formatBytes( long bytes )
+    {
+        if ( bytes < 1024 )
+        {
+            return bytes + " B";
+        }
+        if ( bytes < 1024 * 1024 )
+        {
+            return String.format( "%.1f KB", bytes / 1024D );
+        }
+        return String.format( "%.1f MB", bytes / ( 1024D * 1024D ) );
+    }
+
+    private static String quote( String value )
+    {
+        StringBuilder builder = new StringBuilder( value.length() + 2 ).append( '"' );
+
+        for ( char character : value.toCharArray() )
+        {
+            switch ( character )
+            {
+                case '"' -> builder.append( "\\\"" );
+                case '\\' -> builder.append( "\\\\" );
+                case '\n' -> builder.append( "\\n" );
+                case '\r' -> builder.append( "\\r" );
+                case '\t' -> builder.append( "\\t" );
+                default ->
+                {
+                    if ( character < 0x20 )
+                    {
+                        builder.append( String.format( "\\u%04x", (int) character ) );
+                    }
+                    else
+                    {
+                        builder.append( character );
+                    }
+                }
+            }
+        }
+
+        return builder.append( '"' ).toString();
+    }
+
+    public enum Category
+    {
+        SCAN,
+        PHASE,
+        CONSTRUCTOR,
+        BEAN_METHOD,
+        POST_CONSTRUCT,
+        CONFIGURATION_LOAD,
+        CONFIGURATION_SAVE
+    }
+
+    /**
+     * A single measurement.
+     *
+     * @param category       the category of the measured step
+     * @param name           the name of the measured step
+     * @param durationNanos  how long the step took, in nanoseconds
+     * @param allocatedBytes the amount of bytes the step allocated on its thread and on the workers it handed work off
+     *                       to, or -1 if this could not be measured
+     * @param thread         the name of the thread the step ran on
+     */
+    public record Entry(Category category, String name, long durationNanos, long allocatedBytes, String thread)
+    {
+    }
+}
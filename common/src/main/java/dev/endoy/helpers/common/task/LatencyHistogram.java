@@ -0,0 +1,94 @@
+package dev.endoy.helpers.common.task;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A lock-free histogram of durations in nanoseconds with a log-linear bucket layout, like an HDR histogram: every power
+ * of two is split in {@value #SUB_BUCKETS} linear buckets, so recorded values are kept with a precision of about 6%
+ * while the histogram has a fixed size.
+ */
+class LatencyHistogram
+{
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + ( 63 - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+    private final LongAccumulator max = new LongAccumulator( Math::max, 0 );
+
+    static int getIndex( long value )
+    {
+        if ( value < SUB_BUCKETS )
+        {
+            return (int) Math.max( 0, value );
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros( value );
+        int subBucket = (int) ( value >>> ( exponent - SUB_BUCKET_BITS ) ) - SUB_BUCKETS;
+
+        return SUB_BUCKETS + ( exponent - SUB_BUCKET_BITS ) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the highest value that is recorded in the bucket with the given index
+     */
+    static long getHighestValue( int index )
+    {
+        if ( index < SUB_BUCKETS )
+        {
+            return index;
+        }
+
+        int bucket = index - SUB_BUCKETS;
+        int shift = bucket / SUB_BUCKETS;
+
+        return ( (long) ( SUB_BUCKETS + bucket % SUB_BUCKETS + 1 ) << shift ) - 1;
+    }
+
+    void record( long value )
+    {
+        this.counts.incrementAndGet( getIndex( value ) );
+        this.max.accumulate( value );
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the (highest equivalent) value below which the given percentage of the recorded values fall, or 0 if
+     * nothing was recorded
+     */
+    long getValueAtPercentile( double percentile )
+    {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            counts[i] = this.counts.get( i );
+            total += counts[i];
+        }
+        if ( total == 0 )
+        {
+            return 0;
+        }
+
+        long rank = Math.max( 1, (long) Math.ceil( percentile / 100 * total ) );
+        long seen = 0;
+
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            seen += counts[i];
+            if ( seen >= rank )
+            {
+                return Math.min( getHighestValue( i ), this.getMax() );
+            }
+        }
+        return this.getMax();
+    }
+
+    long getMax()
+    {
+        return this.max.get();
+    }
+}
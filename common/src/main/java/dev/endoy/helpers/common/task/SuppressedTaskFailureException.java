@@ -0,0 +1,21 @@
+package dev.endoy.helpers.common.task;
+
+/**
+ * Thrown by a task that failed while the logging of its failures is rate limited. An instrumented task records the run
+ * as failed, but does not rethrow this exception, so the scheduler does not log it either.
+ */
+public class SuppressedTaskFailureException extends TaskExecutionException
+{
+
+    public SuppressedTaskFailureException( Throwable cause )
+    {
+        super( cause );
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace()
+    {
+        // only used as a marker, the cause has the stack of the failure
+        return this;
+    }
+}
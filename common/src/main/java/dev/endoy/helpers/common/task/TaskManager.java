@@ -57,11 +57,11 @@ public interface TaskManager
             {
                 long delay = timeToNextExecution.toMillis();
 
-                runTaskLater( () ->
+                runTaskLater( TaskMetrics.named( TaskMetrics.getName( runnable ), () ->
                 {
                     runnable.run();
                     runTaskCron( runnable, cron, async );
-                }, async, delay, TimeUnit.MILLISECONDS );
+                } ), async, delay, TimeUnit.MILLISECONDS );
             } );
     }
 
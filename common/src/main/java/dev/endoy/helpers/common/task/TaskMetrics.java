@@ -0,0 +1,377 @@
+package dev.endoy.helpers.common.task;
+
+import dev.endoy.helpers.common.logger.LogRateLimiter;
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the execution statistics of the tasks that are scheduled by a {@link TaskManager}. Statistics are kept per
+ * task name: {@link dev.endoy.helpers.common.injector.Task} methods are named after their class and method, other
+ * tasks after the class that created them unless they are wrapped in {@link #named(String, Runnable)}.
+ * <p>
+ * Synchronous runs that take longer than the {@link #setSlowTaskBudget(Duration) slow task budget} are logged, together
+ * with the stack of the task at the moment it exceeded its budget. A single watchdog thread samples the run that is
+ * currently active on each thread, so a run itself only marks its start and end.
+ */
+public final class TaskMetrics
+{
+
+    private static final Logger LOGGER = Logger.forClass( TaskMetrics.class );
+    private static final LogRateLimiter SLOW_RUNS = new LogRateLimiter( 1, Duration.ofSeconds( 10 ) );
+    private static final Map<String, TaskStats> STATS = new ConcurrentHashMap<>();
+    private static final long WATCHDOG_IDLE_NANOS = TimeUnit.SECONDS.toNanos( 30 );
+    private static final List<RunSlot> RUN_SLOTS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<RunSlot> RUN_SLOT = ThreadLocal.withInitial( () ->
+    {
+        RunSlot slot = new RunSlot( Thread.currentThread() );
+        RUN_SLOTS.add( slot );
+        return slot;
+    } );
+    private static volatile long slowTaskBudgetNanos = TimeUnit.MILLISECONDS.toNanos( 50 );
+    private static volatile Thread watchdog;
+
+    private TaskMetrics()
+    {
+    }
+
+    /**
+     * Names a task, so its statistics can be found by that name.
+     *
+     * @param name     the name of the task
+     * @param runnable the task
+     * @return the named task
+     */
+    public static Runnable named( String name, Runnable runnable )
+    {
+        return new NamedTask( name, runnable );
+    }
+
+    /**
+     * Wraps a task so the statistics of its runs are recorded. Used by the {@link TaskManager} implementations.
+     *
+     * @param runnable the task
+     * @param async    whether the task runs asynchronously
+     * @param period   the period of a repeating task, or 0
+     * @param timeUnit the unit of the period
+     * @return the instrumented task
+     */
+    public static Runnable instrument( Runnable runnable, boolean async, long period, TimeUnit timeUnit )
+    {
+        if ( runnable instanceof InstrumentedTask )
+        {
+            return runnable;
+        }
+
+        String name = getName( runnable );
+        return new InstrumentedTask( STATS.computeIfAbsent( name, TaskStats::new ), runnable, async, timeUnit.toNanos( period ) );
+    }
+
+    /**
+     * @param name the name of the task
+     * @return the statistics of the task, or null if it did not run yet
+     */
+    public static TaskStats getStats( String name )
+    {
+        return STATS.get( name );
+    }
+
+    /**
+     * @return the statistics of all tasks by their name
+     */
+    public static Map<String, TaskStats> getAllStats()
+    {
+        return Collections.unmodifiableMap( STATS );
+    }
+
+    /**
+     * Sets the duration a synchronous run may take before it is logged, {@link Duration#ZERO} disables these logs.
+     *
+     * @param budget the budget of a synchronous run
+     */
+    public static void setSlowTaskBudget( Duration budget )
+    {
+        slowTaskBudgetNanos = budget.toNanos();
+    }
+
+    public static Duration getSlowTaskBudget()
+    {
+        return Duration.ofNanos( slowTaskBudgetNanos );
+    }
+
+    /**
+     * Removes the statistics of all tasks.
+     */
+    public static void reset()
+    {
+        STATS.clear();
+    }
+
+    static String getName( Runnable runnable )
+    {
+        if ( runnable instanceof NamedTask namedTask )
+        {
+            return namedTask.name();
+        }
+
+        // lambdas are named after the class that declared them
+        String name = runnable.getClass().getName();
+        int lambdaIndex = name.indexOf( "$$Lambda" );
+
+        return lambdaIndex == -1 ? name : name.substring( 0, lambdaIndex );
+    }
+
+    private static void ensureWatchdog()
+    {
+        if ( watchdog == null )
+        {
+            startWatchdog();
+        }
+    }
+
+    private static synchronized void startWatchdog()
+    {
+        if ( watchdog == null )
+        {
+            Thread thread = new Thread( TaskMetrics::runWatchdog, "endoy-helpers-task-watchdog" );
+            thread.setDaemon( true );
+            watchdog = thread;
+            thread.start();
+        }
+    }
+
+    private static void runWatchdog()
+    {
+        long lastActive = System.nanoTime();
+
+        while ( true )
+        {
+            long budgetMillis = TimeUnit.NANOSECONDS.toMillis( slowTaskBudgetNanos );
+
+            try
+            {
+                // a stack is taken at most a quarter of the budget after the run exceeded it
+                Thread.sleep( budgetMillis > 0 ? Math.max( 1, budgetMillis / 4 ) : 1000 );
+            }
+            catch ( InterruptedException e )
+            {
+                watchdog = null;
+                return;
+            }
+
+            long now = System.nanoTime();
+            if ( sampleRunSlots( now ) )
+            {
+                lastActive = now;
+            }
+            else if ( now - lastActive > WATCHDOG_IDLE_NANOS && stopWatchdog() )
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return true if a run is active on any thread
+     */
+    private static boolean sampleRunSlots( long now )
+    {
+        boolean active = false;
+
+        for ( RunSlot slot : RUN_SLOTS )
+        {
+            active |= slot.sample( now );
+        }
+        return active;
+    }
+
+    /**
+     * Stops the idle watchdog, so no thread is kept around, e.g. after the plugin has been disabled. The next run
+     * starts a new watchdog.
+     *
+     * @return false if a run started in the meantime, in which case the watchdog keeps running
+     */
+    private static synchronized boolean stopWatchdog()
+    {
+        watchdog = null;
+
+        // a run that started before the watchdog was cleared did not start a new one, so it is sampled by this one
+        if ( sampleRunSlots( System.nanoTime() ) )
+        {
+            watchdog = Thread.currentThread();
+            return false;
+        }
+
+        RUN_SLOTS.removeIf( slot -> !slot.thread.isAlive() );
+        return true;
+    }
+
+    private record NamedTask(String name, Runnable runnable) implements Runnable
+    {
+
+        @Override
+        public void run()
+        {
+            this.runnable.run();
+        }
+    }
+
+    private record InstrumentedTask(TaskStats stats, Runnable runnable, boolean async, long periodNanos) implements Runnable
+    {
+
+        @Override
+        public void run()
+        {
+            long budgetNanos = this.async ? 0 : slowTaskBudgetNanos;
+            RunSlot slot = budgetNanos > 0 ? RUN_SLOT.get() : null;
+            long start = System.nanoTime();
+            long runId = slot == null ? 0 : slot.start( start + budgetNanos );
+            boolean failed = true;
+
+            try
+            {
+                this.runnable.run();
+                failed = false;
+            }
+            catch ( SuppressedTaskFailureException e )
+            {
+                // the failure is recorded, but not logged
+            }
+            finally
+            {
+                long nanos = System.nanoTime() - start;
+                StackTraceElement[] stackTrace = runId == 0 ? null : slot.finish( runId );
+                boolean slow = budgetNanos > 0 && nanos > budgetNanos;
+
+                this.stats.record( nanos, this.async, failed, this.periodNanos > 0 && nanos > this.periodNanos, slow );
+
+                if ( slow )
+                {
+                    this.logSlowRun( nanos, budgetNanos, stackTrace );
+                }
+            }
+        }
+
+        private void logSlowRun( long nanos, long budgetNanos, StackTraceElement[] stackTrace )
+        {
+            long suppressed = SLOW_RUNS.tryAcquire( this.stats.getName() );
+            if ( suppressed < 0 )
+            {
+                return;
+            }
+
+            String message = "Synchronous task " + this.stats.getName() + " took " + TimeUnit.NANOSECONDS.toMillis( nanos )
+                + "ms, more than its budget of " + TimeUnit.NANOSECONDS.toMillis( budgetNanos ) + "ms";
+            if ( suppressed > 0 )
+            {
+                message += " (" + SLOW_RUNS.getSuppressionMessage( suppressed ) + ")";
+            }
+
+            if ( stackTrace == null )
+            {
+                LOGGER.warn( message );
+            }
+            else
+            {
+                LOGGER.warn( message, new SlowRunStackTrace( stackTrace ) );
+            }
+        }
+    }
+
+    /**
+     * The run that is currently active on a thread. It is only written by that thread and sampled by the watchdog, so a
+     * run does not allocate or schedule anything.
+     */
+    private static final class RunSlot
+    {
+
+        private final Thread thread;
+        private volatile boolean running;
+        private volatile long runId;
+        private volatile long deadline;
+        private volatile long capturedRunId;
+        private volatile StackTraceElement[] stackTrace;
+
+        private RunSlot( Thread thread )
+        {
+            this.thread = thread;
+        }
+
+        /**
+         * @return the id of the run, or 0 if another run is already active on this thread (a task that runs another
+         * task directly), which then remains the sampled run
+         */
+        private long start( long deadline )
+        {
+            if ( this.running )
+            {
+                return 0;
+            }
+
+            long runId = this.runId + 1;
+            this.runId = runId;
+            this.deadline = deadline;
+            this.running = true;
+
+            ensureWatchdog();
+            return runId;
+        }
+
+        /**
+         * @return the stack that was taken once the run exceeded its budget, or null if it was not taken
+         */
+        private StackTraceElement[] finish( long runId )
+        {
+            this.running = false;
+            return this.capturedRunId == runId ? this.stackTrace : null;
+        }
+
+        /**
+         * Takes the stack of the active run once it exceeded its budget, only called by the watchdog.
+         *
+         * @return true if a run is active
+         */
+        private boolean sample( long now )
+        {
+            if ( !this.running )
+            {
+                return false;
+            }
+
+            long runId = this.runId;
+            if ( this.capturedRunId == runId || now - this.deadline < 0 )
+            {
+                return true;
+            }
+
+            StackTraceElement[] stackTrace = this.thread.getStackTrace();
+
+            // the stack is only kept if it was taken while the same run was still active
+            if ( this.running && this.runId == runId )
+            {
+                this.stackTrace = stackTrace;
+                this.capturedRunId = runId;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Only used to log the stack of a slow run, which was taken while it was running on another thread.
+     */
+    private static final class SlowRunStackTrace extends Throwable
+    {
+
+        private SlowRunStackTrace( StackTraceElement[] stackTrace )
+        {
+            super( "Stack of the task when it exceeded its budget", null, false, true );
+            this.setStackTrace( stackTrace );
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.endoy.helpers.common.task;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The execution statistics of all runs of the tasks with the same name, see {@link TaskMetrics#getStats(String)}.
+ */
+public final class TaskStats
+{
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder slowRuns = new LongAdder();
+    private final LongAdder mainThreadNanos = new LongAdder();
+    private final LongAdder asyncNanos = new LongAdder();
+
+    TaskStats( String name )
+    {
+        this.name = name;
+    }
+
+    void record( long nanos, boolean async, boolean failed, boolean overrun, boolean slow )
+    {
+        this.latencies.record( nanos );
+        this.executions.increment();
+
+        if ( async )
+        {
+            this.asyncNanos.add( nanos );
+        }
+        else
+        {
+            this.mainThreadNanos.add( nanos );
+        }
+        if ( failed )
+        {
+            this.failures.increment();
+        }
+        if ( overrun )
+        {
+            this.overruns.increment();
+        }
+        if ( slow )
+        {
+            this.slowRuns.increment();
+        }
+    }
+
+    public String getName()
+    {
+        return this.name;
+    }
+
+    public long getExecutions()
+    {
+        return this.executions.sum();
+    }
+
+    /**
+     * @return the number of runs that threw an exception
+     */
+    public long getFailures()
+    {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return the number of runs of a repeating task that took longer than its period
+     */
+    public long getOverruns()
+    {
+        return this.overruns.sum();
+    }
+
+    /**
+     * @return the number of synchronous runs that took longer than the {@link TaskMetrics#getSlowTaskBudget() slow task budget}
+     */
+    public long getSlowRuns()
+    {
+        return this.slowRuns.sum();
+    }
+
+    /**
+     * @return the total time spent running the task synchronously, e.g. on the main thread of a server
+     */
+    public Duration getMainThreadTime()
+    {
+        return Duration.ofNanos( this.mainThreadNanos.sum() );
+    }
+
+    /**
+     * @return the total time spent running the task asynchronously
+     */
+    public Duration getAsyncTime()
+    {
+        return Duration.ofNanos( this.asyncNanos.sum() );
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the duration that the given percentage of the runs did not exceed, with a precision of about 6%
+     */
+    public Duration getLatency( double percentile )
+    {
+        return Duration.ofNanos( this.latencies.getValueAtPercentile( percentile ) );
+    }
+
+    public Duration getP50()
+    {
+        return this.getLatency( 50 );
+    }
+
+    public Duration getP99()
+    {
+        return this.getLatency( 99 );
+    }
+
+    public Duration getMax()
+    {
+        return Duration.ofNanos( this.latencies.getMax() );
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+            Locale.ROOT,
+            "%s: %d runs, %d failures, %d overruns, %d slow runs, p50 %.2fms, p99 %.2fms, max %.2fms, main thread %dms, async %dms",
+            this.name,
+            this.getExecutions(),
+            this.getFailures(),
+            this.getOverruns(),
+            this.getSlowRuns(),
+            this.getP50().toNanos() / 1_000_000D,
+            this.getP99().toNanos() / 1_000_000D,
+            this.getMax().toNanos() / 1_000_000D,
+            this.getMainThreadTime().toMillis(),
+            this.getAsyncTime().toMillis()
+        );
+    }
+}
@@ -0,0 +1,357 @@
+package dev.endoy.helpers.common.utils;
+
+import dev.endoy.helpers.common.logger.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Scans a package by reading the class files directly (from every directory or jar on the class path that contains the
+ * package, through a zip file system for jars).
+ * Annotations and supertypes are read from the class file bytes, so none of the scanned classes are loaded or initialized.
+ */
+class ClassFileScanner
+{
+
+    private static final Logger LOGGER = Logger.forClass( ClassFileScanner.class );
+
+    private final ClassLoader classLoader;
+    private final Map<String, ClassFile> classFiles = new HashMap<>();
+
+    private ClassFileScanner( ClassLoader classLoader )
+    {
+        this.classLoader = classLoader;
+    }
+
+    static List<ClassMetadata> scanPackage( Class<?> starterClass )
+    {
+        if ( starterClass.getClassLoader() == null )
+        {
+            return List.of();
+        }
+
+        ClassFileScanner scanner = new ClassFileScanner( starterClass.getClassLoader() );
+        String packagePath = starterClass.getPackageName().replace( '.', '/' );
+        List<ClassFile> scannedClasses = new ArrayList<>();
+
+        try
+        {
+            for ( Path location : getLocations( starterClass, packagePath ) )
+            {
+                if ( Files.isDirectory( location ) )
+                {
+                    scanner.readClassFiles( location.resolve( packagePath ), scannedClasses );
+                }
+                else if ( Files.isRegularFile( location ) )
+                {
+                    try ( FileSystem fileSystem = FileSystems.newFileSystem( location ) )
+                    {
+                        scanner.readClassFiles( fileSystem.getPath( "/" + packagePath ), scannedClasses );
+                    }
+                }
+            }
+        }
+        catch ( IOException | URISyntaxException | IllegalArgumentException | UnsupportedOperationException | FileSystemNotFoundException e )
+        {
+            // a partial result would silently miss classes, so the caller falls back to loading the classes instead
+            LOGGER.error( "Failed to read class files in package: " + starterClass.getPackageName(), e );
+            return List.of();
+        }
+
+        return scannedClasses.stream()
+            .map( classFile -> new ClassMetadata( classFile.className(), classFile.annotations(), scanner.getSuperTypes( classFile ) ) )
+            .sorted( Comparator.comparing( ClassMetadata::simpleName ) )
+            .toList();
+    }
+
+    /**
+     * Finds every directory and jar on the class path that contains the package, like a classpath scan would. The code source
+     * of the starter class is always included, as jars without directory entries are not found as a resource.
+     */
+    private static Set<Path> getLocations( Class<?> starterClass, String packagePath ) throws IOException, URISyntaxException
+    {
+        Set<Path> locations = new LinkedHashSet<>();
+        CodeSource codeSource = starterClass.getProtectionDomain().getCodeSource();
+
+        if ( codeSource != null && codeSource.getLocation() != null )
+        {
+            locations.add( Path.of( codeSource.getLocation().toURI() ) );
+        }
+
+        Enumeration<URL> resources = starterClass.getClassLoader().getResources( packagePath );
+        while ( resources.hasMoreElements() )
+        {
+            URL resource = resources.nextElement();
+
+            switch ( resource.getProtocol() )
+            {
+                case "file" ->
+                {
+                    Path location = Path.of( resource.toURI() );
+                    for ( int i = 0; i < packagePath.split( "/" ).length; i++ )
+                    {
+                        location = location.getParent();
+                    }
+                    locations.add( location );
+                }
+                case "jar" -> locations.add( Path.of( ( (JarURLConnection) resource.openConnection() ).getJarFileURL().toURI() ) );
+                default -> throw new UnsupportedOperationException( "Unsupported class path location: " + resource );
+            }
+        }
+
+        return locations;
+    }
+
+    private void readClassFiles( Path directory, List<ClassFile> scannedClasses ) throws IOException
+    {
+        if ( !Files.isDirectory( directory ) )
+        {
+            return;
+        }
+
+        List<Path> paths;
+        try ( Stream<Path> stream = Files.walk( directory ) )
+        {
+            paths = stream
+                .filter( path -> path.getFileName().toString().endsWith( ".class" ) )
+                .filter( path -> !this.isIgnored( path.getFileName().toString() ) )
+                .toList();
+        }
+
+        for ( Path path : paths )
+        {
+            ClassFile classFile = ClassFile.read( Files.readAllBytes( path ) );
+
+            // a class that is on the class path twice is loaded from the first location
+            if ( this.classFiles.putIfAbsent( classFile.className(), classFile ) == null )
+            {
+                scannedClasses.add( classFile );
+            }
+        }
+    }
+
+    private boolean isIgnored( String fileName )
+    {
+        if ( fileName.equals( "module-info.class" ) || fileName.equals( "package-info.class" ) )
+        {
+            return true;
+        }
+
+        // anonymous and local classes are never injectable
+        int index = fileName.lastIndexOf( '$' );
+        return index >= 0 && index + 1 < fileName.length() && Character.isDigit( fileName.charAt( index + 1 ) );
+    }
+
+    private Set<String> getSuperTypes( ClassFile classFile )
+    {
+        Set<String> superTypes = new LinkedHashSet<>();
+        this.collectSuperTypes( classFile, superTypes );
+        return superTypes;
+    }
+
+    private void collectSuperTypes( ClassFile classFile, Set<String> superTypes )
+    {
+        List<String> directSuperTypes = new ArrayList<>( classFile.interfaces() );
+        if ( classFile.superName() != null && !classFile.superName().equals( Object.class.getName() ) )
+        {
+            directSuperTypes.add( 0, classFile.superName() );
+        }
+
+        for ( String superType : directSuperTypes )
+        {
+            if ( superTypes.add( superType ) )
+            {
+                ClassFile superClassFile = this.getClassFile( superType );
+
+                if ( superClassFile != null )
+                {
+                    this.collectSuperTypes( superClassFile, superTypes );
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the class file of a supertype outside of the scanned package as a resource, so it does not get loaded either.
+     */
+    private ClassFile getClassFile( String className )
+    {
+        if ( this.classFiles.containsKey( className ) )
+        {
+            return this.classFiles.get( className );
+        }
+
+        ClassFile classFile = null;
+        try ( InputStream inputStream = this.classLoader.getResourceAsStream( className.replace( '.', '/' ) + ".class" ) )
+        {
+            if ( inputStream != null )
+            {
+                classFile = ClassFile.read( inputStream.readAllBytes() );
+            }
+        }
+        catch ( IOException e )
+        {
+            LOGGER.debug( "Failed to read class file of supertype: " + className, e );
+        }
+
+        this.classFiles.put( className, classFile );
+        return classFile;
+    }
+
+    private record ClassFile(String className, String superName, List<String> interfaces, Set<String> annotations)
+    {
+
+        static ClassFile read( byte[] bytes ) throws IOException
+        {
+            DataInputStream input = new DataInputStream( new ByteArrayInputStream( bytes ) );
+
+            if ( input.readInt() != 0xCAFEBABE )
+            {
+                throw new IOException( "Not a class file" );
+            }
+            input.skipBytes( 4 ); // minor & major version
+
+            int constantPoolCount = input.readUnsignedShort();
+            Object[] constantPool = new Object[constantPoolCount];
+
+            for ( int i = 1; i < constantPoolCount; i++ )
+            {
+                int tag = input.readUnsignedByte();
+
+                switch ( tag )
+                {
+                    case 1 -> constantPool[i] = input.readUTF();
+                    case 7 -> constantPool[i] = input.readUnsignedShort(); // class, points to its name
+                    case 8, 16, 19, 20 -> input.skipBytes( 2 );
+                    case 15 -> input.skipBytes( 3 );
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> input.skipBytes( 4 );
+                    case 5, 6 ->
+                    {
+                        input.skipBytes( 8 );
+                        i++; // longs and doubles take up two slots
+                    }
+                    default -> throw new IOException( "Unknown constant pool tag: " + tag );
+                }
+            }
+
+            input.skipBytes( 2 ); // access flags
+            String className = getClassName( constantPool, input.readUnsignedShort() );
+            int superIndex = input.readUnsignedShort();
+            String superName = superIndex == 0 ? null : getClassName( constantPool, superIndex );
+
+            int interfacesCount = input.readUnsignedShort();
+            List<String> interfaces = new ArrayList<>( interfacesCount );
+            for ( int i = 0; i < interfacesCount; i++ )
+            {
+                interfaces.add( getClassName( constantPool, input.readUnsignedShort() ) );
+            }
+
+            Set<String> annotations = new LinkedHashSet<>();
+
+            // fields
+            int fieldsCount = input.readUnsignedShort();
+            for ( int i = 0; i < fieldsCount; i++ )
+            {
+                input.skipBytes( 6 );
+                readAttributes( input, constantPool, null );
+            }
+
+            // methods, only the class annotations are recorded (like Class#getAnnotations)
+            int methodsCount = input.readUnsignedShort();
+            for ( int i = 0; i < methodsCount; i++ )
+            {
+                input.skipBytes( 6 );
+                readAttributes( input, constantPool, null );
+            }
+
+            readAttributes( input, constantPool, annotations );
+
+            Set<String> annotationNames = new LinkedHashSet<>();
+            for ( String descriptor : annotations )
+            {
+                annotationNames.add( descriptor.substring( 1, descriptor.length() - 1 ).replace( '/', '.' ) );
+            }
+
+            return new ClassFile( className, superName, interfaces, annotationNames );
+        }
+
+        private static String getClassName( Object[] constantPool, int classIndex )
+        {
+            return ( (String) constantPool[(int) constantPool[classIndex]] ).replace( '/', '.' );
+        }
+
+        private static void readAttributes( DataInputStream input, Object[] constantPool, Set<String> annotations ) throws IOException
+        {
+            int attributesCount = input.readUnsignedShort();
+
+            for ( int i = 0; i < attributesCount; i++ )
+            {
+                String name = (String) constantPool[input.readUnsignedShort()];
+                int length = input.readInt();
+
+                if ( annotations != null && name.equals( "RuntimeVisibleAnnotations" ) )
+                {
+                    int annotationsCount = input.readUnsignedShort();
+
+                    for ( int j = 0; j < annotationsCount; j++ )
+                    {
+                        annotations.add( (String) constantPool[input.readUnsignedShort()] );
+                        skipElementValuePairs( input );
+                    }
+                }
+                else
+                {
+                    input.skipBytes( length );
+                }
+            }
+        }
+
+        private static void skipElementValuePairs( DataInputStream input ) throws IOException
+        {
+            int pairsCount = input.readUnsignedShort();
+
+            for ( int i = 0; i < pairsCount; i++ )
+            {
+                input.skipBytes( 2 ); // element name
+                skipElementValue( input );
+            }
+        }
+
+        private static void skipElementValue( DataInputStream input ) throws IOException
+        {
+            int tag = input.readUnsignedByte();
+
+            switch ( tag )
+            {
+                case 'e' -> input.skipBytes( 4 );
+                case '@' ->
+                {
+                    input.skipBytes( 2 );
+                    skipElementValuePairs( input );
+                }
+                case '[' ->
+                {
+                    int valuesCount = input.readUnsignedShort();
+                    for ( int i = 0; i < valuesCount; i++ )
+                    {
+                        skipElementValue( input );
+                    }
+                }
+                default -> input.skipBytes( 2 ); // constants, strings and classes
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.endoy.helpers.common.utils;
+
+import java.util.Set;
+
+/**
+ * Describes a class by name only, so it can be matched on annotations and supertypes without loading it.
+ *
+ * @param className   the binary name of the class
+ * @param annotations the names of the annotations present on the class
+ * @param superTypes  the names of all superclasses and interfaces of the class, excluding {@link Object}
+ */
+public record ClassMetadata(String className, Set<String> annotations, Set<String> superTypes)
+{
+
+    public String simpleName()
+    {
+        return this.className.substring( Math.max( this.className.lastIndexOf( '.' ), this.className.lastIndexOf( '$' ) ) + 1 );
+    }
+}
@@ -0,0 +1,175 @@
+package dev.endoy.helpers.common.utils;
+
+import dev.endoy.helpers.common.injector.InjectableIndex;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The result of a single scan of a package. Classes are bucketed by annotation and by supertype once,
+ * so every lookup afterwards is a map lookup instead of a new scan of the package.
+ */
+public class ClassScanResult
+{
+
+    private final ClassLoader classLoader;
+    private final List<String> classNames = new ArrayList<>();
+    private final Map<String, List<String>> classNamesByAnnotation = new HashMap<>();
+    private final Map<String, List<String>> classNamesBySuperType = new HashMap<>();
+    private final Map<String, Class<?>> loadedClasses = new ConcurrentHashMap<>();
+    private final Map<String, List<Class<?>>> resolvedLookups = new ConcurrentHashMap<>();
+
+    private ClassScanResult( ClassLoader classLoader, Collection<ClassMetadata> classes )
+    {
+        this.classLoader = classLoader;
+
+        for ( ClassMetadata metadata : classes )
+        {
+            this.classNames.add( metadata.className() );
+
+            for ( String annotation : metadata.annotations() )
+            {
+                this.classNamesByAnnotation.computeIfAbsent( annotation, key -> new ArrayList<>() ).add( metadata.className() );
+            }
+            for ( String superType : metadata.superTypes() )
+            {
+                this.classNamesBySuperType.computeIfAbsent( superType, key -> new ArrayList<>() ).add( metadata.className() );
+            }
+        }
+    }
+
+    /**
+     * Scans the package (and subpackages) of the given class for the Injector. The compile-time injectable index is
+     * used when present, otherwise the class files are scanned, see {@link #scanClassFiles(Class)}.
+     * <p>
+     * The index only records the injector annotations, so lookups of other annotations should use
+     * {@link #scanClassFiles(Class)} instead.
+     *
+     * @param starterClass the class of which the package should be scanned
+     * @return the scan result
+     */
+    public static ClassScanResult scan( Class<?> starterClass )
+    {
+        Optional<InjectableIndex> injectableIndex = InjectableIndex.load( starterClass );
+
+        if ( injectableIndex.isPresent() )
+        {
+            return new ClassScanResult( starterClass.getClassLoader(), injectableIndex.get().getIndexedClasses() );
+        }
+
+        return scanClassFiles( starterClass );
+    }
+
+    /**
+     * Scans the package (and subpackages) of the given class by reading its class files, without loading them.
+     * Only when the class files cannot be read (for example for an unsupported code source), the classpath is scanned
+     * by loading every class.
+     *
+     * @param starterClass the class of which the package should be scanned
+     * @return the scan result
+     */
+    public static ClassScanResult scanClassFiles( Class<?> starterClass )
+    {
+        List<ClassMetadata> classMetadata = ReflectionUtils.getClassMetadataInPackage( starterClass );
+
+        if ( classMetadata != null && !classMetadata.isEmpty() )
+        {
+            return new ClassScanResult( starterClass.getClassLoader(), classMetadata );
+        }
+
+        return ofClasses( starterClass.getClassLoader(), ReflectionUtils.getClassesInPackage( starterClass ) );
+    }
+
+    /**
+     * Creates a scan result of classes that have already been loaded. The order of the given classes is kept.
+     *
+     * @param classLoader the class loader the classes belong to
+     * @param classes     the classes to bucket
+     * @return the scan result
+     */
+    public static ClassScanResult ofClasses( ClassLoader classLoader, Collection<Class<?>> classes )
+    {
+        List<ClassMetadata> metadata = new ArrayList<>();
+
+        for ( Class<?> clazz : classes )
+        {
+            Set<String> annotations = new LinkedHashSet<>();
+            for ( Annotation annotation : clazz.getAnnotations() )
+            {
+                annotations.add( annotation.annotationType().getName() );
+            }
+
+            Set<String> superTypes = new LinkedHashSet<>();
+            collectSuperTypes( clazz, superTypes );
+
+            metadata.add( new ClassMetadata( clazz.getName(), annotations, superTypes ) );
+        }
+
+        ClassScanResult scanResult = new ClassScanResult( classLoader, metadata );
+        classes.forEach( clazz -> scanResult.loadedClasses.put( clazz.getName(), clazz ) );
+        return scanResult;
+    }
+
+    private static void collectSuperTypes( Class<?> clazz, Set<String> superTypes )
+    {
+        Class<?> superClass = clazz.getSuperclass();
+
+        if ( superClass != null && !superClass.equals( Object.class ) && superTypes.add( superClass.getName() ) )
+        {
+            collectSuperTypes( superClass, superTypes );
+        }
+        for ( Class<?> interfaze : clazz.getInterfaces() )
+        {
+            if ( superTypes.add( interfaze.getName() ) )
+            {
+                collectSuperTypes( interfaze, superTypes );
+            }
+        }
+    }
+
+    public List<Class<?>> getClasses()
+    {
+        return this.resolvedLookups.computeIfAbsent( "*", key -> this.loadClasses( this.classNames ) );
+    }
+
+    public List<Class<?>> getClassesAnnotatedWith( Class<? extends Annotation> annotation )
+    {
+        return this.resolvedLookups.computeIfAbsent(
+            "@" + annotation.getName(),
+            key -> this.loadClasses( this.classNamesByAnnotation.getOrDefault( annotation.getName(), List.of() ) )
+        );
+    }
+
+    public List<Class<?>> getClassesImplementing( Class<?> superType )
+    {
+        return this.resolvedLookups.computeIfAbsent(
+            superType.getName(),
+            key -> this.loadClasses( this.classNamesBySuperType.getOrDefault( superType.getName(), List.of() ) )
+        );
+    }
+
+    private List<Class<?>> loadClasses( List<String> classNames )
+    {
+        List<Class<?>> classes = new ArrayList<>( classNames.size() );
+
+        for ( String className : classNames )
+        {
+            classes.add( this.loadedClasses.computeIfAbsent( className, this::loadClass ) );
+        }
+
+        return Collections.unmodifiableList( classes );
+    }
+
+    private Class<?> loadClass( String className )
+    {
+        try
+        {
+            return Class.forName( className, false, this.classLoader );
+        }
+        catch ( ClassNotFoundException e )
+        {
+            throw new IllegalStateException( "Scanned class could not be loaded: " + className, e );
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package dev.endoy.helpers.common.utils;
+
+import java.lang.invoke.*;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link MethodHandle} based accessors for fields and methods once per member and caches them,
+ * so accessing a member does not need an access check or a {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)}
+ * call every time.
+ */
+public class MemberAccessors
+{
+
+    private static final Map<Field, FieldAccessor> FIELD_ACCESSORS = new ConcurrentHashMap<>();
+    private static final Map<Method, MethodHandle> METHOD_HANDLES = new ConcurrentHashMap<>();
+
+    private MemberAccessors()
+    {
+    }
+
+    public static FieldAccessor getFieldAccessor( Field field )
+    {
+        return FIELD_ACCESSORS.computeIfAbsent( field, MemberAccessors::createFieldAccessor );
+    }
+
+    public static Object getFieldValue( Field field, Object instance ) throws IllegalAccessException
+    {
+        return getFieldAccessor( field ).get( instance );
+    }
+
+    public static void setFieldValue( Field field, Object instance, Object value ) throws IllegalAccessException
+    {
+        getFieldAccessor( field ).set( instance, value );
+    }
+
+    /**
+     * Invokes a method without parameters. Exceptions thrown by the method are wrapped in an
+     * {@link InvocationTargetException}, just like {@link Method#invoke(Object, Object...)} does.
+     *
+     * @param method   the method to invoke
+     * @param instance the instance to invoke the method on, ignored for static methods
+     * @throws ReflectiveOperationException if the method could not be accessed or threw an exception
+     */
+    public static void invokeMethod( Method method, Object instance ) throws ReflectiveOperationException
+    {
+        MethodHandle handle = METHOD_HANDLES.computeIfAbsent( method, MemberAccessors::createMethodHandle );
+
+        if ( handle == null )
+        {
+            throw new IllegalAccessException( "Cannot access method: " + method.getName() + " in class " + method.getDeclaringClass().getName() );
+        }
+
+        try
+        {
+            handle.invokeExact( instance );
+        }
+        catch ( Throwable e )
+        {
+            throw new InvocationTargetException( e );
+        }
+    }
+
+    /**
+     * Creates a {@link Runnable} that calls the given method without parameters on the given instance.
+     * The runnable is generated through {@link LambdaMetafactory} where possible, so running it costs the same as
+     * a direct call and does not allocate. If the method cannot be accessed that way, a bound {@link MethodHandle}
+     * is used instead.
+     *
+     * @param method   the method to call
+     * @param instance the instance to call the method on, ignored for static methods
+     * @return a runnable calling the method, exceptions thrown by the method are rethrown as they are
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    public static Runnable createRunnable( Method method, Object instance ) throws IllegalAccessException
+    {
+        boolean isStatic = Modifier.isStatic( method.getModifiers() );
+        MethodHandles.Lookup lookup = getLookup( method, method.getDeclaringClass() );
+        MethodHandle handle = lookup.unreflect( method );
+
+        try
+        {
+            MethodType factoryType = isStatic
+                ? MethodType.methodType( Runnable.class )
+                : MethodType.methodType( Runnable.class, method.getDeclaringClass() );
+            CallSite callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "run",
+                factoryType,
+                MethodType.methodType( void.class ),
+                handle,
+                MethodType.methodType( void.class )
+            );
+
+            return isStatic
+                ? (Runnable) callSite.getTarget().invoke()
+                : (Runnable) callSite.getTarget().invoke( instance );
+        }
+        catch ( Throwable e )
+        {
+            // the lookup did not have enough access to spin a lambda class, fall back to the method handle itself
+            MethodHandle boundHandle = ( isStatic ? handle : handle.bindTo( instance ) )
+                .asType( MethodType.methodType( void.class ) );
+
+            return () ->
+            {
+                try
+                {
+                    boundHandle.invokeExact();
+                }
+                catch ( RuntimeException | Error exception )
+                {
+                    throw exception;
+                }
+                catch ( Throwable throwable )
+                {
+                    throw new IllegalStateException( throwable );
+                }
+            };
+        }
+    }
+
+    private static FieldAccessor createFieldAccessor( Field field )
+    {
+        try
+        {
+            MethodHandles.Lookup lookup = getLookup( field, field.getDeclaringClass() );
+
+            MethodHandle getter = lookup.unreflectGetter( field );
+            MethodHandle setter = lookup.unreflectSetter( field );
+
+            if ( Modifier.isStatic( field.getModifiers() ) )
+            {
+                getter = MethodHandles.dropArguments( getter, 0, Object.class );
+                setter = MethodHandles.dropArguments( setter, 0, Object.class );
+            }
+
+            return new FieldAccessor(
+                field,
+                getter.asType( MethodType.methodType( Object.class, Object.class ) ),
+                setter.asType( MethodType.methodType( void.class, Object.class, Object.class ) )
+            );
+        }
+        catch ( IllegalAccessException | RuntimeException e )
+        {
+            // e.g. static final fields or record components cannot be written through a method handle
+            return new FieldAccessor( field, null, null );
+        }
+    }
+
+    private static MethodHandle createMethodHandle( Method method )
+    {
+        try
+        {
+            MethodHandle handle = getLookup( method, method.getDeclaringClass() ).unreflect( method );
+
+            if ( Modifier.isStatic( method.getModifiers() ) )
+            {
+                handle = MethodHandles.dropArguments( handle, 0, Object.class );
+            }
+
+            return handle.asType( MethodType.methodType( void.class, Object.class ) );
+        }
+        catch ( IllegalAccessException | RuntimeException e )
+        {
+            return null;
+        }
+    }
+
+    private static MethodHandles.Lookup getLookup( AccessibleObject member, Class<?> clazz )
+    {
+        // the member always has to be accessible, final fields can only be written through a handle if they are
+        member.setAccessible( true );
+
+        try
+        {
+            return MethodHandles.privateLookupIn( clazz, MethodHandles.lookup() );
+        }
+        catch ( IllegalAccessException e )
+        {
+            return MethodHandles.lookup();
+        }
+    }
+
+    /**
+     * Reads and writes a single field through cached method handles. When no method handles could be created for the
+     * field, the accessor falls back to regular reflection.
+     */
+    public static final class FieldAccessor
+    {
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldAccessor( Field field, MethodHandle getter, MethodHandle setter )
+        {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public Object get( Object instance ) throws IllegalAccessException
+        {
+            if ( this.getter == null )
+            {
+                return this.field.get( instance );
+            }
+
+            try
+            {
+                return (Object) this.getter.invokeExact( instance );
+            }
+            catch ( RuntimeException | Error e )
+            {
+                throw e;
+            }
+            catch ( Throwable e )
+            {
+                throw new IllegalStateException( e );
+            }
+        }
+
+        public void set( Object instance, Object value ) throws IllegalAccessException
+        {
+            if ( this.setter == null )
+            {
+                this.field.set( instance, value );
+                return;
+            }
+
+            try
+            {
+                this.setter.invokeExact( instance, value );
+            }
+            catch ( ClassCastException e )
+            {
+                throw new IllegalArgumentException(
+                    "Can not set " + this.field.getType().getName() + " field " + this.field.getName() + " to " + value.getClass().getName(), e
+                );
+            }
+            catch ( RuntimeException | Error e )
+            {
+                throw e;
+            }
+            catch ( Throwable e )
+            {
+                throw new IllegalStateException( e );
+            }
+        }
+    }
+}
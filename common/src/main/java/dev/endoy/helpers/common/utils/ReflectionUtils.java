@@ -29,41 +29,39 @@ public class ReflectionUtils
 
     public static void invokeMethod( Method method, Object instance ) throws ReflectiveOperationException
     {
-        method.setAccessible( true );
-        method.invoke( instance );
-        method.setAccessible( false );
+        MemberAccessors.invokeMethod( method, instance );
     }
 
     public static Object getFieldValue( Field field, Object instance ) throws IllegalAccessException
     {
-        field.setAccessible( true );
-        Object value = field.get( instance );
-        field.setAccessible( false );
-        return value;
+        return MemberAccessors.getFieldValue( field, instance );
     }
 
     public static void setFieldValue( Field field, Object instance, Object value ) throws IllegalAccessException
     {
-        field.setAccessible( true );
-        field.set( instance, value );
-        field.setAccessible( false );
+        MemberAccessors.setFieldValue( field, instance, value );
     }
 
     public static List<Class<?>> getClassesInPackageAnnotatedWith( Class<?> starterClass, Class<? extends Annotation> annotation )
     {
-        return getClassesInPackage( starterClass )
-            .stream()
-            .filter( clazz -> clazz.isAnnotationPresent( annotation ) )
-            .collect( Collectors.toList() );
+        return ClassScanResult.scanClassFiles( starterClass ).getClassesAnnotatedWith( annotation );
     }
 
     public static Collection<Class<?>> getClassesInPackageImplementing( Class<?> baseClass, Class<?> interfaceClass )
     {
-        return getClassesInPackage( baseClass )
-            .stream()
-            .filter( interfaceClass::isAssignableFrom )
-            .filter( clazz -> !clazz.equals( interfaceClass ) )
-            .collect( Collectors.toList() );
+        return ClassScanResult.scanClassFiles( baseClass ).getClassesImplementing( interfaceClass );
+    }
+
+    /**
+     * Reads the annotations and supertypes of all classes in the package (and subpackages) of the given class
+     * straight from their class files, without loading any of them.
+     *
+     * @param starterClass the class of which the package should be scanned
+     * @return the metadata of the classes in the package, or an empty list if the class files could not be read
+     */
+    public static List<ClassMetadata> getClassMetadataInPackage( Class<?> starterClass )
+    {
+        return ClassFileScanner.scanPackage( starterClass );
     }
 
     public static List<Class<?>> getClassesInPackage( Class<?> starterClass )
@@ -110,7 +108,7 @@ public class ReflectionUtils
                             if ( name.endsWith( ".class" ) )
                             {
                                 classes.addAll( getClassAndInnerClasses(
-                                    Class.forName( name.replace( ".class", "" ) )
+                                    Class.forName( name.replace( ".class", "" ), false, starterClass.getClassLoader() )
                                 ) );
                             }
                         }
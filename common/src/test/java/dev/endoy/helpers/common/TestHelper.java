@@ -6,6 +6,7 @@ import org.mockito.MockedStatic;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 
@@ -24,6 +25,9 @@ public class TestHelper
             .thenCallRealMethod();
         reflectionUtils.when( () -> ReflectionUtils.invokeMethod( any(), any() ) )
             .thenCallRealMethod();
+        // no class files are scanned, so the classes are taken from the stubbed getClassesInPackage
+        reflectionUtils.when( () -> ReflectionUtils.getClassMetadataInPackage( any() ) )
+            .thenReturn( List.of() );
     }
 
     public static File createTempDirectory() throws IOException
@@ -1,6 +1,8 @@
 package dev.endoy.helpers.common.configuration;
 
 import com.google.common.io.Files;
+import dev.endoy.configuration.api.FileStorageType;
+import dev.endoy.configuration.api.ISection;
 import dev.endoy.helpers.common.EndoyApplicationTest;
 import dev.endoy.helpers.common.TestHelper;
 import dev.endoy.helpers.common.injector.*;
@@ -15,8 +17,16 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mockStatic;
 
 class ConfigurationManagerTest extends EndoyApplicationTest
@@ -168,6 +178,172 @@ class ConfigurationManagerTest extends EndoyApplicationTest
         }
     }
 
+    @Test
+    void testCreateDefaultSkipsUnchangedFile()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( TestConfigurationWithHash.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.registerInjectable( TestConfigurationWithHash.class, new TestConfigurationWithHash() );
+
+            File file = new File( getDataFolder(), "config-with-hash.yml" );
+            this.getConfigurationManager().createDefault( TestConfigurationWithHash.class );
+            assertTrue( file.setLastModified( 1_000_000L ) );
+
+            this.getConfigurationManager().createDefault( TestConfigurationWithHash.class );
+
+            assertEquals( 1_000_000L, file.lastModified() );
+
+            // a new boot parses the file again, which contains all values and comments already
+            new ConfigurationManager( this ).createDefault( TestConfigurationWithHash.class );
+
+            assertEquals( 1_000_000L, file.lastModified() );
+        }
+    }
+
+    @Test
+    void testBinaryCache() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( TestConfigurationWithCache.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.registerInjectable( TestConfigurationWithCache.class, new TestConfigurationWithCache() );
+
+            File file = new File( getDataFolder(), "config-with-cache.yml" );
+            this.getConfigurationManager().createDefault( TestConfigurationWithCache.class );
+
+            assertTrue( new File( getDataFolder(), "config-with-cache.yml.cache" ).exists() );
+            assertEquals( 5, new ConfigurationManager( this ).getValues( TestConfigurationWithCache.class ).get( "amount" ) );
+            assertEquals( List.of( "first", "second" ), new ConfigurationManager( this ).getValues( TestConfigurationWithCache.class ).get( "names" ) );
+
+            // sections are read back from the cache as plain maps, where the parsed file returns them as sections
+            assertInstanceOf(
+                ISection.class,
+                new ConfigurationManager( this ).getOrLoadConfig( FileStorageType.YAML, "config-with-cache.yml" ).get( "limits" )
+            );
+            assertEquals( Map.of( "admin", 100 ), new ConfigurationManager( this ).getValues( TestConfigurationWithCache.class ).get( "limits" ) );
+            assertEquals( 100, new ConfigurationManager( this ).getValues( TestConfigurationWithCache.class ).get( "limits.admin" ) );
+
+            // a changed modification time alone does not invalidate the cache
+            long lastModified = file.lastModified();
+            assertTrue( file.setLastModified( lastModified + 10_000 ) );
+            assertEquals( "default", new ConfigurationManager( this ).getValues( TestConfigurationWithCache.class ).get( "message" ) );
+
+            // an edit with the same size and modification time no longer matches the content hash
+            java.nio.file.Files.writeString( file.toPath(), java.nio.file.Files.readString( file.toPath() ).replace( "default", "changed" ) );
+            assertTrue( file.setLastModified( lastModified ) );
+            assertEquals( "changed", new ConfigurationManager( this ).getValues( TestConfigurationWithCache.class ).get( "message" ) );
+        }
+    }
+
+    @Test
+    void testPreload() throws IOException
+    {
+        java.nio.file.Files.writeString( new File( getDataFolder(), "config-with-preload.yml" ).toPath(), "test: preloaded\n" );
+        java.nio.file.Files.writeString( new File( getDataFolder(), "conditions.yml" ).toPath(), "enabled: true\n" );
+
+        this.getConfigurationManager().preload(
+            List.of( TestConfigurationWithPreload.class, TestConfigurationWithSave.class ),
+            Map.of( "conditions.yml", FileStorageType.YAML, "missing-conditions.yml", FileStorageType.YAML )
+        );
+
+        assertEquals( "preloaded", this.getConfigurationManager().getValues( TestConfigurationWithPreload.class ).get( "test" ) );
+        assertEquals( true, this.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "conditions.yml" ).get( "enabled" ) );
+        assertFalse( new File( getDataFolder(), "missing-conditions.yml" ).exists() );
+    }
+
+    @Test
+    void testSave() throws IOException
+    {
+        File file = new File( getDataFolder(), "config-with-save.yml" );
+        java.nio.file.Files.writeString( file.toPath(), "other: value\n" );
+
+        TestConfigurationWithSave configuration = new TestConfigurationWithSave();
+        this.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "config-with-save.yml" ).set( "other", "changed" );
+        this.getConfigurationManager().save( configuration );
+
+        // changes made to the loaded configuration are written along with the missing values
+        assertEquals(
+            String.join( "\n", Files.readLines( file, StandardCharsets.UTF_8 ) ),
+            """
+                other: changed
+                test: test"""
+        );
+    }
+
+    @Test
+    void testSaveSkipsUnchangedContent() throws IOException
+    {
+        File file = new File( getDataFolder(), "config-with-save.yml" );
+        java.nio.file.Files.writeString( file.toPath(), "other: value\n" );
+
+        TestConfigurationWithSave configuration = new TestConfigurationWithSave();
+        this.getConfigurationManager().save( configuration );
+        assertTrue( file.setLastModified( 1_000_000L ) );
+
+        this.getConfigurationManager().save( configuration );
+
+        // the file is not replaced if the written content would be the same, and no temporary file is left behind
+        assertEquals( 1_000_000L, file.lastModified() );
+        assertEquals( 0, getDataFolder().listFiles( ( directory, name ) -> name.endsWith( ".tmp" ) ).length );
+
+        this.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "config-with-save.yml" ).set( "other", "changed" );
+        this.getConfigurationManager().save( configuration );
+
+        assertEquals(
+            String.join( "\n", Files.readLines( file, StandardCharsets.UTF_8 ) ),
+            """
+                other: changed
+                test: test"""
+        );
+        assertEquals( 0, getDataFolder().listFiles( ( directory, name ) -> name.endsWith( ".tmp" ) ).length );
+    }
+
+    @Test
+    void testSaveInBackground() throws Exception
+    {
+        File file = new File( getDataFolder(), "config-with-save.yml" );
+        java.nio.file.Files.writeString( file.toPath(), "other: value\n" );
+
+        TestConfigurationWithSave configuration = new TestConfigurationWithSave();
+        CompletableFuture<Void> firstSave = this.getConfigurationManager().saveAsync( configuration );
+        CompletableFuture<Void> secondSave = this.getConfigurationManager().saveAsync( configuration );
+
+        assertSame( firstSave, secondSave );
+        assertEquals( "other: value", String.join( "\n", Files.readLines( file, StandardCharsets.UTF_8 ) ) );
+
+        this.getConfigurationManager().flush();
+
+        assertTrue( firstSave.isDone() );
+        assertNull( firstSave.get() );
+        assertEquals(
+            String.join( "\n", Files.readLines( file, StandardCharsets.UTF_8 ) ),
+            """
+                other: value
+                test: test"""
+        );
+
+        this.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "config-with-save.yml" ).set( "other", "changed" );
+        this.getConfigurationManager().saveAsync( configuration ).get( 5, TimeUnit.SECONDS );
+
+        assertEquals(
+            String.join( "\n", Files.readLines( file, StandardCharsets.UTF_8 ) ),
+            """
+                other: changed
+                test: test"""
+        );
+    }
+
     @Configuration( filePath = "config.yml" )
     public static class TestConfiguration
     {
@@ -191,6 +367,52 @@ class ConfigurationManagerTest extends EndoyApplicationTest
         }
     }
 
+    @Configuration( filePath = "config-with-hash.yml" )
+    public static class TestConfigurationWithHash
+    {
+
+        @Value
+        @Comment( "Unchanged files are not written again" )
+        private final String test = "test";
+
+    }
+
+    @Configuration( filePath = "config-with-cache.yml", binaryCache = true )
+    public static class TestConfigurationWithCache
+    {
+
+        @Value
+        private final String message = "default";
+
+        @Value
+        private final int amount = 5;
+
+        @Value
+        private final List<String> names = List.of( "first", "second" );
+
+        @Value
+        private final Map<String, Integer> limits = Map.of( "admin", 100 );
+
+    }
+
+    @Configuration( filePath = "config-with-preload.yml" )
+    public static class TestConfigurationWithPreload
+    {
+
+        @Value
+        private final String test = "test";
+
+    }
+
+    @Configuration( filePath = "config-with-save.yml" )
+    public static class TestConfigurationWithSave
+    {
+
+        @Value
+        private final String test = "test";
+
+    }
+
     @Configuration( filePath = "config-with-comments.yml" )
     public static class TestConfigurationWithComments
     {
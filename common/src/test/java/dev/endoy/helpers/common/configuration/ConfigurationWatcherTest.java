@@ -0,0 +1,130 @@
+package dev.endoy.helpers.common.configuration;
+
+import dev.endoy.configuration.api.FileStorageType;
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.injector.Configuration;
+import dev.endoy.helpers.common.injector.ConfigurationInjector;
+import dev.endoy.helpers.common.injector.Injector;
+import dev.endoy.helpers.common.injector.Value;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class ConfigurationWatcherTest extends EndoyApplicationTest
+{
+
+    @Test
+    @DisplayName( "Test only the configuration of which the file changed to be reloaded" )
+    void testWatchConfigurations() throws Exception
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    WatchedConfiguration.class,
+                    OtherWatchedConfiguration.class
+                ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            WatchedConfiguration initialConfiguration = injector.getInjectableInstance( WatchedConfiguration.class );
+            OtherWatchedConfiguration otherConfiguration = injector.getInjectableInstance( OtherWatchedConfiguration.class );
+
+            try ( ConfigurationWatcher ignored = this.watchConfigurations( Duration.ofMillis( 50 ) ) )
+            {
+                // the other configuration would lose this value if its file was reloaded as well
+                otherConfiguration.message = "changed in memory";
+                Files.writeString( new File( getDataFolder(), "watched.yml" ).toPath(), "message: first\n" );
+                Files.writeString( new File( getDataFolder(), "watched.yml" ).toPath(), "message: reloaded\n" );
+
+                long deadline = System.currentTimeMillis() + 10_000;
+                while ( !"reloaded".equals( injector.getInjectableInstance( WatchedConfiguration.class ).getMessage() )
+                    && System.currentTimeMillis() < deadline )
+                {
+                    Thread.sleep( 25 );
+                }
+            }
+
+            assertEquals( "reloaded", injector.getInjectableInstance( WatchedConfiguration.class ).getMessage() );
+            assertNotSame( initialConfiguration, injector.getInjectableInstance( WatchedConfiguration.class ) );
+            assertEquals( "changed in memory", otherConfiguration.getMessage() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test only changed files of snapshot configurations to be reloaded when their file changes" )
+    void testReloadConfiguration() throws Exception
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    WatchedConfiguration.class,
+                    OtherWatchedConfiguration.class
+                ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            ConfigurationInjector configurationInjector = injector.getConfigurationInjector();
+            Path watchedFile = new File( getDataFolder(), "watched.yml" ).toPath();
+            Path otherFile = new File( getDataFolder(), "other-watched.yml" ).toPath();
+            WatchedConfiguration initialConfiguration = injector.getInjectableInstance( WatchedConfiguration.class );
+            OtherWatchedConfiguration otherConfiguration = injector.getInjectableInstance( OtherWatchedConfiguration.class );
+
+            // a file written by the application itself is not reloaded
+            this.getConfigurationManager().getOrLoadConfig( FileStorageType.YAML, "watched.yml" ).set( "message", "saved" );
+            this.getConfigurationManager().save( initialConfiguration );
+            assertTrue( Files.readString( watchedFile ).contains( "saved" ) );
+            assertFalse( configurationInjector.reloadConfiguration( watchedFile ) );
+            assertSame( initialConfiguration, injector.getInjectableInstance( WatchedConfiguration.class ) );
+
+            Files.writeString( watchedFile, "message: changed\n" );
+            assertTrue( configurationInjector.reloadConfiguration( watchedFile ) );
+            assertEquals( "changed", injector.getInjectableInstance( WatchedConfiguration.class ).getMessage() );
+            assertFalse( configurationInjector.reloadConfiguration( watchedFile ) );
+
+            // a configuration that is not a snapshot would be changed while it may be read
+            Files.writeString( otherFile, "message: changed\n" );
+            assertFalse( configurationInjector.reloadConfiguration( otherFile ) );
+            assertEquals( "default", otherConfiguration.getMessage() );
+        }
+    }
+
+    @Getter
+    @Configuration( filePath = "watched.yml", snapshot = true )
+    public static class WatchedConfiguration
+    {
+
+        @Value
+        private String message = "default";
+
+    }
+
+    @Getter
+    @Configuration( filePath = "other-watched.yml" )
+    public static class OtherWatchedConfiguration
+    {
+
+        @Value
+        private String message = "default";
+
+    }
+}
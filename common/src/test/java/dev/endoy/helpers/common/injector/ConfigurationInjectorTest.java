@@ -13,11 +13,16 @@ import org.mockito.MockedStatic;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mockStatic;
 
 class ConfigurationInjectorTest extends EndoyApplicationTest
@@ -215,6 +220,177 @@ class ConfigurationInjectorTest extends EndoyApplicationTest
         }
     }
 
+    @Test
+    void testReloadConfigurations() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    TestConfigurationWithReload.class
+                ) );
+
+            TestHelper.callRealMethods( reflectionUtils );
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            TestConfigurationWithReload testConfiguration = injector.getInjectableInstance( TestConfigurationWithReload.class );
+            assertEquals( "test", testConfiguration.getTest() );
+            assertEquals( TestEnum.TEST, testConfiguration.getTestEnum() );
+
+            Files.writeString(
+                new File( dataFolder, "config-with-reload.yml" ).toPath(),
+                """
+                    test: reloaded
+                    test-enum: TESTING
+                    """
+            );
+            this.reload();
+
+            assertEquals( "reloaded", testConfiguration.getTest() );
+            assertEquals( TestEnum.TESTING, testConfiguration.getTestEnum() );
+        }
+    }
+
+    @Test
+    void testReloadUpdatesPrimitiveHandles() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    TestConfigurationWithHandles.class
+                ) );
+
+            TestHelper.callRealMethods( reflectionUtils );
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            TestConfigurationWithHandles testConfiguration = injector.getInjectableInstance( TestConfigurationWithHandles.class );
+            IntConfigValue maxPlayers = testConfiguration.getMaxPlayers();
+            DoubleConfigValue multiplier = testConfiguration.getMultiplier();
+            assertEquals( 20, maxPlayers.get() );
+            assertEquals( 1.5D, multiplier.get() );
+
+            Files.writeString(
+                new File( dataFolder, "config-with-handles.yml" ).toPath(),
+                """
+                    max-players: 50
+                    multiplier: 2
+                    """
+            );
+            this.reload();
+
+            assertEquals( 50, maxPlayers.get() );
+            assertEquals( 2D, multiplier.get() );
+        }
+    }
+
+    @Test
+    void testReloadPublishesChanges() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    TestConfigurationWithChanges.class,
+                    TestChangeListener.class
+                ) );
+
+            TestHelper.callRealMethods( reflectionUtils );
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            Files.writeString(
+                new File( dataFolder, "config-with-changes.yml" ).toPath(),
+                """
+                    test: test
+                    amount: 2
+                    """
+            );
+            this.reload();
+
+            List<ConfigurationChange> changes = injector.getInjectableInstance( TestChangeListener.class ).getChanges();
+            assertEquals( 1, changes.size() );
+            assertTrue( changes.get( 0 ).is( TestConfigurationWithChanges.class, "amount" ) );
+            assertEquals( 1, (int) changes.get( 0 ).getOldValue() );
+            assertEquals( 2, (int) changes.get( 0 ).getNewValue() );
+        }
+    }
+
+    @Test
+    void testInjectConfigurationWithCodecs() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    TestConfigurationWithCodecs.class,
+                    TestConfigurationWithCodecs.TestRank.class
+                ) );
+
+            Files.writeString(
+                new File( dataFolder, "config-with-codecs.yml" ).toPath(),
+                """
+                    cooldown: 5m
+                    owner: 1b4c9f7e-3f1a-4c57-9f3e-2a5d8b6c0e11
+                    test-enums:
+                    - TESTING
+                    - TEST
+                    ranks:
+                      admin:
+                        weight: 100
+                      member:
+                        weight: 1
+                    """
+            );
+
+            TestHelper.callRealMethods( reflectionUtils );
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            TestConfigurationWithCodecs testConfiguration = injector.getInjectableInstance( TestConfigurationWithCodecs.class );
+            assertEquals( Duration.ofMinutes( 5 ), testConfiguration.getCooldown() );
+            assertEquals( UUID.fromString( "1b4c9f7e-3f1a-4c57-9f3e-2a5d8b6c0e11" ), testConfiguration.getOwner() );
+            assertEquals( List.of( TestEnum.TESTING, TestEnum.TEST ), testConfiguration.getTestEnums() );
+            assertEquals( List.of( "admin", "member" ), List.copyOf( testConfiguration.getRanks().keySet() ) );
+            assertEquals( 100, testConfiguration.getRanks().get( "admin" ).getWeight() );
+            assertEquals( 1, testConfiguration.getRanks().get( "member" ).getWeight() );
+        }
+    }
+
+    @Test
+    void testInjectMapWithTransform() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    TestConfigurationWithMapTransform.class
+                ) );
+
+            Files.writeString(
+                new File( dataFolder, "config-with-map-transform.yml" ).toPath(),
+                """
+                    weights: admin=100,member=1
+                    """
+            );
+
+            TestHelper.callRealMethods( reflectionUtils );
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            // the transformer of a map field is used instead of the built-in map codec
+            TestConfigurationWithMapTransform testConfiguration = injector.getInjectableInstance( TestConfigurationWithMapTransform.class );
+            assertEquals( Map.of( "admin", 100, "member", 1 ), testConfiguration.getWeights() );
+        }
+    }
+
     public enum TestEnum
     {
         TEST, TESTING
@@ -305,6 +481,121 @@ class ConfigurationInjectorTest extends EndoyApplicationTest
 
     }
 
+    @Getter
+    @Configuration( filePath = "config-with-reload.yml" )
+    public static class TestConfigurationWithReload
+    {
+
+        @Value
+        private String test = "test";
+
+        @Value
+        private TestEnum testEnum = TestEnum.TEST;
+
+    }
+
+    @Getter
+    @Configuration( filePath = "config-with-handles.yml" )
+    public static class TestConfigurationWithHandles
+    {
+
+        @Value
+        private final IntConfigValue maxPlayers = new IntConfigValue( 20 );
+
+        @Value
+        private final DoubleConfigValue multiplier = new DoubleConfigValue( 1.5D );
+
+    }
+
+    @Configuration( filePath = "config-with-changes.yml" )
+    public static class TestConfigurationWithChanges
+    {
+
+        @Value
+        private String test = "test";
+
+        @Value
+        private int amount = 1;
+
+    }
+
+    @Getter
+    @Component
+    public static class TestChangeListener implements ConfigurationChangeListener
+    {
+
+        private final List<ConfigurationChange> changes = new ArrayList<>();
+
+        @Override
+        public void onConfigChanged( ConfigurationChange change )
+        {
+            this.changes.add( change );
+        }
+    }
+
+    @Getter
+    @Configuration( filePath = "config-with-codecs.yml" )
+    public static class TestConfigurationWithCodecs
+    {
+
+        @Value
+        private Duration cooldown = Duration.ofSeconds( 30 );
+
+        @Value
+        private UUID owner;
+
+        @Value
+        private List<TestEnum> testEnums = List.of( TestEnum.TEST );
+
+        @Value
+        private Map<String, TestRank> ranks = new HashMap<>();
+
+        @Getter
+        @ConfigurationSection
+        public static class TestRank
+        {
+
+            @Value
+            private int weight;
+
+        }
+    }
+
+    @Getter
+    @Configuration( filePath = "config-with-map-transform.yml" )
+    public static class TestConfigurationWithMapTransform
+    {
+
+        @Value
+        @TransformValue( value = TestMapTransform.class )
+        private Map<String, Integer> weights = new HashMap<>();
+
+    }
+
+    public static class TestMapTransform implements ValueTransformer<Map<String, Integer>>
+    {
+
+        @Override
+        public Map<String, Integer> transformFromConfigValue( Object value )
+        {
+            Map<String, Integer> weights = new HashMap<>();
+            for ( String entry : ( (String) value ).split( "," ) )
+            {
+                String[] parts = entry.split( "=" );
+                weights.put( parts[0], Integer.parseInt( parts[1] ) );
+            }
+            return weights;
+        }
+
+        @Override
+        public Object transformToConfigValue( Map<String, Integer> value )
+        {
+            StringJoiner joiner = new StringJoiner( "," );
+            value.forEach( ( key, weight ) -> joiner.add( key + "=" + weight ) );
+            return joiner.toString();
+        }
+    }
+
     public static class TestTransform implements ValueTransformer<TransformedTest>
     {
 
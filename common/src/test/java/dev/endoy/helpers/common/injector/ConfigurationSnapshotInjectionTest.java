@@ -0,0 +1,95 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class ConfigurationSnapshotInjectionTest extends EndoyApplicationTest
+{
+
+    @Test
+    @DisplayName( "Test snapshot configurations to be replaced instead of changed on reload" )
+    void testInject() throws IOException
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    SnapshotConfiguration.class,
+                    ChatFilter.class
+                ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            this.setInjector( injector );
+            injector.inject();
+
+            ChatFilter chatFilter = injector.getInjectableInstance( ChatFilter.class );
+            SnapshotConfiguration initialConfiguration = chatFilter.getConfiguration().get();
+
+            assertSame( injector.getInjectableInstance( SnapshotConfiguration.class ), initialConfiguration );
+            assertSame( chatFilter.getConfiguration(), chatFilter.getInjectedConfiguration() );
+            assertEquals( 3, initialConfiguration.getMaxWarnings() );
+
+            Files.writeString(
+                new File( getDataFolder(), "snapshot.yml" ).toPath(),
+                """
+                    max-warnings: 5
+                    blocked-word: reloaded
+                    """
+            );
+            this.reload();
+
+            SnapshotConfiguration reloadedConfiguration = chatFilter.getConfiguration().get();
+
+            assertNotSame( initialConfiguration, reloadedConfiguration );
+            assertEquals( 3, initialConfiguration.getMaxWarnings() );
+            assertEquals( "swear", initialConfiguration.getBlockedWord() );
+            assertEquals( 5, reloadedConfiguration.getMaxWarnings() );
+            assertEquals( "reloaded", reloadedConfiguration.getBlockedWord() );
+            assertSame( reloadedConfiguration, injector.getInjectableInstance( SnapshotConfiguration.class ) );
+            assertEquals( 1, injector.getInjectablesOfType( Configuration.class ).size() );
+        }
+    }
+
+    @Getter
+    @Configuration( filePath = "snapshot.yml", snapshot = true )
+    public static class SnapshotConfiguration
+    {
+
+        @Value
+        private int maxWarnings = 3;
+
+        @Value
+        private String blockedWord = "swear";
+
+    }
+
+    @Getter
+    @Component
+    public static class ChatFilter
+    {
+
+        private final ConfigurationSnapshot<SnapshotConfiguration> configuration;
+
+        @Inject
+        private ConfigurationSnapshot<SnapshotConfiguration> injectedConfiguration;
+
+        public ChatFilter( ConfigurationSnapshot<SnapshotConfiguration> configuration )
+        {
+            this.configuration = configuration;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class GeneratedInjectorModuleInjectionTest extends EndoyApplicationTest
+{
+
+    private static final AtomicInteger GENERATED_CALLS = new AtomicInteger();
+
+    @Test
+    @DisplayName( "Test generated injector modules to be used instead of reflection" )
+    void testInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( TestComponent.class, TestService.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            TestService testService = injector.getInjectableInstance( TestService.class );
+
+            assertSame( injector.getInjectableInstance( TestComponent.class ), testService.getTestComponent() );
+            assertSame( injector.getInjectableInstance( TestComponent.class ), testService.getInjectedTestComponent() );
+            assertTrue( testService.isPostConstructCalled() );
+            // the TestService constructor, the injectedTestComponent field and the postConstruct method
+            assertEquals( 3, GENERATED_CALLS.get() );
+        }
+    }
+
+    @Component
+    public static class TestComponent
+    {
+    }
+
+    @Getter
+    @Service
+    public static class TestService
+    {
+
+        private final TestComponent testComponent;
+        @Inject
+        TestComponent injectedTestComponent;
+        private boolean postConstructCalled;
+
+        public TestService( TestComponent testComponent )
+        {
+            this.testComponent = testComponent;
+        }
+
+        @PostConstruct
+        void postConstruct()
+        {
+            this.postConstructCalled = true;
+        }
+    }
+
+    /**
+     * Mirrors what the annotation processor generates for the classes above.
+     */
+    public static final class TestInjectorModule implements InjectorModule
+    {
+
+        @Override
+        public void register( GeneratedBindings bindings )
+        {
+            bindings.constructor( TestService.class, new Class<?>[]{ TestComponent.class }, arguments ->
+            {
+                GENERATED_CALLS.incrementAndGet();
+                return new TestService( (TestComponent) arguments[0] );
+            } );
+            bindings.field( TestService.class, "injectedTestComponent", ( instance, value ) ->
+            {
+                GENERATED_CALLS.incrementAndGet();
+                ( (TestService) instance ).injectedTestComponent = (TestComponent) value;
+            } );
+            bindings.method( TestService.class, "postConstruct", instance ->
+            {
+                GENERATED_CALLS.incrementAndGet();
+                ( (TestService) instance ).postConstruct();
+            } );
+        }
+    }
+}
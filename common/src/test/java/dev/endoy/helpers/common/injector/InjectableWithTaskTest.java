@@ -0,0 +1,154 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.task.ScheduledTask;
+import dev.endoy.helpers.common.task.TaskExecutionException;
+import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.task.TaskMetrics;
+import dev.endoy.helpers.common.task.TaskStats;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class InjectableWithTaskTest extends EndoyApplicationTest
+{
+
+    private static int taskCalls = 0;
+
+    private final List<Runnable> registeredTasks = new ArrayList<>();
+
+    @Test
+    @DisplayName( "Test Task methods to be registered and executed" )
+    void testInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( TestComponent.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            assertEquals( 2, this.registeredTasks.size() );
+
+            List<TaskExecutionException> exceptions = new ArrayList<>();
+            for ( Runnable registeredTask : this.registeredTasks )
+            {
+                try
+                {
+                    registeredTask.run();
+                    registeredTask.run();
+                }
+                catch ( TaskExecutionException e )
+                {
+                    exceptions.add( e );
+                }
+            }
+
+            assertEquals( 2, taskCalls );
+            assertEquals( 1, exceptions.size() );
+            assertInstanceOf( IllegalStateException.class, exceptions.get( 0 ).getCause() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test every run of a task that keeps failing to be recorded as a failure, also when it is not logged" )
+    void testRecordsSuppressedFailures()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( FailingComponent.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            assertEquals( 1, this.registeredTasks.size() );
+            Runnable registeredTask = this.registeredTasks.get( 0 );
+
+            // only the first failure is thrown to the scheduler, the others are within the rate limit of the log
+            assertThrows( TaskExecutionException.class, registeredTask::run );
+            for ( int i = 0; i < 4; i++ )
+            {
+                registeredTask.run();
+            }
+
+            TaskStats stats = TaskMetrics.getStats( FailingComponent.class.getName() + "#failingTask" );
+            assertEquals( 5, stats.getExecutions() );
+            assertEquals( 5, stats.getFailures() );
+        }
+    }
+
+    @Override
+    public TaskManager getTaskManager()
+    {
+        return new TaskManager()
+        {
+            @Override
+            public ScheduledTask runTask( Runnable runnable, boolean async )
+            {
+                return this.register( runnable );
+            }
+
+            @Override
+            public ScheduledTask runTaskLater( Runnable runnable, boolean async, long delay, TimeUnit timeUnit )
+            {
+                return this.register( runnable );
+            }
+
+            @Override
+            public ScheduledTask runTaskTimer( Runnable runnable, boolean async, long delay, long period, TimeUnit timeUnit )
+            {
+                return this.register( runnable );
+            }
+
+            private ScheduledTask register( Runnable runnable )
+            {
+                // instrumented like the task managers of the platforms
+                registeredTasks.add( TaskMetrics.instrument( runnable, true, 0, TimeUnit.MILLISECONDS ) );
+                return () ->
+                {
+                };
+            }
+        };
+    }
+
+    @Component
+    public static class TestComponent
+    {
+
+        @Task( fixedDelay = 50 )
+        public void countingTask()
+        {
+            taskCalls++;
+        }
+
+        @Task( fixedDelay = 50 )
+        public void failingTask()
+        {
+            throw new IllegalStateException( "Task failed" );
+        }
+    }
+
+    @Component
+    public static class FailingComponent
+    {
+
+        @Task( fixedDelay = 50 )
+        public void failingTask()
+        {
+            throw new IllegalStateException( "Task keeps failing" );
+        }
+    }
+}
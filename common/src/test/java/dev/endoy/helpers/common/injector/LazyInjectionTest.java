@@ -0,0 +1,116 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class LazyInjectionTest extends EndoyApplicationTest
+{
+
+    private static final AtomicInteger LAZY_SERVICE_INSTANCES = new AtomicInteger();
+    private static final AtomicInteger LAZY_SERVICE_POST_CONSTRUCTS = new AtomicInteger();
+
+    @Test
+    @DisplayName( "Test lazy injectables to only be created once, when first requested" )
+    void testInject() throws Exception
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    AdminCommandHandler.class,
+                    LazyService.class,
+                    TestComponent.class
+                ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            assertNotNull( injector.getInjectableInstance( TestComponent.class ) );
+            assertNotNull( injector.getInjectableInstance( AdminCommandHandler.class ) );
+            assertEquals( 0, LAZY_SERVICE_INSTANCES.get() );
+
+            ExecutorService executorService = Executors.newFixedThreadPool( 4 );
+            try
+            {
+                List<Future<LazyService>> futures = executorService.invokeAll( List.<Callable<LazyService>>of(
+                    () -> injector.getInjectableInstance( LazyService.class ),
+                    () -> injector.getInjectableInstance( TestComponent.class ).getLazyServiceProvider().get(),
+                    () -> injector.getInjectableInstance( AdminCommandHandler.class ).getLazyServiceSupplier().get(),
+                    () -> injector.getInjectableInstance( LazyService.class )
+                ) );
+
+                LazyService lazyService = injector.getInjectableInstance( LazyService.class );
+                for ( Future<LazyService> future : futures )
+                {
+                    assertSame( lazyService, future.get() );
+                }
+            }
+            finally
+            {
+                executorService.shutdown();
+            }
+
+            assertEquals( 1, LAZY_SERVICE_INSTANCES.get() );
+            assertEquals( 1, LAZY_SERVICE_POST_CONSTRUCTS.get() );
+            assertSame( injector.getInjectableInstance( TestComponent.class ), injector.getInjectableInstance( LazyService.class ).getTestComponent() );
+        }
+    }
+
+    @Lazy
+    @Service
+    public static class LazyService
+    {
+
+        @Getter
+        private final TestComponent testComponent;
+
+        public LazyService( TestComponent testComponent )
+        {
+            this.testComponent = testComponent;
+            LAZY_SERVICE_INSTANCES.incrementAndGet();
+        }
+
+        @PostConstruct
+        void postConstruct()
+        {
+            LAZY_SERVICE_POST_CONSTRUCTS.incrementAndGet();
+        }
+    }
+
+    @Getter
+    @Component
+    public static class TestComponent
+    {
+
+        @Inject
+        private Provider<LazyService> lazyServiceProvider;
+
+    }
+
+    @Getter
+    @Component
+    public static class AdminCommandHandler
+    {
+
+        private final Supplier<LazyService> lazyServiceSupplier;
+
+        public AdminCommandHandler( Supplier<LazyService> lazyServiceSupplier )
+        {
+            this.lazyServiceSupplier = lazyServiceSupplier;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class MultiBindingInjectionTest extends EndoyApplicationTest
+{
+
+    @Test
+    @DisplayName( "Test List injection points to receive all injectables of a type" )
+    void testInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    AbstractHandler.class,
+                    FirstHandler.class,
+                    Handler.class,
+                    HandlerBeans.class,
+                    HandlerService.class,
+                    SecondHandler.class
+                ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            HandlerService handlerService = injector.getInjectableInstance( HandlerService.class );
+
+            assertEquals( 3, handlerService.getHandlers().size() );
+            assertEquals( handlerService.getHandlers(), handlerService.getInjectedHandlers() );
+            assertEquals( handlerService.getHandlers(), injector.getInjectablesImplementing( Handler.class ) );
+            assertTrue( handlerService.getHandlers().contains( injector.getInjectableInstance( FirstHandler.class ) ) );
+            assertTrue( handlerService.getHandlers().contains( injector.getInjectableInstance( SecondHandler.class ) ) );
+
+            // interfaces declared on a class that extends another class are registered as well
+            assertInstanceOf( SecondHandler.class, injector.getInjectableInstance( Runnable.class ) );
+
+            assertEquals( 2, injector.getInjectablesOfType( Component.class ).size() );
+            assertEquals( List.of( handlerService ), injector.getInjectablesOfType( Service.class ) );
+        }
+    }
+
+    public interface Handler
+    {
+    }
+
+    public static abstract class AbstractHandler
+    {
+    }
+
+    @Component
+    public static class FirstHandler implements Handler
+    {
+    }
+
+    @Component
+    public static class SecondHandler extends AbstractHandler implements Handler, Runnable
+    {
+
+        @Override
+        public void run()
+        {
+        }
+    }
+
+    @Beans
+    public static class HandlerBeans
+    {
+
+        @Bean
+        public Handler beanHandler()
+        {
+            return new Handler()
+            {
+            };
+        }
+    }
+
+    @Getter
+    @Service
+    public static class HandlerService
+    {
+
+        private final List<Handler> handlers;
+        @Inject
+        private List<Handler> injectedHandlers;
+
+        public HandlerService( List<Handler> handlers )
+        {
+            this.handlers = handlers;
+        }
+    }
+}
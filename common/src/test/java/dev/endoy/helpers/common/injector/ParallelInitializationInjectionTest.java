@@ -0,0 +1,128 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Value;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+public class ParallelInitializationInjectionTest extends EndoyApplicationTest
+{
+
+    private static final AtomicInteger SHARED_COMPONENT_INSTANCES = new AtomicInteger();
+
+    @Test
+    @DisplayName( "Test injectables are created once and wired correctly when created in parallel" )
+    void testInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( A.class, B.class, C.class, SharedComponent.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.setParallelInitialization( true );
+            injector.inject();
+
+            SharedComponent sharedComponent = injector.getInjectableInstance( SharedComponent.class );
+
+            assertEquals( 1, SHARED_COMPONENT_INSTANCES.get() );
+            assertSame( sharedComponent, injector.getInjectableInstance( A.class ).getSharedComponent() );
+            assertSame( sharedComponent, injector.getInjectableInstance( B.class ).getSharedComponent() );
+            assertSame( injector.getInjectableInstance( A.class ), injector.getInjectableInstance( C.class ).getA() );
+            assertSame( injector.getInjectableInstance( B.class ), injector.getInjectableInstance( C.class ).getB() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test a constructor requesting a lazy injectable while created in parallel to fail instead of blocking" )
+    void testRequestLazyInjectable()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( LazyRequester.class, LazyComponent.class, OtherComponent.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.setParallelInitialization( true );
+
+            Throwable cause = assertThrows( FailedInjectionException.class, injector::inject );
+            while ( cause != null && !( cause instanceof InvalidInjectionContextException ) )
+            {
+                cause = cause.getCause();
+            }
+
+            assertNotNull( cause );
+            assertTrue( cause.getMessage().contains( LazyComponent.class.getName() ) );
+        }
+    }
+
+    @Value
+    @Component
+    public static class A
+    {
+
+        SharedComponent sharedComponent;
+
+    }
+
+    @Value
+    @Component
+    public static class B
+    {
+
+        SharedComponent sharedComponent;
+
+    }
+
+    @Value
+    @Service
+    public static class C
+    {
+
+        A a;
+        B b;
+
+    }
+
+    @Component
+    public static class LazyRequester
+    {
+
+        public LazyRequester( Provider<LazyComponent> lazyComponent )
+        {
+            lazyComponent.get();
+        }
+    }
+
+    @Lazy
+    @Component
+    public static class LazyComponent
+    {
+    }
+
+    @Component
+    public static class OtherComponent
+    {
+    }
+
+    @Component
+    public static class SharedComponent
+    {
+
+        public SharedComponent()
+        {
+            SHARED_COMPONENT_INSTANCES.incrementAndGet();
+        }
+    }
+}
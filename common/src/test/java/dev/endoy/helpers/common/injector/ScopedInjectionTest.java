@@ -0,0 +1,119 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+class ScopedInjectionTest extends EndoyApplicationTest
+{
+
+    @Test
+    @DisplayName( "Test scoped injectables to be created per scope and closed together with their scope" )
+    void testInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of(
+                    PlayerData.class,
+                    PlayerCache.class,
+                    SharedService.class
+                ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            assertNotNull( injector.getInjectableInstance( SharedService.class ) );
+            assertNull( injector.getInjectableInstance( PlayerData.class ) );
+            assertNull( injector.getInjectableInstance( PlayerCache.class ) );
+
+            InjectorScope firstScope = injector.createScope( "player", new TestPlayer( "first" ) );
+            InjectorScope secondScope = injector.createScope( "player", new TestPlayer( "second" ) );
+
+            PlayerData firstData = firstScope.getInjectableInstance( PlayerData.class );
+            PlayerData secondData = secondScope.getInjectableInstance( PlayerData.class );
+
+            assertNotSame( firstData, secondData );
+            assertEquals( "first", firstData.getPlayer().name() );
+            assertEquals( "second", secondData.getPlayer().name() );
+            assertSame( injector.getInjectableInstance( SharedService.class ), firstData.getSharedService() );
+            assertSame( injector.getInjectableInstance( SharedService.class ), secondScope.getInjectableInstance( SharedService.class ) );
+
+            PlayerCache firstCache = firstScope.getInjectableInstance( PlayerCache.class );
+            assertSame( firstData, firstCache.getPlayerData() );
+            assertTrue( firstCache.isInitialized() );
+            assertSame( injector.getScopePlan( "player" ), injector.getScopePlan( "player" ) );
+
+            firstScope.close();
+
+            assertTrue( firstData.isClosed() );
+            assertFalse( secondData.isClosed() );
+            assertThrows( InvalidInjectionContextException.class, () -> firstScope.getInjectableInstance( PlayerData.class ) );
+
+            InjectorScope nestedScope = secondScope.createScope( "player", new TestPlayer( "nested" ) );
+            PlayerData nestedData = nestedScope.getInjectableInstance( PlayerData.class );
+            secondScope.close();
+
+            assertTrue( secondData.isClosed() );
+            assertTrue( nestedScope.isClosed() );
+            assertTrue( nestedData.isClosed() );
+        }
+    }
+
+    public record TestPlayer(String name)
+    {
+    }
+
+    @Service
+    public static class SharedService
+    {
+    }
+
+    @Getter
+    @Scoped( "player" )
+    public static class PlayerData implements AutoCloseable
+    {
+
+        private final TestPlayer player;
+        private final SharedService sharedService;
+        private boolean closed;
+
+        public PlayerData( TestPlayer player, SharedService sharedService )
+        {
+            this.player = player;
+            this.sharedService = sharedService;
+        }
+
+        @Override
+        public void close()
+        {
+            this.closed = true;
+        }
+    }
+
+    @Getter
+    @Scoped( "player" )
+    public static class PlayerCache
+    {
+
+        @Inject
+        private PlayerData playerData;
+        private boolean initialized;
+
+        @PostConstruct
+        public void initialize()
+        {
+            this.initialized = this.playerData != null;
+        }
+    }
+}
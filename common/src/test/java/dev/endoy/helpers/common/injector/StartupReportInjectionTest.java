@@ -0,0 +1,142 @@
+package dev.endoy.helpers.common.injector;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import dev.endoy.helpers.common.TestHelper;
+import dev.endoy.helpers.common.startup.StartupProfiler;
+import dev.endoy.helpers.common.startup.StartupReport;
+import dev.endoy.helpers.common.utils.ReflectionUtils;
+import lombok.Value;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mockStatic;
+
+class StartupReportInjectionTest extends EndoyApplicationTest
+{
+
+    @Test
+    @DisplayName( "Test startup report to contain the phases, constructors and post constructs" )
+    void testInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( TestComponent.class, TestService.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            StartupReport startupReport = injector.getStartupReport();
+
+            assertEquals( 1, startupReport.getEntries( StartupReport.Category.SCAN ).size() );
+            assertTrue( startupReport.getEntries( StartupReport.Category.PHASE )
+                .stream()
+                .anyMatch( entry -> entry.name().equals( "initializeInjectables" ) ) );
+            assertEquals(
+                List.of( TestComponent.class.getName(), TestService.class.getName() ),
+                startupReport.getEntries( StartupReport.Category.CONSTRUCTOR ).stream().map( StartupReport.Entry::name ).toList()
+            );
+            assertEquals( 1, startupReport.getEntries( StartupReport.Category.POST_CONSTRUCT ).size() );
+            assertEquals( 3, startupReport.getSlowestBeans( 10 ).size() );
+            assertTrue( startupReport.toSlowestBeansTable( 10 ).contains( TestService.class.getName() ) );
+            assertTrue( startupReport.toJson().contains( "\"name\": \"" + TestComponent.class.getName() + "\"" ) );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test startup profiler to stop recording once the injector is initialized" )
+    void testStopsRecordingAfterInject()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( TestComponent.class, TestService.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.inject();
+
+            StartupReport startupReport = injector.getStartupReport();
+
+            try ( StartupProfiler.Measurement ignored = injector.getStartupProfiler().measure( StartupReport.Category.CONFIGURATION_SAVE, "config.yml" ) )
+            {
+                assertNotNull( ignored );
+            }
+
+            assertSame( startupReport, injector.getStartupReport() );
+            assertTrue( startupReport.getEntries( StartupReport.Category.CONFIGURATION_SAVE ).isEmpty() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test the phases to include the memory allocated by injectables that are created in parallel" )
+    void testPhaseIncludesParallelAllocations()
+    {
+        try ( MockedStatic<ReflectionUtils> reflectionUtils = mockStatic( ReflectionUtils.class ) )
+        {
+            reflectionUtils.when( () -> ReflectionUtils.getClassesInPackage( this.getClass() ) )
+                .thenReturn( List.of( AllocatingComponent.class, OtherAllocatingComponent.class ) );
+            TestHelper.callRealMethods( reflectionUtils );
+
+            Injector injector = Injector.forProject( this.getClass(), this );
+            injector.setParallelInitialization( true );
+            injector.inject();
+
+            StartupReport startupReport = injector.getStartupReport();
+            StartupReport.Entry phase = startupReport.getEntries( StartupReport.Category.PHASE )
+                .stream()
+                .filter( entry -> entry.name().equals( "initializeInjectables" ) )
+                .findFirst()
+                .orElseThrow();
+            assumeTrue( phase.allocatedBytes() >= 0, "Allocated memory cannot be measured on this JVM" );
+
+            assertTrue( startupReport.getEntries( StartupReport.Category.CONSTRUCTOR )
+                .stream()
+                .noneMatch( entry -> entry.thread().equals( Thread.currentThread().getName() ) ) );
+            assertTrue( phase.allocatedBytes() >= 2L * AllocatingComponent.ALLOCATED_BYTES );
+        }
+    }
+
+    @Component
+    public static class TestComponent
+    {
+
+        @PostConstruct
+        void postConstruct()
+        {
+        }
+    }
+
+    @Value
+    @Service
+    public static class TestService
+    {
+
+        TestComponent testComponent;
+
+    }
+
+    @Component
+    public static class AllocatingComponent
+    {
+
+        static final int ALLOCATED_BYTES = 8 * 1024 * 1024;
+
+        private final byte[] data = new byte[ALLOCATED_BYTES];
+
+    }
+
+    @Component
+    public static class OtherAllocatingComponent
+    {
+
+        private final byte[] data = new byte[AllocatingComponent.ALLOCATED_BYTES];
+
+    }
+}
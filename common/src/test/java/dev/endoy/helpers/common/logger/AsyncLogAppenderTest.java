@@ -0,0 +1,204 @@
+package dev.endoy.helpers.common.logger;
+
+import dev.endoy.helpers.common.EndoyApplicationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogAppenderTest
+{
+
+    private final AtomicInteger loggedEvents = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch( 1 );
+
+    @AfterEach
+    void tearDown()
+    {
+        this.release.countDown();
+
+        AsyncLogAppender appender = AsyncLogAppender.getActive();
+        if ( appender != null )
+        {
+            appender.close();
+        }
+    }
+
+    @Test
+    @DisplayName( "Test all events to be logged when callers block on a full buffer" )
+    void testBlockingAppenderLogsEverything() throws InterruptedException
+    {
+        this.release.countDown();
+        AsyncLogAppender appender = AsyncLogAppender.enable( 16, AsyncLogAppender.OverflowPolicy.BLOCK );
+        assertSame( appender, AsyncLogAppender.getActive() );
+        assertEquals( 16, appender.getCapacity() );
+
+        org.slf4j.Logger logger = this.createLogger();
+        List<Thread> threads = new ArrayList<>();
+        for ( int i = 0; i < 4; i++ )
+        {
+            int thread = i;
+            threads.add( new Thread( () ->
+            {
+                for ( int j = 0; j < 250; j++ )
+                {
+                    assertTrue( appender.append( logger, Level.INFO, "Async message {} from thread {}", new Object[]{ j, thread }, null ) );
+                }
+            } ) );
+        }
+        threads.forEach( Thread::start );
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        appender.close();
+
+        assertNull( AsyncLogAppender.getActive() );
+        assertEquals( 1000, this.loggedEvents.get() );
+        assertEquals( 0, appender.getPendingEvents() );
+        assertEquals( 0, appender.getDroppedEvents() );
+    }
+
+    @Test
+    @DisplayName( "Test the events that do not fit in the buffer to be dropped" )
+    void testDroppingAppenderDropsOverflow()
+    {
+        AsyncLogAppender appender = AsyncLogAppender.enable( 16, AsyncLogAppender.OverflowPolicy.DROP );
+        org.slf4j.Logger logger = this.createLogger();
+
+        // the background thread waits while logging the first event, which keeps its place in the buffer taken
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertTrue( appender.append( logger, Level.INFO, "Dropped message {}", new Object[]{ i }, null ) );
+        }
+
+        assertEquals( 84, appender.getDroppedEvents() );
+
+        this.release.countDown();
+        appender.close();
+
+        assertEquals( 16, this.loggedEvents.get() );
+    }
+
+    @Test
+    @DisplayName( "Test one in every sample rate events to wait for room in a full buffer" )
+    void testSamplingAppenderWaitsForSampledEvents() throws InterruptedException
+    {
+        AsyncLogAppender appender = AsyncLogAppender.enable( 16, AsyncLogAppender.OverflowPolicy.SAMPLE );
+        org.slf4j.Logger logger = this.createLogger();
+
+        for ( int i = 0; i < 16 + AsyncLogAppender.OverflowPolicy.SAMPLE_RATE - 1; i++ )
+        {
+            assertTrue( appender.append( logger, Level.INFO, "Sampled message {}", new Object[]{ i }, null ) );
+        }
+        assertEquals( AsyncLogAppender.OverflowPolicy.SAMPLE_RATE - 1, appender.getDroppedEvents() );
+
+        Thread sampledThread = new Thread( () -> appender.append( logger, Level.INFO, "Sampled message", null, null ) );
+        sampledThread.start();
+        sampledThread.join( 200 );
+        assertTrue( sampledThread.isAlive() );
+
+        this.release.countDown();
+        sampledThread.join( TimeUnit.SECONDS.toMillis( 5 ) );
+        assertFalse( sampledThread.isAlive() );
+        appender.close();
+
+        assertEquals( 17, this.loggedEvents.get() );
+        assertEquals( AsyncLogAppender.OverflowPolicy.SAMPLE_RATE - 1, appender.getDroppedEvents() );
+    }
+
+    @Test
+    @DisplayName( "Test no events to be lost when the appender is closed while events are appended" )
+    void testCloseLogsConcurrentEvents() throws InterruptedException
+    {
+        this.release.countDown();
+
+        for ( int attempt = 0; attempt < 20; attempt++ )
+        {
+            this.loggedEvents.set( 0 );
+
+            AsyncLogAppender appender = AsyncLogAppender.enable( 1024, AsyncLogAppender.OverflowPolicy.BLOCK );
+            org.slf4j.Logger logger = this.createLogger();
+            AtomicInteger rejectedEvents = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+
+            for ( int i = 0; i < 4; i++ )
+            {
+                threads.add( new Thread( () ->
+                {
+                    for ( int j = 0; j < 500; j++ )
+                    {
+                        // a rejected event is logged by the caller itself
+                        if ( !appender.append( logger, Level.INFO, "Closing message", null, null ) )
+                        {
+                            rejectedEvents.incrementAndGet();
+                        }
+                    }
+                } ) );
+            }
+            threads.forEach( Thread::start );
+            appender.close();
+            for ( Thread thread : threads )
+            {
+                thread.join();
+            }
+
+            assertEquals( 2000, this.loggedEvents.get() + rejectedEvents.get() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test the appender enabled through the application to be closed when the application is disabled" )
+    void testApplicationClosesAppender()
+    {
+        this.release.countDown();
+
+        EndoyApplicationTest application = new EndoyApplicationTest();
+        AsyncLogAppender appender = application.enableAsyncLogging( 16, AsyncLogAppender.OverflowPolicy.BLOCK );
+        org.slf4j.Logger logger = this.createLogger();
+
+        assertSame( appender, AsyncLogAppender.getActive() );
+        for ( int i = 0; i < 10; i++ )
+        {
+            assertTrue( appender.append( logger, Level.INFO, "Message {} before disabling", new Object[]{ i }, null ) );
+        }
+
+        application.disable();
+
+        assertNull( AsyncLogAppender.getActive() );
+        assertEquals( 10, this.loggedEvents.get() );
+        assertEquals( 0, appender.getPendingEvents() );
+    }
+
+    private org.slf4j.Logger createLogger()
+    {
+        return (org.slf4j.Logger) Proxy.newProxyInstance(
+            AsyncLogAppenderTest.class.getClassLoader(),
+            new Class<?>[]{ org.slf4j.Logger.class },
+            ( proxy, method, arguments ) ->
+            {
+                if ( method.getName().equals( "info" ) )
+                {
+                    this.release.await();
+                    this.loggedEvents.incrementAndGet();
+                    return null;
+                }
+                if ( method.getName().equals( "getName" ) )
+                {
+                    return AsyncLogAppenderTest.class.getName();
+                }
+                return method.getReturnType() == boolean.class ? false : null;
+            }
+        );
+    }
+}
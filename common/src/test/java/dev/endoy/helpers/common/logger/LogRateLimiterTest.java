@@ -0,0 +1,45 @@
+package dev.endoy.helpers.common.logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRateLimiterTest
+{
+
+    @Test
+    @DisplayName( "Test repeated calls to be suppressed per key" )
+    void testSuppressesPerKey()
+    {
+        LogRateLimiter rateLimiter = new LogRateLimiter( 2, Duration.ofHours( 1 ) );
+
+        assertEquals( 0, rateLimiter.tryAcquire( "first" ) );
+        assertEquals( 0, rateLimiter.tryAcquire( "first" ) );
+        assertEquals( -1, rateLimiter.tryAcquire( "first" ) );
+        assertEquals( -1, rateLimiter.tryAcquire( "first" ) );
+        assertEquals( 0, rateLimiter.tryAcquire( "second" ) );
+    }
+
+    @Test
+    @DisplayName( "Test suppressed calls to be reported by the next window" )
+    void testReportsSuppressedCalls() throws InterruptedException
+    {
+        LogRateLimiter rateLimiter = new LogRateLimiter( 1, Duration.ofMillis( 500 ) );
+
+        assertEquals( 0, rateLimiter.tryAcquire( "message" ) );
+        for ( int i = 0; i < 1243; i++ )
+        {
+            rateLimiter.tryAcquire( "message" );
+        }
+
+        Thread.sleep( 600 );
+
+        long suppressed = rateLimiter.tryAcquire( "message" );
+        assertEquals( 1243, suppressed );
+        assertEquals( "suppressed 1,243 identical messages in the last 500ms", rateLimiter.getSuppressionMessage( suppressed ) );
+        assertEquals( -1, rateLimiter.tryAcquire( "message" ) );
+    }
+}
@@ -0,0 +1,65 @@
+package dev.endoy.helpers.common.logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingConfigTest
+{
+
+    // the levels are global, so they are set for a package no other test logs from and are removed again afterwards
+    private static final String PACKAGE = "dev.endoy.helpers.test.logging";
+
+    @AfterEach
+    void tearDown()
+    {
+        LoggingConfig.resetLoggingLevel( PACKAGE );
+        LoggingConfig.resetLoggingLevel( PACKAGE + ".Nested" );
+        LoggingConfig.resetLoggingLevel( "dev.endoy.helpers.test.log" );
+        LoggingConfig.resetLoggingLevel( Other.class.getName() );
+    }
+
+    @Test
+    @DisplayName( "Test the most specific logging level to apply" )
+    void testLongestPrefixWins()
+    {
+        LoggingConfig.setLoggingLevel( PACKAGE, Level.WARN );
+        LoggingConfig.setLoggingLevel( PACKAGE + ".Nested", Level.TRACE );
+        // a package prefix only applies on whole segments
+        LoggingConfig.setLoggingLevel( "dev.endoy.helpers.test.log", Level.ERROR );
+
+        assertEquals( Level.WARN, LoggingConfig.getLoggingLevel( PACKAGE + ".Outer" ) );
+        assertEquals( Level.TRACE, LoggingConfig.getLoggingLevel( PACKAGE + ".Nested" ) );
+        assertEquals( Level.INFO, LoggingConfig.getLoggingLevel( String.class ) );
+
+        LoggingConfig.resetLoggingLevel( PACKAGE + ".Nested" );
+        assertEquals( Level.WARN, LoggingConfig.getLoggingLevel( PACKAGE + ".Nested" ) );
+    }
+
+    @Test
+    @DisplayName( "Test a changed logging level to be picked up by an existing logger" )
+    void testChangedLevelIsPickedUp()
+    {
+        Logger logger = Logger.forClass( Other.class );
+        assertFalse( logger.isDebugEnabled() );
+
+        int version = LoggingConfig.getVersion();
+        LoggingConfig.setLoggingLevel( Other.class, Level.DEBUG );
+        assertEquals( version + 1, LoggingConfig.getVersion() );
+        assertTrue( logger.isDebugEnabled() );
+
+        LoggingConfig.setLoggingLevel( Other.class, Level.ERROR );
+        assertFalse( logger.isDebugEnabled() );
+
+        LoggingConfig.resetLoggingLevel( Other.class.getName() );
+        assertEquals( Level.INFO, LoggingConfig.getLoggingLevel( Other.class ) );
+        assertFalse( logger.isDebugEnabled() );
+    }
+
+    private static class Other
+    {
+    }
+}
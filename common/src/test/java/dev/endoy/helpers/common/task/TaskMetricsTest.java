@@ -0,0 +1,148 @@
+package dev.endoy.helpers.common.task;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskMetricsTest
+{
+
+    @Test
+    @DisplayName( "Test the runs of an instrumented task to be recorded" )
+    void testRecordsRuns()
+    {
+        Runnable task = TaskMetrics.instrument( TaskMetrics.named( "TaskMetricsTest#slowTask", () -> sleep( 5 ) ), false, 1, TimeUnit.MILLISECONDS );
+        Runnable failingTask = TaskMetrics.instrument( TaskMetrics.named( "TaskMetricsTest#failingTask", () ->
+        {
+            throw new IllegalStateException( "Task failed" );
+        } ), true, 0, TimeUnit.MILLISECONDS );
+
+        task.run();
+        task.run();
+        assertThrows( IllegalStateException.class, failingTask::run );
+
+        TaskStats stats = TaskMetrics.getStats( "TaskMetricsTest#slowTask" );
+        assertEquals( 2, stats.getExecutions() );
+        assertEquals( 2, stats.getOverruns() );
+        assertEquals( 0, stats.getFailures() );
+        assertTrue( stats.getP50().toMillis() >= 4 );
+        assertTrue( stats.getMax().compareTo( stats.getP99() ) >= 0 );
+        assertTrue( stats.getMainThreadTime().toMillis() >= 9 );
+        assertTrue( stats.getAsyncTime().isZero() );
+
+        TaskStats failingStats = TaskMetrics.getStats( "TaskMetricsTest#failingTask" );
+        assertEquals( 1, failingStats.getExecutions() );
+        assertEquals( 1, failingStats.getFailures() );
+        assertEquals( 0, failingStats.getOverruns() );
+    }
+
+    @Test
+    @DisplayName( "Test a suppressed failure to be recorded as a failure without being rethrown" )
+    void testRecordsSuppressedFailures()
+    {
+        Runnable task = TaskMetrics.instrument( TaskMetrics.named( "TaskMetricsTest#suppressedFailure", () ->
+        {
+            throw new SuppressedTaskFailureException( new IllegalStateException( "Task failed" ) );
+        } ), false, 0, TimeUnit.MILLISECONDS );
+
+        task.run();
+        task.run();
+
+        TaskStats stats = TaskMetrics.getStats( "TaskMetricsTest#suppressedFailure" );
+        assertEquals( 2, stats.getExecutions() );
+        assertEquals( 2, stats.getFailures() );
+    }
+
+    @Test
+    @DisplayName( "Test a slow synchronous run to be logged with the stack it had when it exceeded its budget" )
+    void testLogsSlowRun()
+    {
+        Duration previousBudget = TaskMetrics.getSlowTaskBudget();
+        PrintStream previousErr = System.err;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Runnable task = TaskMetrics.instrument( TaskMetrics.named( "TaskMetricsTest#slowRun", TaskMetricsTest::slowStep ), false, 0, TimeUnit.MILLISECONDS );
+
+        // the logger writes warnings to the standard error stream
+        System.setErr( new PrintStream( output, true, StandardCharsets.UTF_8 ) );
+        try
+        {
+            TaskMetrics.setSlowTaskBudget( Duration.ofMillis( 20 ) );
+            task.run();
+        }
+        finally
+        {
+            System.setErr( previousErr );
+            TaskMetrics.setSlowTaskBudget( previousBudget );
+        }
+
+        String log = output.toString( StandardCharsets.UTF_8 );
+        assertEquals( 1, TaskMetrics.getStats( "TaskMetricsTest#slowRun" ).getSlowRuns() );
+        assertTrue( log.contains( "Synchronous task TaskMetricsTest#slowRun took" ), log );
+        assertTrue( log.contains( "more than its budget of 20ms" ), log );
+        assertTrue( log.contains( "Stack of the task when it exceeded its budget" ), log );
+        assertTrue( log.contains( TaskMetricsTest.class.getName() + ".slowStep" ), log );
+    }
+
+    @Test
+    @DisplayName( "Test runs within the budget and asynchronous runs not to be slow runs" )
+    void testIgnoresFastAndAsyncRuns()
+    {
+        Duration previousBudget = TaskMetrics.getSlowTaskBudget();
+
+        try
+        {
+            TaskMetrics.setSlowTaskBudget( Duration.ofMillis( 20 ) );
+            TaskMetrics.instrument( TaskMetrics.named( "TaskMetricsTest#fastRun", () ->
+            {
+            } ), false, 0, TimeUnit.MILLISECONDS ).run();
+            TaskMetrics.instrument( TaskMetrics.named( "TaskMetricsTest#asyncRun", () -> sleep( 50 ) ), true, 0, TimeUnit.MILLISECONDS ).run();
+        }
+        finally
+        {
+            TaskMetrics.setSlowTaskBudget( previousBudget );
+        }
+
+        assertEquals( 0, TaskMetrics.getStats( "TaskMetricsTest#fastRun" ).getSlowRuns() );
+        assertEquals( 0, TaskMetrics.getStats( "TaskMetricsTest#asyncRun" ).getSlowRuns() );
+    }
+
+    @Test
+    @DisplayName( "Test the latency histogram to keep values within its precision" )
+    void testHistogramPrecision()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for ( long value = 1; value <= 1_000_000; value++ )
+        {
+            histogram.record( value );
+        }
+
+        assertEquals( 500_000, histogram.getValueAtPercentile( 50 ), 500_000 * 0.07 );
+        assertEquals( 990_000, histogram.getValueAtPercentile( 99 ), 990_000 * 0.07 );
+        assertEquals( 1_000_000, histogram.getMax() );
+        assertEquals( 1_000_000, histogram.getValueAtPercentile( 100 ) );
+    }
+
+    private static void slowStep()
+    {
+        sleep( 200 );
+    }
+
+    private static void sleep( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package dev.endoy.helpers.common.utils;
+
+import dev.endoy.helpers.common.injector.Component;
+import dev.endoy.helpers.common.injector.Service;
+import dev.endoy.helpers.common.utils.scanned.ScannedComponent;
+import dev.endoy.helpers.common.utils.scanned.sub.ScannedSubclass;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.function.Predicate;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassFileScannerTest
+{
+
+    private static final List<ClassMetadata> EXPECTED_METADATA = List.of(
+        new ClassMetadata(
+            ScannedComponent.NestedService.class.getName(),
+            Set.of( Service.class.getName() ),
+            Set.of( Runnable.class.getName() )
+        ),
+        new ClassMetadata(
+            ScannedComponent.class.getName(),
+            Set.of( Component.class.getName(), ScanAnnotation.class.getName() ),
+            Set.of( ScanBase.class.getName(), ScanInterface.class.getName(), Serializable.class.getName() )
+        ),
+        new ClassMetadata(
+            ScannedSubclass.class.getName(),
+            Set.of(),
+            Set.of( ScannedComponent.class.getName(), ScanBase.class.getName(), ScanInterface.class.getName(), Serializable.class.getName() )
+        )
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName( "Test the class files in a directory to be scanned with their annotations and transitive supertypes" )
+    void testScanDirectory()
+    {
+        assertTrue( Files.isDirectory( getLocation( ScannedComponent.class ) ) );
+        assertEquals( EXPECTED_METADATA, ClassFileScanner.scanPackage( ScannedComponent.class ) );
+    }
+
+    @Test
+    @DisplayName( "Test the scanned annotations to be the class annotations, without the annotations of its methods" )
+    void testScanMatchesLoadedClasses() throws ClassNotFoundException
+    {
+        for ( ClassMetadata metadata : ClassFileScanner.scanPackage( ScannedComponent.class ) )
+        {
+            Set<String> annotations = new HashSet<>();
+            for ( Annotation annotation : Class.forName( metadata.className() ).getAnnotations() )
+            {
+                annotations.add( annotation.annotationType().getName() );
+            }
+
+            assertEquals( annotations, metadata.annotations(), metadata.className() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test the class files in a jar to be scanned with their annotations and transitive supertypes" )
+    void testScanJar() throws IOException, ReflectiveOperationException
+    {
+        Path jar = this.createJar();
+
+        // the platform class loader as parent makes sure the classes are loaded from the jar and not from the test classes
+        try ( URLClassLoader classLoader = new URLClassLoader( new URL[]{ jar.toUri().toURL() }, ClassLoader.getPlatformClassLoader() ) )
+        {
+            Class<?> starterClass = classLoader.loadClass( ScannedComponent.class.getName() );
+
+            assertEquals( jar, getLocation( starterClass ) );
+            assertEquals( EXPECTED_METADATA, ClassFileScanner.scanPackage( starterClass ) );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test the class files of a package spread over multiple class path locations to be scanned" )
+    void testScanMultipleLocations() throws IOException, ReflectiveOperationException
+    {
+        Path classes = getLocation( ClassFileScannerTest.class );
+        String subclassFile = ScannedSubclass.class.getName().replace( '.', '/' ) + ".class";
+        Path jar = this.createJar( path -> !path.endsWith( subclassFile ) );
+
+        // the subpackage is only in a second location
+        Path directory = this.directory.resolve( "classes" );
+        Files.createDirectories( directory.resolve( subclassFile ).getParent() );
+        Files.copy( classes.resolve( subclassFile ), directory.resolve( subclassFile ) );
+
+        try ( URLClassLoader classLoader = new URLClassLoader(
+            new URL[]{ jar.toUri().toURL(), directory.toUri().toURL() },
+            ClassLoader.getPlatformClassLoader()
+        ) )
+        {
+            Class<?> starterClass = classLoader.loadClass( ScannedComponent.class.getName() );
+
+            assertEquals( EXPECTED_METADATA, ClassFileScanner.scanPackage( starterClass ) );
+        }
+    }
+
+    private Path createJar() throws IOException
+    {
+        return this.createJar( path -> true );
+    }
+
+    private Path createJar( Predicate<Path> filter ) throws IOException
+    {
+        Path classes = getLocation( ClassFileScannerTest.class );
+        List<Path> classFiles = new ArrayList<>();
+
+        try ( Stream<Path> stream = Files.walk( classes.resolve( ScannedComponent.class.getPackageName().replace( '.', '/' ) ) ) )
+        {
+            stream.filter( Files::isRegularFile ).filter( filter ).forEach( classFiles::add );
+        }
+        for ( Class<?> outsideClass : List.of( ScanBase.class, ScanInterface.class, ScanAnnotation.class ) )
+        {
+            classFiles.add( classes.resolve( outsideClass.getName().replace( '.', '/' ) + ".class" ) );
+        }
+
+        Path jar = this.directory.resolve( "scanned.jar" );
+        try ( OutputStream outputStream = Files.newOutputStream( jar );
+              JarOutputStream jarOutputStream = new JarOutputStream( outputStream ) )
+        {
+            for ( Path classFile : classFiles )
+            {
+                jarOutputStream.putNextEntry( new JarEntry( classes.relativize( classFile ).toString().replace( '\\', '/' ) ) );
+                jarOutputStream.write( Files.readAllBytes( classFile ) );
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static Path getLocation( Class<?> clazz )
+    {
+        try
+        {
+            return Path.of( clazz.getProtectionDomain().getCodeSource().getLocation().toURI() );
+        }
+        catch ( URISyntaxException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    @Retention( RetentionPolicy.RUNTIME )
+    public @interface ScanAnnotation
+    {
+
+        String[] value();
+
+        ElementType type();
+
+        Class<?> target();
+
+        double priority();
+
+        Deprecated nested();
+
+    }
+
+    public interface ScanInterface extends Serializable
+    {
+    }
+
+    public abstract static class ScanBase implements ScanInterface
+    {
+    }
+}
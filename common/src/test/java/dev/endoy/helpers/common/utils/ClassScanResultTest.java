@@ -0,0 +1,124 @@
+package dev.endoy.helpers.common.utils;
+
+import dev.endoy.helpers.common.injector.Component;
+import dev.endoy.helpers.common.injector.InjectableIndex;
+import dev.endoy.helpers.common.injector.Service;
+import dev.endoy.helpers.common.utils.scanned.ScannedComponent;
+import dev.endoy.helpers.common.utils.scanned.sub.ScannedSubclass;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassScanResultTest
+{
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName( "Test loaded classes to be bucketed by their annotations and transitive supertypes" )
+    void testOfClasses()
+    {
+        ClassScanResult scanResult = ClassScanResult.ofClasses(
+            ClassScanResultTest.class.getClassLoader(),
+            List.of( ScannedSubclass.class, ScannedComponent.class, ScannedComponent.NestedService.class )
+        );
+
+        assertEquals( List.of( ScannedSubclass.class, ScannedComponent.class, ScannedComponent.NestedService.class ), scanResult.getClasses() );
+        assertEquals( List.of( ScannedComponent.class ), scanResult.getClassesAnnotatedWith( Component.class ) );
+        assertEquals( List.of( ScannedComponent.NestedService.class ), scanResult.getClassesAnnotatedWith( Service.class ) );
+        assertEquals( List.of( ScannedSubclass.class ), scanResult.getClassesImplementing( ScannedComponent.class ) );
+        assertEquals(
+            List.of( ScannedSubclass.class, ScannedComponent.class ),
+            scanResult.getClassesImplementing( ClassFileScannerTest.ScanInterface.class )
+        );
+        assertEquals( List.of( ScannedComponent.NestedService.class ), scanResult.getClassesImplementing( Runnable.class ) );
+        assertEquals( List.of(), scanResult.getClassesAnnotatedWith( Deprecated.class ) );
+    }
+
+    @Test
+    @DisplayName( "Test the class files of a package to be bucketed by their annotations and transitive supertypes" )
+    void testScanClassFiles()
+    {
+        ClassScanResult scanResult = ClassScanResult.scanClassFiles( ScannedComponent.class );
+
+        assertEquals(
+            List.of( ScannedComponent.NestedService.class, ScannedComponent.class, ScannedSubclass.class ),
+            scanResult.getClasses()
+        );
+        assertEquals( List.of( ScannedComponent.class ), scanResult.getClassesAnnotatedWith( Component.class ) );
+        assertEquals( List.of( ScannedComponent.NestedService.class ), scanResult.getClassesAnnotatedWith( Service.class ) );
+        assertEquals(
+            List.of( ScannedComponent.class, ScannedSubclass.class ),
+            scanResult.getClassesImplementing( ClassFileScannerTest.ScanInterface.class )
+        );
+        assertEquals( List.of( ScannedComponent.NestedService.class ), scanResult.getClassesImplementing( Runnable.class ) );
+    }
+
+    @Test
+    @DisplayName( "Test every lookup to be resolved once, and annotation and supertype lookups not to be mixed up" )
+    void testMemoizesLookups()
+    {
+        ClassScanResult scanResult = ClassScanResult.scanClassFiles( ScannedComponent.class );
+
+        List<Class<?>> annotated = scanResult.getClassesAnnotatedWith( Component.class );
+        List<Class<?>> implementing = scanResult.getClassesImplementing( ClassFileScannerTest.ScanBase.class );
+
+        assertSame( annotated, scanResult.getClassesAnnotatedWith( Component.class ) );
+        assertSame( implementing, scanResult.getClassesImplementing( ClassFileScannerTest.ScanBase.class ) );
+        assertSame( scanResult.getClasses(), scanResult.getClasses() );
+        assertEquals( List.of(), scanResult.getClassesImplementing( Component.class ) );
+        assertThrows( UnsupportedOperationException.class, () -> annotated.add( Object.class ) );
+    }
+
+    @Test
+    @DisplayName( "Test the class files to be scanned even if the package has an injectable index" )
+    void testScanClassFilesIgnoresIndex() throws IOException, ReflectiveOperationException
+    {
+        // the index only holds the injectables, the SqlMigrator looks up migrations that are never indexed
+        Path index = this.directory.resolve( InjectableIndex.INDEX_LOCATION );
+        Files.createDirectories( index.getParent() );
+        Files.writeString( index, ScannedComponent.class.getName() + ";" + Component.class.getName() + ";\n" );
+
+        try ( URLClassLoader classLoader = new URLClassLoader(
+            new URL[]{ getLocation( ScannedComponent.class ).toUri().toURL(), this.directory.toUri().toURL() },
+            ClassLoader.getPlatformClassLoader()
+        ) )
+        {
+            Class<?> starterClass = classLoader.loadClass( ScannedComponent.class.getName() );
+
+            assertEquals( List.of( ScannedComponent.class.getName() ), getClassNames( ClassScanResult.scan( starterClass ).getClasses() ) );
+            assertEquals(
+                List.of( ScannedComponent.NestedService.class.getName() ),
+                getClassNames( ClassScanResult.scanClassFiles( starterClass ).getClassesImplementing( Runnable.class ) )
+            );
+        }
+    }
+
+    private static List<String> getClassNames( List<Class<?>> classes )
+    {
+        return classes.stream().map( Class::getName ).toList();
+    }
+
+    private static Path getLocation( Class<?> clazz )
+    {
+        try
+        {
+            return Path.of( clazz.getProtectionDomain().getCodeSource().getLocation().toURI() );
+        }
+        catch ( URISyntaxException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.endoy.helpers.common.utils.scanned;
+
+import dev.endoy.helpers.common.injector.Component;
+import dev.endoy.helpers.common.injector.Service;
+import dev.endoy.helpers.common.injector.Task;
+import dev.endoy.helpers.common.utils.ClassFileScannerTest;
+
+import java.lang.annotation.ElementType;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ClassFileScannerTest.ScanAnnotation( value = { "first", "second" }, type = ElementType.TYPE, target = Runnable.class, priority = 1.5D,
+    nested = @Deprecated( since = "1.0" ) )
+public class ScannedComponent extends ClassFileScannerTest.ScanBase
+{
+
+    private final Runnable anonymous = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+        }
+    };
+
+    @Task( fixedDelay = 50, timeUnit = TimeUnit.SECONDS )
+    public void tick()
+    {
+        class LocalTask implements Runnable
+        {
+            @Override
+            public void run()
+            {
+            }
+        }
+
+        new LocalTask().run();
+        this.anonymous.run();
+    }
+
+    @Service
+    public static class NestedService implements Runnable
+    {
+
+        @Override
+        public void run()
+        {
+        }
+    }
+}
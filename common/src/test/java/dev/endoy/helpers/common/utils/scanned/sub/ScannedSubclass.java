@@ -0,0 +1,7 @@
+package dev.endoy.helpers.common.utils.scanned.sub;
+
+import dev.endoy.helpers.common.utils.scanned.ScannedComponent;
+
+public class ScannedSubclass extends ScannedComponent
+{
+}
@@ -0,0 +1,202 @@
+package dev.endoy.helpers.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes an index of all compiled types, their injectable annotations and their supertypes to
+ * {@value #INDEX_LOCATION}. The Injector reads this index at runtime instead of scanning the classpath.
+ * <p>
+ * Every type is indexed (not only the annotated ones), so supertype lookups of classes that are not injectables
+ * themselves, such as sql migrations, can be answered from the index as well. Only class annotations are recorded,
+ * the same ones a scan of the class files would find.
+ */
+public class InjectableIndexProcessor extends AbstractProcessor
+{
+
+    public static final String INDEX_LOCATION = "META-INF/endoy-helpers/injectables.index";
+
+    private static final String INJECTOR_PACKAGE = "dev.endoy.helpers.common.injector.";
+    private static final Set<String> INJECTABLE_ANNOTATIONS = Set.of(
+        INJECTOR_PACKAGE + "Configuration",
+        INJECTOR_PACKAGE + "Beans",
+        INJECTOR_PACKAGE + "Command",
+        INJECTOR_PACKAGE + "Listeners",
+        INJECTOR_PACKAGE + "Component",
+        INJECTOR_PACKAGE + "Manager",
+        INJECTOR_PACKAGE + "Service",
+        INJECTOR_PACKAGE + "Scoped"
+    );
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes()
+    {
+        return Set.of( "*" );
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process( Set<? extends TypeElement> annotations, RoundEnvironment roundEnv )
+    {
+        if ( roundEnv.processingOver() )
+        {
+            this.writeIndex();
+            return false;
+        }
+
+        for ( Element element : roundEnv.getRootElements() )
+        {
+            if ( element instanceof TypeElement typeElement )
+            {
+                this.indexType( typeElement );
+            }
+        }
+
+        // never claim annotations, other processors (such as lombok) still need to see them
+        return false;
+    }
+
+    private void indexType( TypeElement typeElement )
+    {
+        String className = this.processingEnv.getElementUtils().getBinaryName( typeElement ).toString();
+
+        Set<String> annotations = new LinkedHashSet<>();
+        for ( AnnotationMirror annotationMirror : typeElement.getAnnotationMirrors() )
+        {
+            String annotationName = this.getQualifiedName( annotationMirror.getAnnotationType() );
+
+            if ( INJECTABLE_ANNOTATIONS.contains( annotationName ) )
+            {
+                annotations.add( annotationName );
+            }
+        }
+
+        Set<String> superTypes = new LinkedHashSet<>();
+        this.collectSuperTypes( typeElement.asType(), superTypes );
+
+        this.entries.put( className, className + ";" + String.join( ",", annotations ) + ";" + String.join( ",", superTypes ) );
+
+        for ( Element enclosedElement : typeElement.getEnclosedElements() )
+        {
+            if ( enclosedElement instanceof TypeElement enclosedType )
+            {
+                this.indexType( enclosedType );
+            }
+        }
+    }
+
+    private void collectSuperTypes( TypeMirror typeMirror, Set<String> superTypes )
+    {
+        for ( TypeMirror superType : this.processingEnv.getTypeUtils().directSupertypes( typeMirror ) )
+        {
+            if ( superType.getKind() != TypeKind.DECLARED )
+            {
+                continue;
+            }
+
+            TypeElement superElement = (TypeElement) ( (DeclaredType) superType ).asElement();
+            String superName = this.processingEnv.getElementUtils().getBinaryName( superElement ).toString();
+
+            if ( !superName.equals( Object.class.getName() ) && superTypes.add( superName ) )
+            {
+                this.collectSuperTypes( superType, superTypes );
+            }
+        }
+    }
+
+    private String getQualifiedName( DeclaredType declaredType )
+    {
+        return ( (TypeElement) declaredType.asElement() ).getQualifiedName().toString();
+    }
+
+    /**
+     * An incremental compilation only passes the changed sources to the processor. The entries of the previous index
+     * are kept for the types that were not recompiled, as long as they still exist, so the index is never truncated.
+     */
+    private void mergePreviousIndex()
+    {
+        String previousIndex;
+        try
+        {
+            previousIndex = this.processingEnv.getFiler().getResource( StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION )
+                .getCharContent( false )
+                .toString();
+        }
+        catch ( IOException | IllegalArgumentException e )
+        {
+            // there is no previous index
+            return;
+        }
+
+        for ( String line : previousIndex.split( "\n" ) )
+        {
+            int index = line.indexOf( ';' );
+            if ( line.startsWith( "#" ) || index < 0 )
+            {
+                continue;
+            }
+
+            String className = line.substring( 0, index );
+            if ( !this.entries.containsKey( className )
+                && this.processingEnv.getElementUtils().getTypeElement( className.replace( '$', '.' ) ) != null )
+            {
+                this.entries.put( className, line );
+            }
+        }
+    }
+
+    private void writeIndex()
+    {
+        this.mergePreviousIndex();
+
+        if ( this.entries.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            FileObject fileObject = this.processingEnv.getFiler().createResource( StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION );
+
+            try ( Writer writer = new OutputStreamWriter( fileObject.openOutputStream(), StandardCharsets.UTF_8 ) )
+            {
+                writer.write( "# class;annotations;supertypes\n" );
+
+                for ( String entry : this.entries.values() )
+                {
+                    writer.write( entry );
+                    writer.write( '\n' );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            this.processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Failed to write injectable index: " + e.getMessage() );
+        }
+    }
+}
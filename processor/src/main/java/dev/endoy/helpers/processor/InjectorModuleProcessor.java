@@ -0,0 +1,378 @@
+package dev.endoy.helpers.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Generates a {@code GeneratedInjectorModule} that creates the injectables of the compiled sources and accesses their
+ * {@code @Inject} and {@code @Value} fields, {@code @PostConstruct} methods and {@code @Task} methods with plain Java code.
+ * The Injector uses this module instead of reflection. Members that cannot be accessed from the generated module
+ * (for example private fields) are left out and keep being accessed through reflection.
+ * <p>
+ * This processor only runs when the {@value #OPTION} option is set to true. The module is generated in the round in which
+ * the injectables are compiled, as a source file created in the last round causes a compiler warning. Constructors that
+ * lombok may still generate are therefore left to reflection, unless lombok runs before this processor.
+ * <p>
+ * The registration of commands and listeners is not generated: they are registered from their instances, which the module
+ * does create, and the event bus of each platform looks up the event handlers of a listener through reflection anyway.
+ */
+public class InjectorModuleProcessor extends AbstractProcessor
+{
+
+    public static final String OPTION = "endoy.helpers.generateInjectorModule";
+    public static final String INDEX_LOCATION = "META-INF/endoy-helpers/injector-modules.index";
+    public static final String MODULE_NAME = "GeneratedInjectorModule";
+
+    private static final String INJECTOR_PACKAGE = "dev.endoy.helpers.common.injector.";
+    private static final Set<String> INJECTABLE_ANNOTATIONS = Set.of(
+        INJECTOR_PACKAGE + "Configuration",
+        INJECTOR_PACKAGE + "ConfigurationSection",
+        INJECTOR_PACKAGE + "Beans",
+        INJECTOR_PACKAGE + "Command",
+        INJECTOR_PACKAGE + "Listeners",
+        INJECTOR_PACKAGE + "Component",
+        INJECTOR_PACKAGE + "Manager",
+        INJECTOR_PACKAGE + "Service",
+        INJECTOR_PACKAGE + "Scoped"
+    );
+    private static final String LOMBOK_PACKAGE = "lombok.";
+    private static final Set<String> FIELD_ANNOTATIONS = Set.of( INJECTOR_PACKAGE + "Inject", INJECTOR_PACKAGE + "Value" );
+    private static final Set<String> METHOD_ANNOTATIONS = Set.of( INJECTOR_PACKAGE + "PostConstruct", INJECTOR_PACKAGE + "Task" );
+
+    private final List<String> moduleNames = new ArrayList<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes()
+    {
+        return Set.of( "*" );
+    }
+
+    @Override
+    public Set<String> getSupportedOptions()
+    {
+        return Set.of( OPTION );
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process( Set<? extends TypeElement> annotations, RoundEnvironment roundEnv )
+    {
+        if ( !Boolean.parseBoolean( this.processingEnv.getOptions().get( OPTION ) ) )
+        {
+            return false;
+        }
+
+        if ( roundEnv.processingOver() )
+        {
+            this.writeIndex();
+            return false;
+        }
+
+        Set<String> typeNames = new TreeSet<>();
+        for ( Element element : roundEnv.getRootElements() )
+        {
+            if ( element instanceof TypeElement typeElement )
+            {
+                this.collectTypes( typeElement, typeNames );
+            }
+        }
+
+        // javac only runs another round if files are generated, so the module is generated in the round its types appear in
+        this.writeModule( typeNames );
+
+        // never claim annotations, other processors (such as lombok) still need to see them
+        return false;
+    }
+
+    private void collectTypes( TypeElement typeElement, Set<String> typeNames )
+    {
+        if ( this.hasAnyAnnotation( typeElement, INJECTABLE_ANNOTATIONS ) )
+        {
+            typeNames.add( typeElement.getQualifiedName().toString() );
+        }
+
+        for ( TypeElement enclosedType : ElementFilter.typesIn( typeElement.getEnclosedElements() ) )
+        {
+            this.collectTypes( enclosedType, typeNames );
+        }
+    }
+
+    private void writeModule( Set<String> typeNames )
+    {
+        List<TypeElement> types = typeNames.stream()
+            .map( typeName -> this.processingEnv.getElementUtils().getTypeElement( typeName ) )
+            .filter( Objects::nonNull )
+            .toList();
+
+        if ( types.isEmpty() )
+        {
+            return;
+        }
+
+        // injectables generated by other processors end up in a module of their own
+        String modulePackage = this.getCommonPackage( types );
+        String simpleName = this.moduleNames.isEmpty() ? MODULE_NAME : MODULE_NAME + ( this.moduleNames.size() + 1 );
+        String moduleName = modulePackage.isEmpty() ? simpleName : modulePackage + "." + simpleName;
+        List<String> bindings = new ArrayList<>();
+
+        for ( TypeElement type : types )
+        {
+            if ( this.isAccessible( type, modulePackage ) )
+            {
+                this.addBindings( type, modulePackage, bindings );
+            }
+        }
+
+        try
+        {
+            JavaFileObject sourceFile = this.processingEnv.getFiler().createSourceFile( moduleName, types.toArray( new Element[0] ) );
+
+            try ( Writer writer = sourceFile.openWriter() )
+            {
+                if ( !modulePackage.isEmpty() )
+                {
+                    writer.write( "package " + modulePackage + ";\n\n" );
+                }
+                writer.write( "@javax.annotation.processing.Generated( \"" + InjectorModuleProcessor.class.getName() + "\" )\n" );
+                writer.write( "@SuppressWarnings( { \"unchecked\", \"rawtypes\" } )\n" );
+                writer.write( "public final class " + simpleName + " implements " + INJECTOR_PACKAGE + "InjectorModule\n{\n\n" );
+                writer.write( "    @Override\n" );
+                writer.write( "    public void register( " + INJECTOR_PACKAGE + "GeneratedBindings bindings )\n    {\n" );
+                for ( String binding : bindings )
+                {
+                    writer.write( "        " + binding + "\n" );
+                }
+                writer.write( "    }\n}\n" );
+            }
+
+            this.moduleNames.add( moduleName );
+        }
+        catch ( IOException e )
+        {
+            this.processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Failed to write generated injector module: " + e.getMessage() );
+        }
+    }
+
+    /**
+     * The index is a resource, which can be created in the last round without warnings.
+     */
+    private void writeIndex()
+    {
+        if ( this.moduleNames.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            FileObject index = this.processingEnv.getFiler().createResource( StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION );
+
+            try ( Writer writer = new OutputStreamWriter( index.openOutputStream(), StandardCharsets.UTF_8 ) )
+            {
+                for ( String moduleName : this.moduleNames )
+                {
+                    writer.write( moduleName + "\n" );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            this.processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Failed to write generated injector module index: " + e.getMessage() );
+        }
+    }
+
+    private void addBindings( TypeElement type, String modulePackage, List<String> bindings )
+    {
+        String typeName = this.getSourceName( type.asType() );
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn( type.getEnclosedElements() );
+
+        if ( !type.getModifiers().contains( Modifier.ABSTRACT )
+            && constructors.size() == 1
+            && !this.mayBeReplaced( type, constructors.get( 0 ) )
+            && this.isAccessible( constructors.get( 0 ), modulePackage ) )
+        {
+            List<? extends VariableElement> parameters = constructors.get( 0 ).getParameters();
+            StringJoiner parameterTypes = new StringJoiner( ", ", "new Class<?>[]{ ", " }" );
+            StringJoiner arguments = new StringJoiner( ", " );
+
+            for ( int i = 0; i < parameters.size(); i++ )
+            {
+                TypeMirror parameterType = parameters.get( i ).asType();
+
+                parameterTypes.add( this.getSourceName( parameterType ) + ".class" );
+                arguments.add( this.cast( parameterType, "arguments[" + i + "]" ) );
+            }
+
+            bindings.add( String.format(
+                "bindings.constructor( %s.class, %s, arguments -> new %s(%s) );",
+                typeName,
+                parameters.isEmpty() ? "new Class<?>[0]" : parameterTypes.toString(),
+                typeName,
+                parameters.isEmpty() ? "" : " " + arguments + " "
+            ) );
+        }
+
+        for ( VariableElement field : ElementFilter.fieldsIn( type.getEnclosedElements() ) )
+        {
+            if ( this.hasAnyAnnotation( field, FIELD_ANNOTATIONS )
+                && !field.getModifiers().contains( Modifier.FINAL )
+                && !field.getModifiers().contains( Modifier.STATIC )
+                && this.isAccessible( field, modulePackage ) )
+            {
+                bindings.add( String.format(
+                    "bindings.field( %s.class, \"%s\", ( instance, value ) -> ( (%s) instance ).%s = %s );",
+                    typeName,
+                    field.getSimpleName(),
+                    typeName,
+                    field.getSimpleName(),
+                    this.cast( field.asType(), "value" )
+                ) );
+            }
+        }
+
+        for ( ExecutableElement method : ElementFilter.methodsIn( type.getEnclosedElements() ) )
+        {
+            if ( this.hasAnyAnnotation( method, METHOD_ANNOTATIONS )
+                && method.getParameters().isEmpty()
+                && this.isAccessible( method, modulePackage ) )
+            {
+                bindings.add( String.format(
+                    "bindings.method( %s.class, \"%s\", instance -> %s.%s() );",
+                    typeName,
+                    method.getSimpleName(),
+                    method.getModifiers().contains( Modifier.STATIC ) ? typeName : "( (" + typeName + ") instance )",
+                    method.getSimpleName()
+                ) );
+            }
+        }
+    }
+
+    /**
+     * Lombok replaces the implicit constructor of a class when it generates one. If lombok did not process the class yet,
+     * the constructor that will be compiled is unknown, so it is left to reflection.
+     */
+    private boolean mayBeReplaced( TypeElement type, ExecutableElement constructor )
+    {
+        return this.processingEnv.getElementUtils().getOrigin( constructor ) == Elements.Origin.MANDATED
+            && type.getAnnotationMirrors()
+            .stream()
+            .anyMatch( annotationMirror -> this.getQualifiedName( annotationMirror ).startsWith( LOMBOK_PACKAGE ) );
+    }
+
+    private String cast( TypeMirror type, String expression )
+    {
+        return switch ( type.getKind() )
+        {
+            // config values are not always stored as the exact wrapper type of the field
+            case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "( (Number) " + expression + " )." + type.getKind().name().toLowerCase( Locale.ROOT ) + "Value()";
+            case BOOLEAN -> "(Boolean) " + expression;
+            case CHAR -> "(Character) " + expression;
+            default -> "(" + this.getSourceName( type ) + ") " + expression;
+        };
+    }
+
+    private String getSourceName( TypeMirror type )
+    {
+        TypeMirror erasure = this.processingEnv.getTypeUtils().erasure( type );
+
+        if ( erasure.getKind() == TypeKind.DECLARED )
+        {
+            return ( (TypeElement) ( (DeclaredType) erasure ).asElement() ).getQualifiedName().toString();
+        }
+        return erasure.toString();
+    }
+
+    /**
+     * Checks if the element (and all elements it is enclosed in) can be accessed from a class in the given package.
+     */
+    private boolean isAccessible( Element element, String fromPackage )
+    {
+        Element current = element;
+
+        while ( current != null && current.getKind() != ElementKind.PACKAGE )
+        {
+            Set<Modifier> modifiers = current.getModifiers();
+
+            if ( modifiers.contains( Modifier.PRIVATE ) )
+            {
+                return false;
+            }
+            if ( !modifiers.contains( Modifier.PUBLIC ) && !this.getPackageName( current ).equals( fromPackage ) )
+            {
+                return false;
+            }
+            // inner classes cannot be created without an instance of the enclosing class
+            if ( current instanceof TypeElement && current.getEnclosingElement().getKind() != ElementKind.PACKAGE
+                && !modifiers.contains( Modifier.STATIC ) && current.getKind() == ElementKind.CLASS )
+            {
+                return false;
+            }
+
+            current = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private String getPackageName( Element element )
+    {
+        return this.processingEnv.getElementUtils().getPackageOf( element ).getQualifiedName().toString();
+    }
+
+    private String getCommonPackage( List<TypeElement> types )
+    {
+        String commonPackage = null;
+
+        for ( TypeElement type : types )
+        {
+            String packageName = this.getPackageName( type );
+
+            if ( commonPackage == null )
+            {
+                commonPackage = packageName;
+                continue;
+            }
+
+            while ( !commonPackage.isEmpty() && !packageName.equals( commonPackage ) && !packageName.startsWith( commonPackage + "." ) )
+            {
+                int index = commonPackage.lastIndexOf( '.' );
+                commonPackage = index < 0 ? "" : commonPackage.substring( 0, index );
+            }
+        }
+
+        return commonPackage == null ? "" : commonPackage;
+    }
+
+    private boolean hasAnyAnnotation( Element element, Set<String> annotationNames )
+    {
+        return element.getAnnotationMirrors()
+            .stream()
+            .anyMatch( annotationMirror -> annotationNames.contains( this.getQualifiedName( annotationMirror ) ) );
+    }
+
+    private String getQualifiedName( AnnotationMirror annotationMirror )
+    {
+        return ( (TypeElement) annotationMirror.getAnnotationType().asElement() ).getQualifiedName().toString();
+    }
+}
@@ -0,0 +1,152 @@
+package dev.endoy.helpers.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InjectableIndexProcessorTest
+{
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName( "Test the index to contain every compiled type with its injector annotations and supertypes" )
+    void testWritesIndex() throws IOException
+    {
+        TestCompiler.Result result = TestCompiler.compile( this.directory, Map.of(
+            "test.app.TestComponent", """
+                package test.app;
+
+                import dev.endoy.helpers.common.injector.Component;
+
+                @Component
+                public class TestComponent implements Runnable
+                {
+                    public void run()
+                    {
+                    }
+                }
+                """,
+            "test.app.TestTasks", """
+                package test.app;
+
+                import dev.endoy.helpers.common.injector.Task;
+
+                public class TestTasks extends TestComponent
+                {
+                    @Task( fixedDelay = 50 )
+                    public void tick()
+                    {
+                    }
+                }
+                """,
+            "test.app.TestOuter", """
+                package test.app;
+
+                import dev.endoy.helpers.common.injector.Service;
+
+                @Deprecated
+                public class TestOuter
+                {
+                    @Service
+                    public static class TestService
+                    {
+                    }
+                }
+                """
+        ), List.of(), new InjectableIndexProcessor() );
+
+        assertTrue( result.success(), result.errors() );
+        assertEquals(
+            List.of(
+                "# class;annotations;supertypes",
+                "test.app.TestComponent;dev.endoy.helpers.common.injector.Component;java.lang.Runnable",
+                "test.app.TestOuter;;",
+                "test.app.TestOuter$TestService;dev.endoy.helpers.common.injector.Service;",
+                "test.app.TestTasks;;test.app.TestComponent,java.lang.Runnable"
+            ),
+            result.readClassOutput( InjectableIndexProcessor.INDEX_LOCATION ).lines().toList()
+        );
+    }
+
+    @Test
+    @DisplayName( "Test an incremental compilation to keep the entries of the types that were not recompiled" )
+    void testMergesPreviousIndex() throws IOException
+    {
+        TestCompiler.Result result = TestCompiler.compile( this.directory, Map.of(
+            "test.app.TestComponent", """
+                package test.app;
+
+                import dev.endoy.helpers.common.injector.Component;
+
+                @Component
+                public class TestComponent
+                {
+                }
+                """,
+            "test.app.TestRemoved", """
+                package test.app;
+
+                import dev.endoy.helpers.common.injector.Service;
+
+                @Service
+                public class TestRemoved
+                {
+                    @Service
+                    public static class TestNested
+                    {
+                    }
+                }
+                """
+        ), List.of(), new InjectableIndexProcessor() );
+        assertTrue( result.success(), result.errors() );
+
+        // the class files of a removed source are deleted by the build tool
+        Files.delete( result.classDirectory().resolve( "test/app/TestRemoved.class" ) );
+        Files.delete( result.classDirectory().resolve( "test/app/TestRemoved$TestNested.class" ) );
+
+        result = TestCompiler.compile( this.directory, Map.of(
+            "test.app.TestManager", """
+                package test.app;
+
+                import dev.endoy.helpers.common.injector.Manager;
+
+                @Manager
+                public class TestManager extends TestComponent
+                {
+                }
+                """
+        ), List.of(), new InjectableIndexProcessor() );
+
+        assertTrue( result.success(), result.errors() );
+        assertEquals(
+            List.of(
+                "# class;annotations;supertypes",
+                "test.app.TestComponent;dev.endoy.helpers.common.injector.Component;",
+                "test.app.TestManager;dev.endoy.helpers.common.injector.Manager;test.app.TestComponent"
+            ),
+            result.readClassOutput( InjectableIndexProcessor.INDEX_LOCATION ).lines().toList()
+        );
+    }
+
+    @Test
+    @DisplayName( "Test no index to be written if there are no sources" )
+    void testWritesNoEmptyIndex()
+    {
+        TestCompiler.Result result = TestCompiler.compile( this.directory, Map.of(
+            "test.app.package-info", "package test.app;\n"
+        ), List.of(), new InjectableIndexProcessor() );
+
+        assertTrue( result.success(), result.errors() );
+        assertFalse( Files.exists( result.classDirectory().resolve( InjectableIndexProcessor.INDEX_LOCATION ) ) );
+    }
+}
@@ -0,0 +1,239 @@
+package dev.endoy.helpers.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InjectorModuleProcessorTest
+{
+
+    private static final Map<String, String> SOURCES = Map.of(
+        "test.app.TestComponent", """
+            package test.app;
+
+            import dev.endoy.helpers.common.injector.Component;
+
+            @Component
+            public class TestComponent
+            {
+            }
+            """,
+        "test.app.service.TestService", """
+            package test.app.service;
+
+            import dev.endoy.helpers.common.injector.Inject;
+            import dev.endoy.helpers.common.injector.PostConstruct;
+            import dev.endoy.helpers.common.injector.Service;
+            import dev.endoy.helpers.common.injector.Task;
+            import dev.endoy.helpers.common.injector.Value;
+            import test.app.TestComponent;
+
+            @Service
+            public class TestService
+            {
+                private final TestComponent testComponent;
+                @Inject
+                public TestComponent injectedComponent;
+                @Value( path = "amount" )
+                public int amount;
+                @Inject
+                private TestComponent privateComponent;
+
+                public TestService( TestComponent testComponent )
+                {
+                    this.testComponent = testComponent;
+                }
+
+                @PostConstruct
+                public void postConstruct()
+                {
+                }
+
+                @Task( fixedDelay = 50 )
+                public void tick()
+                {
+                }
+
+                @PostConstruct
+                private void privatePostConstruct()
+                {
+                }
+            }
+            """
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName( "Test the generated module to bind the accessible members of the injectables" )
+    void testGeneratesModule() throws IOException
+    {
+        TestCompiler.Result result = TestCompiler.compile(
+            this.directory,
+            SOURCES,
+            // a module generated in the last round would cause a warning
+            List.of( "-A" + InjectorModuleProcessor.OPTION + "=true", "-Werror" ),
+            new InjectorModuleProcessor()
+        );
+
+        // the generated module is compiled in the same run, so this also checks that it compiles
+        assertTrue( result.success(), result.errors() );
+        assertEquals( "test.app.GeneratedInjectorModule", result.readClassOutput( InjectorModuleProcessor.INDEX_LOCATION ).trim() );
+        assertTrue( Files.exists( result.classDirectory().resolve( "test/app/GeneratedInjectorModule.class" ) ) );
+
+        assertEquals(
+            List.of(
+                "bindings.constructor( test.app.TestComponent.class, new Class<?>[0], arguments -> new test.app.TestComponent() );",
+                "bindings.constructor( test.app.service.TestService.class, new Class<?>[]{ test.app.TestComponent.class }, "
+                    + "arguments -> new test.app.service.TestService( (test.app.TestComponent) arguments[0] ) );",
+                "bindings.field( test.app.service.TestService.class, \"injectedComponent\", "
+                    + "( instance, value ) -> ( (test.app.service.TestService) instance ).injectedComponent = (test.app.TestComponent) value );",
+                "bindings.field( test.app.service.TestService.class, \"amount\", "
+                    + "( instance, value ) -> ( (test.app.service.TestService) instance ).amount = ( (Number) value ).intValue() );",
+                "bindings.method( test.app.service.TestService.class, \"postConstruct\", instance -> ( (test.app.service.TestService) instance ).postConstruct() );",
+                "bindings.method( test.app.service.TestService.class, \"tick\", instance -> ( (test.app.service.TestService) instance ).tick() );"
+            ),
+            this.readBindings( result, "test.app.GeneratedInjectorModule" )
+        );
+    }
+
+    @Test
+    @DisplayName( "Test the implicit constructor of a class that lombok still has to process to be left to reflection" )
+    void testSkipsLombokConstructors() throws IOException
+    {
+        TestCompiler.Result result = TestCompiler.compile(
+            this.directory,
+            Map.of(
+                "lombok.RequiredArgsConstructor", """
+                    package lombok;
+
+                    public @interface RequiredArgsConstructor
+                    {
+                    }
+                    """,
+                "test.app.TestComponent", """
+                    package test.app;
+
+                    import dev.endoy.helpers.common.injector.Component;
+                    import dev.endoy.helpers.common.injector.Inject;
+
+                    @Component
+                    @lombok.RequiredArgsConstructor
+                    public class TestComponent
+                    {
+                        @Inject
+                        public Runnable runnable;
+                    }
+                    """
+            ),
+            List.of( "-A" + InjectorModuleProcessor.OPTION + "=true", "-Werror" ),
+            new InjectorModuleProcessor()
+        );
+
+        assertTrue( result.success(), result.errors() );
+        assertEquals(
+            List.of( "bindings.field( test.app.TestComponent.class, \"runnable\", ( instance, value ) -> ( (test.app.TestComponent) instance ).runnable = (java.lang.Runnable) value );" ),
+            this.readBindings( result, "test.app.GeneratedInjectorModule" )
+        );
+    }
+
+    @Test
+    @DisplayName( "Test the injectables generated by another processor to get a module of their own" )
+    void testGeneratesModulePerRound() throws IOException
+    {
+        TestCompiler.Result result = TestCompiler.compile(
+            this.directory,
+            SOURCES,
+            List.of( "-A" + InjectorModuleProcessor.OPTION + "=true", "-Werror" ),
+            new InjectorModuleProcessor(),
+            new GeneratingProcessor()
+        );
+
+        assertTrue( result.success(), result.errors() );
+        assertEquals(
+            List.of( "test.app.GeneratedInjectorModule", "test.app.generated.GeneratedInjectorModule2" ),
+            result.readClassOutput( InjectorModuleProcessor.INDEX_LOCATION ).lines().toList()
+        );
+        assertEquals(
+            List.of( "bindings.constructor( test.app.generated.TestGenerated.class, new Class<?>[0], arguments -> new test.app.generated.TestGenerated() );" ),
+            this.readBindings( result, "test.app.generated.GeneratedInjectorModule2" )
+        );
+    }
+
+    @Test
+    @DisplayName( "Test no module to be generated without the processor option" )
+    void testGeneratesNothingByDefault()
+    {
+        TestCompiler.Result result = TestCompiler.compile( this.directory, SOURCES, List.of(), new InjectorModuleProcessor() );
+
+        assertTrue( result.success(), result.errors() );
+        assertFalse( Files.exists( result.generatedDirectory().resolve( "test/app/GeneratedInjectorModule.java" ) ) );
+        assertFalse( Files.exists( result.classDirectory().resolve( InjectorModuleProcessor.INDEX_LOCATION ) ) );
+    }
+
+    private List<String> readBindings( TestCompiler.Result result, String moduleName ) throws IOException
+    {
+        return result.readGeneratedSource( moduleName )
+            .lines()
+            .map( String::trim )
+            .filter( line -> line.startsWith( "bindings." ) )
+            .toList();
+    }
+
+    /**
+     * Generates an injectable in the first round, like a processor that generates sources would.
+     */
+    private static final class GeneratingProcessor extends AbstractProcessor
+    {
+
+        private boolean generated;
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes()
+        {
+            return Set.of( "*" );
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion()
+        {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process( Set<? extends TypeElement> annotations, RoundEnvironment roundEnv )
+        {
+            if ( this.generated )
+            {
+                return false;
+            }
+            this.generated = true;
+
+            try ( Writer writer = this.processingEnv.getFiler().createSourceFile( "test.app.generated.TestGenerated" ).openWriter() )
+            {
+                writer.write( "package test.app.generated;\n\n@dev.endoy.helpers.common.injector.Component\npublic class TestGenerated\n{\n}\n" );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+            return false;
+        }
+    }
+}
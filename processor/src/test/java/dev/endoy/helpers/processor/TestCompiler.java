@@ -0,0 +1,113 @@
+package dev.endoy.helpers.processor;
+
+import dev.endoy.helpers.common.injector.Component;
+
+import javax.annotation.processing.Processor;
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles test sources with the given processors, against the injector annotations of the common module.
+ */
+final class TestCompiler
+{
+
+    private TestCompiler()
+    {
+    }
+
+    static Result compile( Path directory, Map<String, String> sources, List<String> options, Processor... processors )
+    {
+        try
+        {
+            Path sourceDirectory = Files.createDirectories( directory.resolve( "src" ) );
+            Path classDirectory = Files.createDirectories( directory.resolve( "classes" ) );
+            Path generatedDirectory = Files.createDirectories( directory.resolve( "generated" ) );
+            List<Path> sourceFiles = new ArrayList<>();
+
+            for ( Map.Entry<String, String> source : sources.entrySet() )
+            {
+                Path sourceFile = sourceDirectory.resolve( source.getKey().replace( '.', '/' ) + ".java" );
+
+                Files.createDirectories( sourceFile.getParent() );
+                Files.writeString( sourceFile, source.getValue() );
+                sourceFiles.add( sourceFile );
+            }
+
+            List<String> arguments = new ArrayList<>( options );
+            arguments.addAll( List.of(
+                // the class output is on the classpath like in an incremental build, so earlier compilations are visible
+                "-classpath", getClassPath() + File.pathSeparator + classDirectory,
+                "-d", classDirectory.toString(),
+                "-s", generatedDirectory.toString()
+            ) );
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+            try ( StandardJavaFileManager fileManager = compiler.getStandardFileManager( diagnostics, Locale.ROOT, StandardCharsets.UTF_8 ) )
+            {
+                JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    diagnostics,
+                    arguments,
+                    null,
+                    fileManager.getJavaFileObjectsFromPaths( sourceFiles )
+                );
+                task.setProcessors( List.of( processors ) );
+
+                boolean success = task.call();
+                String errors = diagnostics.getDiagnostics()
+                    .stream()
+                    .filter( diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR )
+                    .map( diagnostic -> diagnostic.getMessage( Locale.ROOT ) )
+                    .collect( Collectors.joining( System.lineSeparator() ) );
+
+                return new Result( success, errors, classDirectory, generatedDirectory );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private static String getClassPath()
+    {
+        try
+        {
+            // the injector annotations and the GeneratedBindings the generated module is compiled against
+            return Path.of( Component.class.getProtectionDomain().getCodeSource().getLocation().toURI() ).toString();
+        }
+        catch ( URISyntaxException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    record Result(boolean success, String errors, Path classDirectory, Path generatedDirectory)
+    {
+
+        String readClassOutput( String location ) throws IOException
+        {
+            return Files.readString( this.classDirectory.resolve( location ) );
+        }
+
+        String readGeneratedSource( String className ) throws IOException
+        {
+            return Files.readString( this.generatedDirectory.resolve( className.replace( '.', '/' ) + ".java" ) );
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package dev.endoy.helpers.spigot.task;
+
+import dev.endoy.helpers.common.logger.Logger;
+import dev.endoy.helpers.common.task.ScheduledTask;
+import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.task.TaskMetrics;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many small work items on the main thread without causing lag spikes: every tick, items are run until the budget
+ * of that tick is used up, the other items are carried over to the next tick. Items with a higher priority always run
+ * first, items with the same priority run in the order they were submitted.
+ * <p>
+ * Items can be submitted from any thread. Close the queue when the plugin is disabled, items that did not run yet are
+ * cancelled.
+ */
+public class BudgetedTaskQueue implements AutoCloseable
+{
+
+    private static final Logger LOGGER = Logger.forClass( BudgetedTaskQueue.class ).rateLimited( 1, Duration.ofSeconds( 10 ) );
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final TaskManager taskManager;
+    private final String name;
+    private final long budgetNanos;
+    private final Queue<WorkItem>[] queues;
+    private final AtomicIntegerArray backlog = new AtomicIntegerArray( PRIORITIES.length );
+    private final LongAdder completedItems = new LongAdder();
+    private final LongAdder failedItems = new LongAdder();
+    private volatile ScheduledTask scheduledTask;
+    private volatile boolean closed;
+    private volatile long lastTickNanos;
+    private volatile int lastTickItems;
+
+    /**
+     * @param taskManager the task manager scheduling the queue on the main thread
+     * @param name        the name of the queue, used for its {@link TaskMetrics task statistics}
+     * @param budget      the time the queue may spend running items per tick
+     */
+    @SuppressWarnings( "unchecked" )
+    public BudgetedTaskQueue( TaskManager taskManager, String name, Duration budget )
+    {
+        if ( budget.isNegative() || budget.isZero() )
+        {
+            throw new IllegalArgumentException( "The budget of a task queue must be positive" );
+        }
+
+        this.taskManager = taskManager;
+        this.name = name;
+        this.budgetNanos = budget.toNanos();
+        this.queues = new Queue[PRIORITIES.length];
+
+        for ( int i = 0; i < PRIORITIES.length; i++ )
+        {
+            this.queues[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    public CompletableFuture<Void> submit( Runnable runnable )
+    {
+        return this.submit( runnable, Priority.NORMAL );
+    }
+
+    /**
+     * Submits a work item to run on the main thread.
+     *
+     * @param runnable the work item, which should take a fraction of the budget
+     * @param priority the priority of the work item
+     * @return a future that is completed once the item ran, or completed exceptionally if it failed or was cancelled
+     */
+    public CompletableFuture<Void> submit( Runnable runnable, Priority priority )
+    {
+        if ( this.closed )
+        {
+            throw new IllegalStateException( "Task queue " + this.name + " is closed" );
+        }
+
+        WorkItem item = new WorkItem( runnable, System.nanoTime(), new CompletableFuture<>() );
+
+        this.backlog.incrementAndGet( priority.ordinal() );
+        this.queues[priority.ordinal()].add( item );
+
+        if ( this.closed )
+        {
+            // closed while the item was added, it would not be picked up anymore
+            this.cancelPendingItems();
+        }
+        else if ( this.scheduledTask == null )
+        {
+            this.start();
+        }
+
+        return item.future();
+    }
+
+    /**
+     * @return the number of items that did not run yet
+     */
+    public int getBacklog()
+    {
+        int backlog = 0;
+        for ( int i = 0; i < PRIORITIES.length; i++ )
+        {
+            backlog += this.backlog.get( i );
+        }
+        return backlog;
+    }
+
+    /**
+     * @param priority the priority of the items
+     * @return the number of items with the given priority that did not run yet
+     */
+    public int getBacklog( Priority priority )
+    {
+        return this.backlog.get( priority.ordinal() );
+    }
+
+    /**
+     * @return how long the item that has been waiting the longest has been waiting, or {@link Duration#ZERO} if no item
+     * is waiting
+     */
+    public Duration getOldestWaitTime()
+    {
+        long now = System.nanoTime();
+        long longestWait = 0;
+
+        for ( Queue<WorkItem> queue : this.queues )
+        {
+            WorkItem item = queue.peek();
+
+            if ( item != null )
+            {
+                longestWait = Math.max( longestWait, now - item.submittedAt() );
+            }
+        }
+        return Duration.ofNanos( longestWait );
+    }
+
+    public long getCompletedItems()
+    {
+        return this.completedItems.sum();
+    }
+
+    public long getFailedItems()
+    {
+        return this.failedItems.sum();
+    }
+
+    /**
+     * @return the time spent running items in the last tick that had items to run
+     */
+    public Duration getLastTickTime()
+    {
+        return Duration.ofNanos( this.lastTickNanos );
+    }
+
+    /**
+     * @return the number of items that ran in the last tick that had items to run
+     */
+    public int getLastTickItems()
+    {
+        return this.lastTickItems;
+    }
+
+    /**
+     * Stops running items, the items that did not run yet are cancelled.
+     */
+    @Override
+    public void close()
+    {
+        synchronized ( this )
+        {
+            if ( this.closed )
+            {
+                return;
+            }
+            this.closed = true;
+
+            if ( this.scheduledTask != null )
+            {
+                this.scheduledTask.cancel();
+                this.scheduledTask = null;
+            }
+        }
+
+        this.cancelPendingItems();
+    }
+
+    private void cancelPendingItems()
+    {
+        for ( int i = 0; i < PRIORITIES.length; i++ )
+        {
+            WorkItem item;
+            while ( ( item = this.queues[i].poll() ) != null )
+            {
+                this.backlog.decrementAndGet( i );
+                item.future().completeExceptionally( new CancellationException( "Task queue " + this.name + " was closed" ) );
+            }
+        }
+    }
+
+    private synchronized void start()
+    {
+        if ( this.scheduledTask == null && !this.closed )
+        {
+            // the queue keeps its timer once started, an empty tick only polls the queues
+            this.scheduledTask = this.taskManager.runTaskTimer(
+                TaskMetrics.named( this.name, this::tick ),
+                false,
+                0,
+                50,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    private void tick()
+    {
+        long start = System.nanoTime();
+        long deadline = start + this.budgetNanos;
+        int items = 0;
+        WorkItem item;
+
+        // at least one item runs every tick, so an item that takes longer than the budget does not block the queue
+        while ( !this.closed && ( items == 0 || System.nanoTime() < deadline ) && ( item = this.poll() ) != null )
+        {
+            this.run( item );
+            items++;
+        }
+
+        if ( items > 0 )
+        {
+            this.lastTickNanos = System.nanoTime() - start;
+            this.lastTickItems = items;
+        }
+    }
+
+    private WorkItem poll()
+    {
+        for ( int i = PRIORITIES.length - 1; i >= 0; i-- )
+        {
+            WorkItem item = this.queues[i].poll();
+
+            if ( item != null )
+            {
+                this.backlog.decrementAndGet( i );
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private void run( WorkItem item )
+    {
+        try
+        {
+            item.runnable().run();
+            this.completedItems.increment();
+            item.future().complete( null );
+        }
+        catch ( Throwable e )
+        {
+            this.failedItems.increment();
+            LOGGER.error( "Failed to run an item of task queue " + this.name, e );
+            item.future().completeExceptionally( e );
+
+            // errors are not swallowed, the items that did not run yet are picked up by the next tick
+            if ( e instanceof Error error )
+            {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * The priority of a work item, items with a higher priority run first.
+     */
+    public enum Priority
+    {
+
+        LOW,
+        NORMAL,
+        HIGH
+
+    }
+
+    private record WorkItem(Runnable runnable, long submittedAt, CompletableFuture<Void> future)
+    {
+    }
+}
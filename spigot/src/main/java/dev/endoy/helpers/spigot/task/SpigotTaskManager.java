@@ -1,11 +1,13 @@
 package dev.endoy.helpers.spigot.task;
 
 import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.task.TaskMetrics;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor
@@ -15,8 +17,9 @@ public class SpigotTaskManager implements TaskManager
     private final Plugin plugin;
 
     @Override
-    public SpigotScheduledTask runTask( Runnable runnable, boolean async )
+    public SpigotScheduledTask runTask( Runnable task, boolean async )
     {
+        Runnable runnable = TaskMetrics.instrument( task, async, 0, TimeUnit.MILLISECONDS );
         BukkitTask bukkitTask;
 
         if ( async )
@@ -32,8 +35,9 @@ public class SpigotTaskManager implements TaskManager
     }
 
     @Override
-    public SpigotScheduledTask runTaskLater( Runnable runnable, boolean async, long delay, TimeUnit timeUnit )
+    public SpigotScheduledTask runTaskLater( Runnable task, boolean async, long delay, TimeUnit timeUnit )
     {
+        Runnable runnable = TaskMetrics.instrument( task, async, 0, timeUnit );
         BukkitTask bukkitTask;
 
         if ( async )
@@ -57,8 +61,9 @@ public class SpigotTaskManager implements TaskManager
     }
 
     @Override
-    public SpigotScheduledTask runTaskTimer( Runnable runnable, boolean async, long delay, long period, TimeUnit timeUnit )
+    public SpigotScheduledTask runTaskTimer( Runnable task, boolean async, long delay, long period, TimeUnit timeUnit )
     {
+        Runnable runnable = TaskMetrics.instrument( task, async, period, timeUnit );
         BukkitTask bukkitTask;
 
         if ( async )
@@ -83,6 +88,18 @@ public class SpigotTaskManager implements TaskManager
         return new SpigotScheduledTask( bukkitTask.getTaskId() );
     }
 
+    /**
+     * Creates a queue that runs many small work items on the main thread, spending at most the given budget per tick.
+     *
+     * @param name   the name of the queue, used for its task statistics
+     * @param budget the time the queue may spend running items per tick
+     * @return the created queue
+     */
+    public BudgetedTaskQueue createBudgetedTaskQueue( String name, Duration budget )
+    {
+        return new BudgetedTaskQueue( this, name, budget );
+    }
+
     private Long convertToTicks( long delay, TimeUnit timeUnit )
     {
         return timeUnit.toMillis( delay ) / 50;
@@ -0,0 +1,242 @@
+package dev.endoy.helpers.spigot.task;
+
+import dev.endoy.helpers.common.task.ScheduledTask;
+import dev.endoy.helpers.common.task.TaskManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetedTaskQueueTest
+{
+
+    private final TestTaskManager taskManager = new TestTaskManager();
+
+    @Test
+    @DisplayName( "Test items to run by priority, and in submission order within a priority" )
+    void testRunsByPriority()
+    {
+        BudgetedTaskQueue queue = new BudgetedTaskQueue( this.taskManager, "BudgetedTaskQueueTest#priority", Duration.ofHours( 1 ) );
+        List<String> order = new ArrayList<>();
+
+        queue.submit( () -> order.add( "low" ), BudgetedTaskQueue.Priority.LOW );
+        queue.submit( () -> order.add( "normal-1" ) );
+        queue.submit( () -> order.add( "high-1" ), BudgetedTaskQueue.Priority.HIGH );
+        queue.submit( () -> order.add( "normal-2" ), BudgetedTaskQueue.Priority.NORMAL );
+        queue.submit( () -> order.add( "high-2" ), BudgetedTaskQueue.Priority.HIGH );
+
+        this.taskManager.tick();
+
+        assertEquals( List.of( "high-1", "high-2", "normal-1", "normal-2", "low" ), order );
+        assertEquals( 1, this.taskManager.timers );
+        assertEquals( 5, queue.getLastTickItems() );
+        assertEquals( 5, queue.getCompletedItems() );
+    }
+
+    @Test
+    @DisplayName( "Test the items that do not fit in the budget of a tick to be carried over to the next tick" )
+    void testCarriesOverItems()
+    {
+        BudgetedTaskQueue queue = new BudgetedTaskQueue( this.taskManager, "BudgetedTaskQueueTest#carryOver", Duration.ofMillis( 20 ) );
+        List<String> order = new ArrayList<>();
+
+        queue.submit( () ->
+        {
+            order.add( "slow" );
+            sleep( 30 );
+        } );
+        CompletableFuture<Void> carriedOver = queue.submit( () -> order.add( "first" ) );
+        queue.submit( () -> order.add( "second" ) );
+
+        this.taskManager.tick();
+
+        assertEquals( List.of( "slow" ), order );
+        assertFalse( carriedOver.isDone() );
+        assertEquals( 2, queue.getBacklog() );
+        assertEquals( 1, queue.getLastTickItems() );
+        assertTrue( queue.getLastTickTime().toMillis() >= 30 );
+
+        this.taskManager.tick();
+
+        assertEquals( List.of( "slow", "first", "second" ), order );
+        assertTrue( carriedOver.isDone() );
+        assertEquals( 0, queue.getBacklog() );
+        assertEquals( 2, queue.getLastTickItems() );
+    }
+
+    @Test
+    @DisplayName( "Test at least one item to run every tick, even if a single item exceeds the budget" )
+    void testRunsAtLeastOneItemPerTick()
+    {
+        BudgetedTaskQueue queue = new BudgetedTaskQueue( this.taskManager, "BudgetedTaskQueueTest#atLeastOne", Duration.ofNanos( 1 ) );
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            queue.submit( () -> sleep( 1 ) );
+        }
+
+        for ( int tick = 1; tick <= 3; tick++ )
+        {
+            this.taskManager.tick();
+
+            assertEquals( 1, queue.getLastTickItems() );
+            assertEquals( tick, queue.getCompletedItems() );
+            assertEquals( 3 - tick, queue.getBacklog() );
+        }
+    }
+
+    @Test
+    @DisplayName( "Test a failing item to fail its future without stopping the other items" )
+    void testFailingItems()
+    {
+        BudgetedTaskQueue queue = new BudgetedTaskQueue( this.taskManager, "BudgetedTaskQueueTest#failing", Duration.ofHours( 1 ) );
+        IllegalStateException exception = new IllegalStateException( "Item failed" );
+        AssertionError error = new AssertionError( "Item failed with an error" );
+
+        CompletableFuture<Void> failed = queue.submit( () ->
+        {
+            throw exception;
+        } );
+        CompletableFuture<Void> completed = queue.submit( () ->
+        {
+        } );
+        CompletableFuture<Void> failedWithError = queue.submit( () ->
+        {
+            throw error;
+        } );
+        CompletableFuture<Void> afterError = queue.submit( () ->
+        {
+        } );
+
+        // an error is not swallowed, the items after it run in the next tick
+        assertSame( error, assertThrows( AssertionError.class, this.taskManager::tick ) );
+
+        assertSame( exception, assertThrows( CompletionException.class, failed::join ).getCause() );
+        assertNull( completed.join() );
+        assertSame( error, assertThrows( CompletionException.class, failedWithError::join ).getCause() );
+        assertFalse( afterError.isDone() );
+
+        this.taskManager.tick();
+
+        assertNull( afterError.join() );
+        assertEquals( 2, queue.getFailedItems() );
+        assertEquals( 2, queue.getCompletedItems() );
+    }
+
+    @Test
+    @DisplayName( "Test closing the queue to cancel the items that did not run yet" )
+    void testCloseCancelsPendingItems()
+    {
+        BudgetedTaskQueue queue = new BudgetedTaskQueue( this.taskManager, "BudgetedTaskQueueTest#close", Duration.ofHours( 1 ) );
+
+        CompletableFuture<Void> first = queue.submit( () -> fail( "Cancelled item ran" ) );
+        CompletableFuture<Void> second = queue.submit( () -> fail( "Cancelled item ran" ), BudgetedTaskQueue.Priority.HIGH );
+
+        queue.close();
+
+        assertThrows( CancellationException.class, first::join );
+        assertThrows( CancellationException.class, second::join );
+        assertTrue( this.taskManager.cancelled );
+        assertEquals( 0, queue.getBacklog() );
+        assertThrows( IllegalStateException.class, () -> queue.submit( () ->
+        {
+        } ) );
+
+        // a tick that was already due does not run anything anymore
+        this.taskManager.tick();
+        assertEquals( 0, queue.getCompletedItems() );
+    }
+
+    @Test
+    @DisplayName( "Test the backlog to be reported per priority, with the wait time of the oldest item" )
+    void testBacklogMetrics()
+    {
+        BudgetedTaskQueue queue = new BudgetedTaskQueue( this.taskManager, "BudgetedTaskQueueTest#backlog", Duration.ofHours( 1 ) );
+
+        assertEquals( 0, queue.getBacklog() );
+        assertEquals( Duration.ZERO, queue.getOldestWaitTime() );
+
+        queue.submit( () ->
+        {
+        }, BudgetedTaskQueue.Priority.LOW );
+        sleep( 10 );
+        queue.submit( () ->
+        {
+        }, BudgetedTaskQueue.Priority.HIGH );
+        queue.submit( () ->
+        {
+        }, BudgetedTaskQueue.Priority.HIGH );
+
+        assertEquals( 3, queue.getBacklog() );
+        assertEquals( 1, queue.getBacklog( BudgetedTaskQueue.Priority.LOW ) );
+        assertEquals( 0, queue.getBacklog( BudgetedTaskQueue.Priority.NORMAL ) );
+        assertEquals( 2, queue.getBacklog( BudgetedTaskQueue.Priority.HIGH ) );
+        assertTrue( queue.getOldestWaitTime().toMillis() >= 10 );
+
+        this.taskManager.tick();
+
+        assertEquals( 0, queue.getBacklog() );
+        assertEquals( Duration.ZERO, queue.getOldestWaitTime() );
+        assertEquals( 3, queue.getLastTickItems() );
+        assertEquals( 3, queue.getCompletedItems() );
+    }
+
+    private static void sleep( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Captures the timer of the queue, so its ticks are run by the test.
+     */
+    private static final class TestTaskManager implements TaskManager
+    {
+
+        private Runnable timer;
+        private int timers;
+        private boolean cancelled;
+
+        void tick()
+        {
+            this.timer.run();
+        }
+
+        @Override
+        public ScheduledTask runTask( Runnable runnable, boolean async )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledTask runTaskLater( Runnable runnable, boolean async, long delay, TimeUnit timeUnit )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledTask runTaskTimer( Runnable runnable, boolean async, long delay, long period, TimeUnit timeUnit )
+        {
+            assertFalse( async );
+            assertEquals( 50, timeUnit.toMillis( period ) );
+
+            this.timer = runnable;
+            this.timers++;
+            return () -> this.cancelled = true;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dev.endoy.helpers.database.migration;
 
 import dev.endoy.helpers.database.helpers.SqlHelpers;
 import dev.endoy.helpers.common.logger.Logger;
+import dev.endoy.helpers.common.utils.ClassScanResult;
 import dev.endoy.helpers.common.utils.ReflectionUtils;
 import lombok.Builder;
 import lombok.Value;
@@ -69,7 +70,8 @@ public class SqlMigrator
 
     public void migrate()
     {
-        LinkedList<Migration> migrations = ReflectionUtils.getClassesInPackageImplementing( this.initMigrationClass, Migration.class )
+        // migrations are not part of the injectable index, so the class files of the package are always scanned
+        LinkedList<Migration> migrations = ClassScanResult.scanClassFiles( this.initMigrationClass ).getClassesImplementing( Migration.class )
             .stream()
             .map( ReflectionUtils::createInstance )
             .map( Migration.class::cast )
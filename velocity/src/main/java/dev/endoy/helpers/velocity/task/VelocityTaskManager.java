@@ -2,6 +2,7 @@ package dev.endoy.helpers.velocity.task;
 
 import com.velocitypowered.api.proxy.ProxyServer;
 import dev.endoy.helpers.common.task.TaskManager;
+import dev.endoy.helpers.common.task.TaskMetrics;
 import lombok.RequiredArgsConstructor;
 
 import java.util.concurrent.TimeUnit;
@@ -16,18 +17,18 @@ public class VelocityTaskManager implements TaskManager
     @Override
     public VelocityScheduledTask runTask( Runnable runnable, boolean async )
     {
-        return new VelocityScheduledTask( this.server.getScheduler().buildTask( plugin, runnable ).schedule() );
+        return new VelocityScheduledTask( this.server.getScheduler().buildTask( plugin, TaskMetrics.instrument( runnable, true, 0, TimeUnit.MILLISECONDS ) ).schedule() );
     }
 
     @Override
     public VelocityScheduledTask runTaskLater( Runnable runnable, boolean async, long delay, TimeUnit timeUnit )
     {
-        return new VelocityScheduledTask( this.server.getScheduler().buildTask( plugin, runnable ).delay( delay, timeUnit ).schedule() );
+        return new VelocityScheduledTask( this.server.getScheduler().buildTask( plugin, TaskMetrics.instrument( runnable, true, 0, timeUnit ) ).delay( delay, timeUnit ).schedule() );
     }
 
     @Override
     public VelocityScheduledTask runTaskTimer( Runnable runnable, boolean async, long delay, long period, TimeUnit timeUnit )
     {
-        return new VelocityScheduledTask( this.server.getScheduler().buildTask( plugin, runnable ).repeat( period, timeUnit ).schedule() );
+        return new VelocityScheduledTask( this.server.getScheduler().buildTask( plugin, TaskMetrics.instrument( runnable, true, period, timeUnit ) ).repeat( period, timeUnit ).schedule() );
     }
 }